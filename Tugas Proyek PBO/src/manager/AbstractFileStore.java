@@ -0,0 +1,178 @@
+package manager;
+
+import model.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * AbstractFileStore - Dasar storage engine berbasis file
+ * Menyediakan group commit untuk saveAll, plus update/delete sederhana
+ * (load - ubah - simpan ulang) untuk format yang tidak bisa diubah di tempat.
+ */
+public abstract class AbstractFileStore implements KegiatanStore {
+    protected final String fileName;
+
+    // Dipegang selama menulis file; append & saveAll tidak boleh saling tumpang
+    protected final Object writeLock = new Object();
+
+    // Group commit: save yang datang bersamaan cukup ditulis sekali (versi snapshot tertinggi)
+    private final Object pendingLock = new Object();
+    private List<Kegiatan> pendingSave;
+    private long pendingVersi = Long.MIN_VALUE;
+    private long versiTertulis = Long.MIN_VALUE;
+    private boolean lastSaveResult;
+
+    // Constructor
+    protected AbstractFileStore(String fileName) {
+        this.fileName = fileName;
+    }
+
+    @Override
+    public String getName() {
+        return fileName;
+    }
+
+    @Override
+    public boolean exists() {
+        return new File(fileName).exists();
+    }
+
+    @Override
+    public String getDataFile() {
+        return fileName;
+    }
+
+    /**
+     * Tulis snapshot penuh ke file (dipanggil di dalam writeLock)
+     */
+    protected abstract boolean writeAll(List<Kegiatan> daftarKegiatan);
+
+    /**
+     * Aman dari crash: ditulis ke file sementara, di-fsync, lalu di-rename atomik.
+     * Tanpa versi tidak ada group commit: setiap daftar ditulis sesuai urutan masuk writeLock.
+     */
+    @Override
+    public boolean saveAll(List<Kegiatan> daftarKegiatan) {
+        synchronized (writeLock) {
+            lastSaveResult = writeAll(daftarKegiatan);
+            return lastSaveResult;
+        }
+    }
+
+    /**
+     * Group commit: kalau beberapa thread save bersamaan, hanya snapshot dengan versi
+     * tertinggi yang ditulis. Urutan masuk ke sini tidak menentukan, jadi snapshot lama
+     * yang datang belakangan tidak bisa menimpa snapshot yang lebih baru.
+     */
+    @Override
+    public boolean saveAll(List<Kegiatan> daftarKegiatan, long versi) {
+        synchronized (pendingLock) {
+            if (versi > pendingVersi) {
+                pendingVersi = versi;
+                pendingSave = daftarKegiatan;
+            }
+        }
+
+        synchronized (writeLock) {
+            List<Kegiatan> terbaru;
+            long versiTerbaru;
+            synchronized (pendingLock) {
+                terbaru = pendingSave;
+                versiTerbaru = pendingVersi;
+                pendingSave = null;
+            }
+            if (terbaru == null || versiTerbaru <= versiTertulis) {
+                // Sudah ikut ditulis oleh save lain yang membawa versi sama / lebih baru
+                return lastSaveResult;
+            }
+            lastSaveResult = writeAll(terbaru);
+            if (lastSaveResult) {
+                versiTertulis = versiTerbaru;
+            }
+            return lastSaveResult;
+        }
+    }
+
+    @Override
+    public boolean update(Kegiatan kegiatan) {
+        synchronized (writeLock) {
+            List<Kegiatan> daftarKegiatan = load();
+            for (int i = 0; i < daftarKegiatan.size(); i++) {
+                if (daftarKegiatan.get(i).getId() == kegiatan.getId()) {
+                    daftarKegiatan.set(i, kegiatan);
+                    return saveAll(daftarKegiatan);
+                }
+            }
+            return false;
+        }
+    }
+
+    @Override
+    public boolean delete(int id) {
+        synchronized (writeLock) {
+            List<Kegiatan> daftarKegiatan = load();
+            return daftarKegiatan.removeIf(k -> k.getId() == id) && saveAll(daftarKegiatan);
+        }
+    }
+
+    @Override
+    public boolean deleteAll() {
+        synchronized (writeLock) {
+            File file = new File(fileName);
+            return !file.exists() || file.delete();
+        }
+    }
+
+    /**
+     * Baca length byte mulai position (dipakai loadTail)
+     */
+    protected static ByteBuffer readRange(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                break; // file jadi lebih pendek selama dibaca
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    @Override
+    public IntegrityChecker.Report checkIntegrity() {
+        return new IntegrityChecker().check(fileName);
+    }
+
+    // ============ BACKUP ============
+
+    @Override
+    public boolean backup(String backupFileName, boolean compress) {
+        return exists() && DataManager.backupFile(fileName, backupFileName, compress);
+    }
+
+    @Override
+    public String getBackupSourceFile() {
+        return fileName;
+    }
+
+    @Override
+    public boolean prepareBackupSource() {
+        return true;
+    }
+
+    /**
+     * File sumber backup bisa biner (juga gabungan partisi) atau teks, dikenali dari header-nya
+     */
+    @Override
+    public List<Kegiatan> loadBackupCopy(String fileName) {
+        return DataManager.loadFile(fileName);
+    }
+
+    @Override
+    public boolean finishBackupSource(boolean restored) {
+        return true;
+    }
+}
\ No newline at end of file
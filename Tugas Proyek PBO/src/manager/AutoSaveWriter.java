@@ -0,0 +1,110 @@
+package manager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * AutoSaveWriter - Auto-save tertunda (debounce) di background thread
+ * Rentetan perubahan dalam satu jendela waktu digabung menjadi satu kali
+ * tulis ke disk (group commit), sehingga thread UI tidak pernah menunggu disk.
+ * Perubahan yang tertunda ditulis paksa lewat flush() dan saat aplikasi ditutup.
+ */
+public class AutoSaveWriter {
+    private static final long DEFAULT_DEBOUNCE_MS = 500;
+    // Edit terus-menerus tetap tersimpan paling lambat MAX_DELAY_FACTOR x jendela
+    private static final int MAX_DELAY_FACTOR = 10;
+
+    private final BooleanSupplier saveAction;
+    private final ScheduledExecutorService executor;
+    // Dipegang selama menulis, supaya flush() menunggu tulisan yang sedang jalan
+    private final Object writeLock = new Object();
+
+    private long debounceMs = DEFAULT_DEBOUNCE_MS;
+    private ScheduledFuture<?> scheduled;
+    private boolean dirty;
+    private long firstRequestTime;
+
+    // Constructor
+    public AutoSaveWriter(BooleanSupplier saveAction) {
+        this.saveAction = saveAction;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jadwal-autosave");
+            t.setDaemon(true); // jangan tahan aplikasi saat ditutup
+            return t;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "jadwal-autosave-flush"));
+    }
+
+    /**
+     * Atur lebar jendela debounce (ms)
+     */
+    public synchronized void setDebounceWindow(long debounceMs) {
+        this.debounceMs = debounceMs;
+    }
+
+    /**
+     * Tandai ada perubahan; tulis ke disk setelah jendela debounce lewat tanpa perubahan baru
+     */
+    public synchronized void requestSave() {
+        long now = System.currentTimeMillis();
+        if (!dirty) {
+            dirty = true;
+            firstRequestTime = now;
+        }
+
+        if (scheduled != null) {
+            scheduled.cancel(false);
+        }
+        long deadline = firstRequestTime + debounceMs * MAX_DELAY_FACTOR;
+        long delay = Math.max(0, Math.min(debounceMs, deadline - now));
+        scheduled = executor.schedule(this::writePending, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Tulis perubahan tertunda sekarang di thread pemanggil.
+     * Kalau penulisan di background sedang berjalan, tunggu sampai selesai.
+     */
+    public boolean flush() {
+        synchronized (this) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+        }
+        return writePending();
+    }
+
+    /**
+     * Apakah masih ada perubahan yang belum ditulis
+     */
+    public synchronized boolean hasPendingChanges() {
+        return dirty;
+    }
+
+    private boolean writePending() {
+        synchronized (writeLock) {
+            synchronized (this) {
+                if (!dirty) {
+                    return true;
+                }
+                dirty = false;
+            }
+
+            // saveAction mengambil salinan data terbaru, jadi semua perubahan
+            // yang diminta sebelum titik ini ikut tertulis
+            boolean saved = saveAction.getAsBoolean();
+            if (!saved) {
+                synchronized (this) {
+                    if (!dirty) {
+                        dirty = true;
+                        firstRequestTime = System.currentTimeMillis();
+                    }
+                }
+            }
+            return saved;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,404 @@
+package manager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * BackupStore - Backup inkremental dengan deduplikasi
+ * File data dipotong menjadi chunk berdasarkan isinya (content-defined chunking,
+ * gear hash), setiap chunk disimpan sekali dengan nama hash SHA-256-nya.
+ * Satu backup = satu manifest berisi daftar chunk, jadi backup harian dari data
+ * yang hanya berubah sedikit cuma menulis chunk yang benar-benar baru.
+ *
+ * Struktur folder:
+ *   jadwal_backups/chunks/ab/abcdef...   (isi chunk)
+ *   jadwal_backups/manifests/<id>.manifest
+ */
+public class BackupStore {
+    private static final String DEFAULT_DIRECTORY = "jadwal_backups";
+    private static final String MANIFEST_HEADER = "JDWL-BACKUP 1";
+    private static final String MANIFEST_SUFFIX = ".manifest";
+    private static final DateTimeFormatter ID_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    // Ukuran chunk: min 8 KB, rata-rata ~40 KB, maks 128 KB
+    private static final int MIN_CHUNK_SIZE = 8 * 1024;
+    private static final int MAX_CHUNK_SIZE = 128 * 1024;
+    private static final long BOUNDARY_MASK = 0x7FFFL << 49; // 15 bit teratas -> 1/32768
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    // Tabel gear tetap (seed konstan) supaya batas chunk sama di setiap run
+    private static final long[] GEAR = new long[256];
+
+    static {
+        long seed = 0x4A44574C4A44574CL;
+        for (int i = 0; i < GEAR.length; i++) {
+            seed += 0x9E3779B97F4A7C15L; // splitmix64
+            long z = seed;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            GEAR[i] = z ^ (z >>> 31);
+        }
+    }
+
+    private final Path chunkDir;
+    private final Path manifestDir;
+
+    // Constructor
+    public BackupStore() {
+        this(DEFAULT_DIRECTORY);
+    }
+
+    public BackupStore(String directory) {
+        Path root = Paths.get(directory);
+        this.chunkDir = root.resolve("chunks");
+        this.manifestDir = root.resolve("manifests");
+    }
+
+    // ============ BACKUP ============
+
+    /**
+     * Backup satu file, kembalikan ID backup (null kalau gagal)
+     */
+    public synchronized String backup(String sourceFileName) {
+        Path source = Paths.get(sourceFileName);
+        if (!Files.exists(source)) {
+            System.err.println("❌ File data tidak ditemukan: " + sourceFileName);
+            return null;
+        }
+
+        try {
+            Files.createDirectories(chunkDir);
+            Files.createDirectories(manifestDir);
+
+            Manifest manifest = new Manifest();
+            manifest.id = newBackupId();
+            manifest.source = source.getFileName().toString();
+            manifest.created = System.currentTimeMillis();
+
+            int newChunks = 0;
+            long newBytes = 0;
+            MessageDigest fileDigest = sha256();
+            MessageDigest chunkDigest = sha256();
+
+            byte[] chunk = new byte[MAX_CHUNK_SIZE];
+            int chunkLength = 0;
+            long hash = 0;
+
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                byte[] data = buffer.array();
+
+                while (in.read(buffer) > 0) {
+                    int length = buffer.position();
+                    for (int i = 0; i < length; i++) {
+                        byte b = data[i];
+                        chunk[chunkLength++] = b;
+                        hash = (hash << 1) + GEAR[b & 0xFF];
+
+                        boolean boundary = chunkLength >= MIN_CHUNK_SIZE && (hash & BOUNDARY_MASK) == 0;
+                        if (boundary || chunkLength == MAX_CHUNK_SIZE) {
+                            if (storeChunk(chunk, chunkLength, chunkDigest, fileDigest, manifest)) {
+                                newChunks++;
+                                newBytes += chunkLength;
+                            }
+                            chunkLength = 0;
+                            hash = 0;
+                        }
+                    }
+                    buffer.clear();
+                }
+            }
+
+            if (chunkLength > 0) {
+                if (storeChunk(chunk, chunkLength, chunkDigest, fileDigest, manifest)) {
+                    newChunks++;
+                    newBytes += chunkLength;
+                }
+            }
+
+            manifest.sha256 = toHex(fileDigest.digest());
+            writeManifest(manifest);
+
+            System.out.println("✅ Backup " + manifest.id + " berhasil: " + newChunks + " dari "
+                    + manifest.chunkHashes.size() + " chunk baru (" + newBytes / 1024 + " KB ditulis, total "
+                    + manifest.size / 1024 + " KB)");
+            return manifest.id;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat backup: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Catat chunk di manifest; tulis ke store kalau belum ada. True kalau chunk baru.
+     */
+    private boolean storeChunk(byte[] chunk, int length, MessageDigest chunkDigest,
+                               MessageDigest fileDigest, Manifest manifest) throws IOException {
+        fileDigest.update(chunk, 0, length);
+        chunkDigest.update(chunk, 0, length);
+        String hash = toHex(chunkDigest.digest());
+
+        manifest.chunkHashes.add(hash);
+        manifest.chunkLengths.add(length);
+        manifest.size += length;
+
+        Path path = chunkPath(hash);
+        if (Files.exists(path)) {
+            return false;
+        }
+        Files.createDirectories(path.getParent());
+        DataManager.writeAtomically(path.toString(), out -> out.write(chunk, 0, length));
+        return true;
+    }
+
+    // ============ RESTORE ============
+
+    /**
+     * Bangun ulang file dari backup, byte demi byte sama dengan aslinya.
+     * Setiap chunk dan hash seluruh file diverifikasi sebelum file tujuan diganti.
+     */
+    public synchronized boolean restore(String backupId, String targetFileName) {
+        try {
+            Manifest manifest = readManifest(backupId);
+            MessageDigest fileDigest = sha256();
+            MessageDigest chunkDigest = sha256();
+
+            DataManager.writeAtomically(targetFileName, out -> {
+                for (int i = 0; i < manifest.chunkHashes.size(); i++) {
+                    String hash = manifest.chunkHashes.get(i);
+                    byte[] chunk = Files.readAllBytes(chunkPath(hash));
+                    if (chunk.length != manifest.chunkLengths.get(i)
+                            || !toHex(chunkDigest.digest(chunk)).equals(hash)) {
+                        throw new IOException("Chunk rusak: " + hash);
+                    }
+                    fileDigest.update(chunk);
+                    out.write(chunk);
+                }
+                if (!toHex(fileDigest.digest()).equals(manifest.sha256)) {
+                    throw new IOException("Hash file hasil restore tidak cocok dengan manifest");
+                }
+            });
+
+            System.out.println("✅ Backup " + backupId + " berhasil di-restore ke " + targetFileName);
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat restore: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Nama file asal yang tercatat di backup (null kalau backup tidak ada)
+     */
+    public synchronized String getSourceFileName(String backupId) {
+        try {
+            return readManifest(backupId).source;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // ============ LIST & RETENTION ============
+
+    /**
+     * Daftar ID backup, urut dari yang paling lama
+     */
+    public synchronized List<String> listBackups() {
+        List<String> ids = new ArrayList<>();
+        if (!Files.isDirectory(manifestDir)) {
+            return ids;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(manifestDir, "*" + MANIFEST_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                ids.add(name.substring(0, name.length() - MANIFEST_SUFFIX.length()));
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error saat membaca daftar backup: " + e.getMessage());
+        }
+        Collections.sort(ids); // ID berbasis waktu, urutan nama = urutan waktu
+        return ids;
+    }
+
+    /**
+     * Hapus backup lama: simpan keepLast backup terbaru dan semua backup
+     * yang umurnya belum lewat keepDays hari. Chunk yang tidak dipakai
+     * manifest mana pun ikut dihapus. Kembalikan jumlah backup yang dihapus.
+     */
+    public synchronized int prune(int keepLast, int keepDays) {
+        List<String> ids = listBackups();
+        long cutoff = System.currentTimeMillis() - keepDays * 24L * 60 * 60 * 1000;
+        int removed = 0;
+
+        try {
+            Set<String> referenced = new HashSet<>();
+            for (int i = 0; i < ids.size(); i++) {
+                Manifest manifest = readManifest(ids.get(i));
+                boolean recent = i >= ids.size() - Math.max(1, keepLast);
+                if (recent || manifest.created >= cutoff) {
+                    referenced.addAll(manifest.chunkHashes);
+                } else {
+                    Files.delete(manifestPath(ids.get(i)));
+                    removed++;
+                }
+            }
+
+            if (removed > 0) {
+                int chunksRemoved = deleteUnreferencedChunks(referenced);
+                System.out.println("✅ " + removed + " backup lama dihapus (" + chunksRemoved + " chunk dibebaskan)");
+            }
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat membersihkan backup: " + e.getMessage());
+        }
+        return removed;
+    }
+
+    private int deleteUnreferencedChunks(Set<String> referenced) throws IOException {
+        int deleted = 0;
+        try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(chunkDir)) {
+            for (Path prefix : prefixes) {
+                try (DirectoryStream<Path> chunks = Files.newDirectoryStream(prefix)) {
+                    for (Path chunk : chunks) {
+                        if (!referenced.contains(chunk.getFileName().toString())) {
+                            Files.delete(chunk);
+                            deleted++;
+                        }
+                    }
+                }
+            }
+        }
+        return deleted;
+    }
+
+    // ============ MANIFEST ============
+
+    private static class Manifest {
+        String id;
+        String source;
+        long created;
+        long size;
+        String sha256;
+        final List<String> chunkHashes = new ArrayList<>();
+        final List<Integer> chunkLengths = new ArrayList<>();
+    }
+
+    private void writeManifest(Manifest manifest) throws IOException {
+        DataManager.writeAtomically(manifestPath(manifest.id).toString(), out -> {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(MANIFEST_HEADER + "\n");
+            writer.write("id=" + manifest.id + "\n");
+            writer.write("source=" + manifest.source + "\n");
+            writer.write("created=" + manifest.created + "\n");
+            writer.write("size=" + manifest.size + "\n");
+            writer.write("sha256=" + manifest.sha256 + "\n");
+            writer.write("chunks=" + manifest.chunkHashes.size() + "\n");
+            for (int i = 0; i < manifest.chunkHashes.size(); i++) {
+                writer.write(manifest.chunkHashes.get(i) + " " + manifest.chunkLengths.get(i) + "\n");
+            }
+            writer.flush();
+        });
+    }
+
+    private Manifest readManifest(String backupId) throws IOException {
+        Path path = manifestPath(backupId);
+        if (!Files.exists(path)) {
+            throw new IOException("Backup tidak ditemukan: " + backupId);
+        }
+
+        Manifest manifest = new Manifest();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            if (!MANIFEST_HEADER.equals(reader.readLine())) {
+                throw new IOException("Manifest tidak valid: " + backupId);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+                int eq = line.indexOf('=');
+                if (eq < 0) {
+                    int space = line.indexOf(' ');
+                    manifest.chunkHashes.add(line.substring(0, space));
+                    manifest.chunkLengths.add(Integer.parseInt(line.substring(space + 1)));
+                    continue;
+                }
+
+                String value = line.substring(eq + 1);
+                switch (line.substring(0, eq)) {
+                    case "id": manifest.id = value; break;
+                    case "source": manifest.source = value; break;
+                    case "created": manifest.created = Long.parseLong(value); break;
+                    case "size": manifest.size = Long.parseLong(value); break;
+                    case "sha256": manifest.sha256 = value; break;
+                    default: break; // "chunks" & field versi baru cukup dilewati
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IOException("Manifest tidak valid: " + backupId, e);
+        }
+        return manifest;
+    }
+
+    // ============ HELPER ============
+
+    private String newBackupId() {
+        String base = LocalDateTime.now().format(ID_FORMAT);
+        String id = base;
+        for (int n = 1; Files.exists(manifestPath(id)); n++) {
+            id = base + "-" + n;
+        }
+        return id;
+    }
+
+    private Path manifestPath(String backupId) {
+        if (backupId.contains(File.separator) || backupId.contains("/")) {
+            throw new IllegalArgumentException("ID backup tidak valid: " + backupId);
+        }
+        return manifestDir.resolve(backupId + MANIFEST_SUFFIX);
+    }
+
+    private Path chunkPath(String hash) {
+        return chunkDir.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 tidak tersedia", e); // wajib ada di setiap JVM
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        char[] hex = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            hex[i * 2] = Character.forDigit((bytes[i] >> 4) & 0xF, 16);
+            hex[i * 2 + 1] = Character.forDigit(bytes[i] & 0xF, 16);
+        }
+        return new String(hex);
+    }
+}
\ No newline at end of file
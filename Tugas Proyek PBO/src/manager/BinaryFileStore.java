@@ -0,0 +1,234 @@
+package manager;
+
+import model.*;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * BinaryFileStore - Storage engine file biner (format KegiatanCodec)
+ * Kalau file biner belum ada tapi file teks lama ada, data teks dibaca sekali
+ * dan disimpan ulang sebagai biner pada save berikutnya (migrasi).
+ */
+public class BinaryFileStore extends AbstractFileStore {
+    private final String legacyTextFile;
+
+    // Constructor
+    public BinaryFileStore(String fileName, String legacyTextFile) {
+        super(fileName);
+        this.legacyTextFile = legacyTextFile;
+    }
+
+    /**
+     * Migrasi: file biner belum ada, tapi file teks lama ada
+     */
+    protected boolean perluMigrasi() {
+        return legacyTextFile != null && !exists() && new File(legacyTextFile).exists();
+    }
+
+    @Override
+    public List<Kegiatan> load() {
+        if (perluMigrasi()) {
+            System.out.println("ℹ️  Memuat " + legacyTextFile + ", akan disimpan ulang sebagai " + fileName);
+            return DataManager.loadText(legacyTextFile);
+        }
+        return readFile();
+    }
+
+    protected List<Kegiatan> readFile() {
+        return DataManager.loadBinary(fileName);
+    }
+
+    /**
+     * Record di-decode satu per satu saat stream dikonsumsi
+     */
+    @Override
+    public Stream<Kegiatan> stream() {
+        if (perluMigrasi()) {
+            return load().stream();
+        }
+        if (!exists()) {
+            return Stream.empty();
+        }
+        try {
+            ByteBuffer in = openBuffer();
+            int version = KegiatanCodec.readHeader(in);
+            return StreamSupport.stream(new RecordSpliterator(in, version), false);
+
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ Error saat membaca data: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Record yang ditambahkan sesudah offset. Record yang terpotong di akhir file
+     * dianggap masih ditulis; record rusak di file versi 2 dilewati.
+     */
+    @Override
+    public long loadTail(long offset, List<Kegiatan> hasil) {
+        if (perluMigrasi() || offset < KegiatanCodec.HEADER_SIZE) {
+            return -1;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size - offset > Integer.MAX_VALUE) {
+                return -1;
+            }
+            int version = KegiatanCodec.readHeader(readRange(channel, 0, KegiatanCodec.HEADER_SIZE));
+            ByteBuffer in = readRange(channel, offset, (int) Math.max(0, size - offset));
+            KegiatanCodec codec = new KegiatanCodec(version);
+
+            while (in.hasRemaining()) {
+                int recordStart = in.position();
+                try {
+                    hasil.add(codec.readRecord(in));
+                } catch (BufferUnderflowException e) {
+                    in.position(recordStart);
+                    break;
+                } catch (RuntimeException e) {
+                    int next = version >= 2 ? KegiatanCodec.resync(in, recordStart + 1, true) : -1;
+                    long rusak = offset + recordStart;
+                    if (next < 0) {
+                        System.err.println("⚠️  Data rusak mulai byte " + rusak + ", sisa file di-skip");
+                        in.position(in.limit());
+                        break;
+                    }
+                    System.err.println("⚠️  Data rusak di byte " + rusak + "-" + (offset + next) + ", di-skip");
+                    in.position(next);
+                }
+            }
+            return offset + in.position();
+
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ Error saat membaca data: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Isi file sebagai buffer (subclass bisa memakai memory-mapping)
+     */
+    protected ByteBuffer openBuffer() throws IOException {
+        return ByteBuffer.wrap(Files.readAllBytes(Paths.get(fileName)));
+    }
+
+    @Override
+    protected boolean writeAll(List<Kegiatan> daftarKegiatan) {
+        return DataManager.saveBinary(daftarKegiatan, fileName);
+    }
+
+    /**
+     * Tambah satu record di akhir file (header ditulis dulu kalau file baru) lalu fsync
+     */
+    @Override
+    public boolean append(Kegiatan kegiatan) {
+        synchronized (writeLock) {
+            if (perluMigrasi() || versiFileLama()) {
+                // File lama belum dipindah / belum format terbaru, tulis ulang semuanya sekalian
+                List<Kegiatan> daftarKegiatan = load();
+                daftarKegiatan.add(kegiatan);
+                return saveAll(daftarKegiatan);
+            }
+
+            try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE)) {
+
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+                long size = channel.size();
+                if (size == 0) {
+                    KegiatanCodec.writeHeader(bytes);
+                }
+                new KegiatanCodec().writeRecord(kegiatan, bytes);
+
+                ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+                long position = size;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                channel.force(false);
+                return true;
+
+            } catch (IOException e) {
+                System.err.println("❌ Error saat menyimpan data: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * File sudah ada tapi versinya lebih lama dari format yang ditulis append
+     */
+    private boolean versiFileLama() {
+        if (!exists()) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            if (channel.size() == 0) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(KegiatanCodec.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // baca sampai header lengkap
+            }
+            header.flip();
+            return KegiatanCodec.readHeader(header) < KegiatanCodec.VERSION;
+
+        } catch (IOException | IllegalArgumentException e) {
+            return true; // header rusak: tulis ulang dari data yang masih terbaca
+        }
+    }
+
+    /**
+     * Decode record berurutan dari buffer. Record rusak di file versi 2 dilewati
+     * (lanjut dari frame valid berikutnya); versi 1 berhenti di record rusak pertama.
+     */
+    private static class RecordSpliterator extends Spliterators.AbstractSpliterator<Kegiatan> {
+        private final ByteBuffer in;
+        private final int version;
+        private final KegiatanCodec codec;
+
+        RecordSpliterator(ByteBuffer in, int version) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.in = in;
+            this.version = version;
+            this.codec = new KegiatanCodec(version);
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Kegiatan> action) {
+            while (in.hasRemaining()) {
+                int recordStart = in.position();
+                Kegiatan kegiatan;
+                try {
+                    kegiatan = codec.readRecord(in);
+                } catch (RuntimeException e) {
+                    int next = version >= 2 ? KegiatanCodec.resync(in, recordStart + 1, false) : -1;
+                    if (next < 0) {
+                        System.err.println("⚠️  Data rusak mulai byte " + recordStart + ", sisa file di-skip");
+                        in.position(in.limit());
+                        return false;
+                    }
+                    System.err.println("⚠️  Data rusak di byte " + recordStart + "-" + next + ", di-skip");
+                    in.position(next);
+                    continue;
+                }
+                action.accept(kegiatan);
+                return true;
+            }
+            return false;
+        }
+    }
+}
\ No newline at end of file
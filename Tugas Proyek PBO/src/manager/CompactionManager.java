@@ -0,0 +1,157 @@
+package manager;
+
+import model.*;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * CompactionManager - Snapshot & compaction journal di background
+ * Kalau journal sudah terlalu besar atau terlalu lama, data ditulis ulang
+ * sebagai snapshot baru lalu journal lama dibuang, sehingga replay saat
+ * startup tetap singkat.
+ *
+ * Alur compaction:
+ * 1. (lock data) salin daftar kegiatan + rotate journal  -> cepat
+ * 2. (tanpa lock data) tulis snapshot via KegiatanStore  -> lambat, di background
+ * 3. hapus journal ".old"
+ * Selama langkah 2, perubahan baru tetap masuk ke journal aktif.
+ */
+public class CompactionManager {
+    private static final long DEFAULT_MAX_JOURNAL_BYTES = 1024 * 1024;   // 1 MB
+    private static final long DEFAULT_MAX_JOURNAL_AGE_MS = 10 * 60 * 1000; // 10 menit
+    private static final long CHECK_INTERVAL_MS = 30 * 1000;              // 30 detik
+
+    private final Object dataLock;
+    private final Supplier<List<Kegiatan>> snapshotSource;
+    private final JournalManager journal;
+    private final KegiatanStore store;
+
+    // Hanya satu compaction yang boleh menulis snapshot dalam satu waktu
+    private final Object compactionLock = new Object();
+    private final AtomicBoolean compactionPending = new AtomicBoolean(false);
+    // Naik setiap snapshot diambil (di dalam lock data), dikirim ke store bersama snapshot-nya.
+    // Statis karena beberapa JadwalManager bisa berbagi satu store (DataManager.createStore).
+    private static final AtomicLong VERSI_SNAPSHOT = new AtomicLong();
+
+    // Dipanggil setelah compaction menyentuh file (berhasil atau tidak), masih di dalam compactionLock
+    private volatile Runnable afterCompaction = () -> { };
+
+    private long maxJournalBytes = DEFAULT_MAX_JOURNAL_BYTES;
+    private long maxJournalAgeMs = DEFAULT_MAX_JOURNAL_AGE_MS;
+    private ScheduledExecutorService executor;
+
+    // Constructor
+    public CompactionManager(Object dataLock, Supplier<List<Kegiatan>> snapshotSource,
+                             JournalManager journal, KegiatanStore store) {
+        this.dataLock = dataLock;
+        this.snapshotSource = snapshotSource;
+        this.journal = journal;
+        this.store = store;
+    }
+
+    /**
+     * Mulai pengecekan berkala di background thread
+     */
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jadwal-compaction");
+            t.setDaemon(true); // jangan tahan aplikasi saat ditutup
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::checkThreshold,
+                CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        // Sisa journal dari sesi sebelumnya langsung dicek
+        checkThreshold();
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Atur batas ukuran (byte) dan umur (ms) journal sebelum di-compact
+     */
+    public void setThreshold(long maxJournalBytes, long maxJournalAgeMs) {
+        this.maxJournalBytes = maxJournalBytes;
+        this.maxJournalAgeMs = maxJournalAgeMs;
+    }
+
+    public void setAfterCompaction(Runnable afterCompaction) {
+        this.afterCompaction = afterCompaction;
+    }
+
+    /**
+     * Cek batas journal, jadwalkan compaction di background kalau terlewati.
+     * Murah dipanggil setelah setiap append.
+     */
+    public void checkThreshold() {
+        if (!perluCompaction()) {
+            return;
+        }
+
+        ScheduledExecutorService exec;
+        synchronized (this) {
+            exec = executor;
+        }
+        if (exec != null && compactionPending.compareAndSet(false, true)) {
+            exec.execute(() -> {
+                compactionPending.set(false);
+                compactNow();
+            });
+        }
+    }
+
+    private boolean perluCompaction() {
+        long size = journal.getSize();
+        return size > 0 && (size >= maxJournalBytes || journal.getAge() >= maxJournalAgeMs);
+    }
+
+    /**
+     * Jalankan compaction sekarang di thread pemanggil
+     */
+    public boolean compactNow() {
+        synchronized (compactionLock) {
+            try {
+                List<Kegiatan> snapshot;
+                long versi;
+                synchronized (dataLock) {
+                    snapshot = snapshotSource.get();
+                    versi = VERSI_SNAPSHOT.incrementAndGet();
+                    if (!journal.rotate()) {
+                        return false;
+                    }
+                }
+
+                // Snapshot gagal -> journal ".old" tetap ada dan ikut di-replay saat startup
+                if (!store.saveAll(snapshot, versi)) {
+                    return false;
+                }
+                return journal.discardRotated();
+            } finally {
+                afterCompaction.run();
+            }
+        }
+    }
+
+    /**
+     * Jalankan aksi tanpa ada snapshot lain yang ditulis bersamaan
+     * (dipakai saat file data diganti dari luar, misalnya restore backup)
+     */
+    public <T> T runExclusive(Supplier<T> action) {
+        synchronized (compactionLock) {
+            return action.get();
+        }
+    }
+}
\ No newline at end of file
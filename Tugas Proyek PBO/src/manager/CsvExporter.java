@@ -0,0 +1,211 @@
+package manager;
+
+import model.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * CsvExporter - Export CSV streaming sesuai RFC 4180
+ * Data dibagi per batch, setiap batch di-format (dan di-encode UTF-8) secara
+ * paralel, lalu hasilnya ditulis berurutan ke satu FileChannel. Jumlah batch
+ * yang sedang diproses dibatasi, jadi memori tetap kecil untuk data besar.
+ *
+ * Field di-quote kalau berisi koma, tanda kutip atau baris baru;
+ * tanda kutip di dalam field ditulis ganda (""). Akhir baris CRLF.
+ */
+public class CsvExporter {
+    private static final String HEADER = "ID,Tipe,Judul,Tanggal,Waktu Mulai,Waktu Selesai,Status,Mata Kuliah,Detail,Prioritas,Materi Ujian";
+    private static final String LINE_END = "\r\n";
+    private static final int BATCH_SIZE = 2048;
+
+    private final ForkJoinPool pool;
+    private int exportedCount;
+
+    // Constructor
+    public CsvExporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CsvExporter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Export kegiatan yang lolos filter ke file CSV, urutan sama dengan list sumber
+     */
+    public boolean export(List<? extends Kegiatan> source, Predicate<? super Kegiatan> filter, String fileName) {
+        ArrayDeque<Future<Batch>> inFlight = new ArrayDeque<>();
+        int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+        exportedCount = 0;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            writeFully(channel, (HEADER + LINE_END).getBytes(StandardCharsets.UTF_8));
+
+            int size = source.size();
+            for (int from = 0; from < size; from += BATCH_SIZE) {
+                int start = from;
+                int end = Math.min(size, from + BATCH_SIZE);
+                inFlight.add(pool.submit(() -> formatBatch(source, start, end, filter)));
+
+                // Tulis batch paling awal dulu supaya urutan tetap & memori terbatas
+                if (inFlight.size() >= maxInFlight) {
+                    writeBatch(channel, inFlight.poll().get());
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                writeBatch(channel, inFlight.poll().get());
+            }
+
+            System.out.println("✅ Export CSV berhasil ke " + fileName + " (" + exportedCount + " baris)");
+            return true;
+
+        } catch (IOException | ExecutionException e) {
+            System.err.println("❌ Error saat export CSV: " + e.getMessage());
+            return false;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.err.println("❌ Export CSV dibatalkan");
+            return false;
+
+        } finally {
+            for (Future<Batch> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Jumlah baris data (tanpa header) pada export terakhir
+     */
+    public int getExportedCount() {
+        return exportedCount;
+    }
+
+    // ============ FORMATTING ============
+
+    private static class Batch {
+        final byte[] bytes;
+        final int rows;
+
+        Batch(byte[] bytes, int rows) {
+            this.bytes = bytes;
+            this.rows = rows;
+        }
+    }
+
+    private static Batch formatBatch(List<? extends Kegiatan> source, int from, int to,
+                                     Predicate<? super Kegiatan> filter) {
+        StringBuilder sb = new StringBuilder((to - from) * 128);
+        int rows = 0;
+        for (int i = from; i < to; i++) {
+            Kegiatan k = source.get(i);
+            if (k != null && filter.test(k)) {
+                appendRow(sb, k);
+                rows++;
+            }
+        }
+        return new Batch(sb.toString().getBytes(StandardCharsets.UTF_8), rows);
+    }
+
+    /**
+     * Satu baris CSV. Prioritas & materi ujian punya kolom sendiri di akhir
+     * supaya file bisa di-import balik tanpa kehilangan data (CsvImporter).
+     */
+    static void appendRow(StringBuilder sb, Kegiatan k) {
+        sb.append(k.getId()).append(',');
+        appendField(sb, DataManager.getKegiatanType(k));
+        sb.append(',');
+        appendField(sb, k.getJudul());
+        sb.append(',').append(k.getTanggal());
+        sb.append(',').append(k.getWaktuMulai());
+        sb.append(',').append(k.getWaktuSelesai());
+        sb.append(',');
+        appendField(sb, k.getStatus());
+        sb.append(',');
+
+        if (k instanceof KegiatanBelajar) {
+            KegiatanBelajar kb = (KegiatanBelajar) k;
+            appendField(sb, kb.getMataKuliah());
+            sb.append(',');
+            appendField(sb, kb.getTopik());
+            sb.append(",,");
+        } else if (k instanceof KegiatanTugas) {
+            KegiatanTugas kt = (KegiatanTugas) k;
+            appendField(sb, kt.getMataKuliah());
+            sb.append(',');
+            appendField(sb, "Deadline: " + kt.getDeadline() + " | Progress: " + kt.getProgress() + "%");
+            sb.append(',');
+            appendField(sb, kt.getPrioritas());
+            sb.append(',');
+        } else if (k instanceof KegiatanUjian) {
+            KegiatanUjian ku = (KegiatanUjian) k;
+            appendField(sb, ku.getMataKuliah());
+            sb.append(',');
+            appendField(sb, ku.getRuangan() + " | " + ku.getJenisUjian());
+            sb.append(",,");
+            appendField(sb, ku.getMateriUjian());
+        } else {
+            sb.append(",,,");
+        }
+        sb.append(LINE_END);
+    }
+
+    /**
+     * Tulis satu field, di-quote hanya kalau perlu (RFC 4180)
+     */
+    static void appendField(StringBuilder sb, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            sb.append(value);
+            return;
+        }
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        sb.append('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ============ OUTPUT ============
+
+    private void writeBatch(FileChannel channel, Batch batch) throws IOException {
+        writeFully(channel, batch.bytes);
+        exportedCount += batch.rows;
+    }
+
+    private static void writeFully(FileChannel channel, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,446 @@
+package manager;
+
+import model.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * CsvImporter - Import massal file CSV (format CsvExporter)
+ * File dibaca streaming dan dipotong per record (baris baru di dalam field
+ * ber-quote tidak memotong record), lalu batch record di-parse & divalidasi
+ * paralel di fork-join pool. Hasil tetap urut sesuai file.
+ * Baris yang tidak valid tidak menggagalkan import, tapi dicatat di ImportResult.
+ * ID di file diabaikan; ID baru dibagikan oleh JadwalManager.
+ */
+public class CsvImporter {
+    private static final int BATCH_SIZE = 4096;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private static final String COL_TIPE = "Tipe";
+    private static final String COL_JUDUL = "Judul";
+    private static final String COL_TANGGAL = "Tanggal";
+    private static final String COL_WAKTU_MULAI = "Waktu Mulai";
+    private static final String COL_WAKTU_SELESAI = "Waktu Selesai";
+    private static final String COL_STATUS = "Status";
+    private static final String COL_MATA_KULIAH = "Mata Kuliah";
+    private static final String COL_DETAIL = "Detail";
+    private static final String COL_PRIORITAS = "Prioritas";       // opsional
+    private static final String COL_MATERI_UJIAN = "Materi Ujian"; // opsional
+
+    private static final String[] REQUIRED_COLUMNS = {COL_TIPE, COL_JUDUL, COL_TANGGAL,
+            COL_WAKTU_MULAI, COL_WAKTU_SELESAI, COL_STATUS, COL_MATA_KULIAH, COL_DETAIL};
+
+    private static final String DEADLINE_PREFIX = "Deadline: ";
+    private static final String PROGRESS_PREFIX = " | Progress: ";
+    private static final String DETAIL_SEPARATOR = " | ";
+
+    private final ForkJoinPool pool;
+
+    // Constructor
+    public CsvImporter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public CsvImporter(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // ============ RESULT ============
+
+    /**
+     * Kesalahan pada satu baris CSV (nomor baris = baris awal record di file)
+     */
+    public static class RowError {
+        private final int row;
+        private final String message;
+
+        public RowError(int row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public int getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        @Override
+        public String toString() {
+            return "Baris " + row + ": " + message;
+        }
+    }
+
+    /**
+     * Hasil import: kegiatan valid (belum ber-ID) + daftar baris yang ditolak
+     */
+    public static class ImportResult {
+        private final List<Kegiatan> kegiatan = new ArrayList<>();
+        private final List<RowError> errors = new ArrayList<>();
+
+        public List<Kegiatan> getKegiatan() {
+            return kegiatan;
+        }
+
+        public List<RowError> getErrors() {
+            return errors;
+        }
+
+        public int getImportedCount() {
+            return kegiatan.size();
+        }
+
+        public boolean hasErrors() {
+            return !errors.isEmpty();
+        }
+    }
+
+    // ============ IMPORT ============
+
+    /**
+     * Baca & validasi file CSV. Error I/O atau header tidak valid dilaporkan
+     * sebagai error baris 1 dengan hasil kosong.
+     */
+    public ImportResult importFile(String fileName) {
+        ImportResult result = new ImportResult();
+        ArrayDeque<Future<ImportResult>> inFlight = new ArrayDeque<>();
+        int maxInFlight = Math.max(2, pool.getParallelism() * 2);
+
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+            RecordReader records = new RecordReader(reader);
+
+            List<String> header = records.next();
+            if (header == null) {
+                result.errors.add(new RowError(1, "File CSV kosong"));
+                return result;
+            }
+            Columns columns = Columns.fromHeader(header);
+
+            List<List<String>> batch = new ArrayList<>(BATCH_SIZE);
+            int[] rows = new int[BATCH_SIZE];
+            List<String> record;
+            while ((record = records.next()) != null) {
+                rows[batch.size()] = records.getRecordStartLine();
+                batch.add(record);
+
+                if (batch.size() == BATCH_SIZE) {
+                    submit(inFlight, batch, rows, columns);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                    rows = new int[BATCH_SIZE];
+                    if (inFlight.size() >= maxInFlight) {
+                        merge(result, inFlight.poll().get());
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(inFlight, batch, rows, columns);
+            }
+            while (!inFlight.isEmpty()) {
+                merge(result, inFlight.poll().get());
+            }
+
+        } catch (IOException | IllegalArgumentException | ExecutionException e) {
+            result.kegiatan.clear();
+            result.errors.add(new RowError(1, "Import gagal: " + e.getMessage()));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.kegiatan.clear();
+            result.errors.add(new RowError(1, "Import dibatalkan"));
+
+        } finally {
+            for (Future<ImportResult> pending : inFlight) {
+                pending.cancel(true);
+            }
+        }
+
+        return result;
+    }
+
+    private void submit(ArrayDeque<Future<ImportResult>> inFlight, List<List<String>> batch,
+                        int[] rows, Columns columns) {
+        inFlight.add(pool.submit(() -> parseBatch(batch, rows, columns)));
+    }
+
+    private static void merge(ImportResult target, ImportResult batch) {
+        target.kegiatan.addAll(batch.kegiatan);
+        target.errors.addAll(batch.errors);
+    }
+
+    private static ImportResult parseBatch(List<List<String>> batch, int[] rows, Columns columns) {
+        ImportResult result = new ImportResult();
+        for (int i = 0; i < batch.size(); i++) {
+            List<String> record = batch.get(i);
+            if (record.size() == 1 && record.get(0).isEmpty()) {
+                continue; // baris kosong
+            }
+            try {
+                result.kegiatan.add(parseRecord(record, columns));
+            } catch (IllegalArgumentException e) {
+                result.errors.add(new RowError(rows[i], e.getMessage()));
+            }
+        }
+        return result;
+    }
+
+    // ============ VALIDATION ============
+
+    /**
+     * Posisi kolom berdasarkan header (urutan kolom boleh berbeda)
+     */
+    private static class Columns {
+        final Map<String, Integer> index = new HashMap<>();
+
+        static Columns fromHeader(List<String> header) {
+            Columns columns = new Columns();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim();
+                if (i == 0 && name.startsWith("\uFEFF")) {
+                    name = name.substring(1); // BOM dari Excel
+                }
+                columns.index.put(name, i);
+            }
+            for (String required : REQUIRED_COLUMNS) {
+                if (!columns.index.containsKey(required)) {
+                    throw new IllegalArgumentException("Kolom \"" + required + "\" tidak ada di header");
+                }
+            }
+            return columns;
+        }
+
+        String get(List<String> record, String column) {
+            Integer i = index.get(column);
+            if (i == null || i >= record.size()) {
+                return null;
+            }
+            return record.get(i);
+        }
+
+        String require(List<String> record, String column) {
+            String value = get(record, column);
+            if (value == null) {
+                throw new IllegalArgumentException("Kolom \"" + column + "\" kosong");
+            }
+            return value;
+        }
+    }
+
+    private static Kegiatan parseRecord(List<String> record, Columns columns) {
+        String tipe = columns.require(record, COL_TIPE).trim();
+        String judul = columns.require(record, COL_JUDUL);
+        if (judul.trim().isEmpty()) {
+            throw new IllegalArgumentException("Judul tidak boleh kosong");
+        }
+        LocalDate tanggal = parseDate(columns.require(record, COL_TANGGAL), COL_TANGGAL);
+        LocalTime waktuMulai = parseTime(columns.require(record, COL_WAKTU_MULAI), COL_WAKTU_MULAI);
+        LocalTime waktuSelesai = parseTime(columns.require(record, COL_WAKTU_SELESAI), COL_WAKTU_SELESAI);
+        String status = parseStatus(columns.require(record, COL_STATUS));
+        String mataKuliah = columns.require(record, COL_MATA_KULIAH);
+        String detail = columns.require(record, COL_DETAIL);
+
+        Kegiatan kegiatan;
+        switch (tipe) {
+            case "KegiatanBelajar":
+                kegiatan = new KegiatanBelajar(0, judul, tanggal, waktuMulai, waktuSelesai,
+                        mataKuliah, detail);
+                break;
+
+            case "KegiatanTugas": {
+                // Detail: "Deadline: yyyy-MM-dd | Progress: N%"
+                int progressAt = detail.indexOf(PROGRESS_PREFIX);
+                if (!detail.startsWith(DEADLINE_PREFIX) || progressAt < 0 || !detail.endsWith("%")) {
+                    throw new IllegalArgumentException("Detail tugas harus \"Deadline: yyyy-MM-dd | Progress: N%\"");
+                }
+                LocalDate deadline = parseDate(detail.substring(DEADLINE_PREFIX.length(), progressAt), "Deadline");
+                int progress = parseProgress(detail.substring(progressAt + PROGRESS_PREFIX.length(),
+                        detail.length() - 1));
+                String prioritas = columns.get(record, COL_PRIORITAS);
+
+                KegiatanTugas kt = new KegiatanTugas(0, judul, tanggal, waktuMulai, waktuSelesai,
+                        mataKuliah, deadline, prioritas == null ? "" : prioritas);
+                kt.setProgress(progress);
+                kegiatan = kt;
+                break;
+            }
+
+            case "KegiatanUjian": {
+                // Detail: "ruangan | jenisUjian"
+                int sep = detail.lastIndexOf(DETAIL_SEPARATOR);
+                if (sep < 0) {
+                    throw new IllegalArgumentException("Detail ujian harus \"ruangan | jenis ujian\"");
+                }
+                String materi = columns.get(record, COL_MATERI_UJIAN);
+                kegiatan = new KegiatanUjian(0, judul, tanggal, waktuMulai, waktuSelesai, mataKuliah,
+                        detail.substring(0, sep), detail.substring(sep + DETAIL_SEPARATOR.length()),
+                        materi == null ? "" : materi);
+                break;
+            }
+
+            default:
+                throw new IllegalArgumentException("Tipe kegiatan tidak dikenal: " + tipe);
+        }
+
+        // Status apa adanya (tidak ditimpa progress), sama seperti KegiatanCodec
+        kegiatan.setStatus(status);
+        return kegiatan;
+    }
+
+    private static String parseStatus(String value) {
+        String status = value.trim();
+        if (status.isEmpty()) {
+            return "Belum Mulai";
+        }
+        if (!status.equals("Belum Mulai") && !status.equals("Sedang Berjalan")
+                && !status.equals("Selesai") && !status.equals("Sedang Dikerjakan")) {
+            throw new IllegalArgumentException("Status tidak valid: " + status);
+        }
+        return status;
+    }
+
+    private static int parseProgress(String value) {
+        int progress;
+        try {
+            progress = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Progress bukan angka: " + value);
+        }
+        if (progress < 0 || progress > 100) {
+            throw new IllegalArgumentException("Progress harus 0-100: " + progress);
+        }
+        return progress;
+    }
+
+    /**
+     * yyyy-MM-dd; jalur cepat dihitung dari digit (DigitParser), selain itu LocalDate.parse
+     */
+    private static LocalDate parseDate(String value, String column) {
+        String s = value.trim();
+        try {
+            LocalDate date = DigitParser.parseDate(s::charAt, 0, s.length());
+            return date != null ? date : LocalDate.parse(s);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException(column + " tidak valid: " + value);
+        }
+    }
+
+    /**
+     * HH:mm atau HH:mm:ss
+     */
+    private static LocalTime parseTime(String value, String column) {
+        String s = value.trim();
+        try {
+            LocalTime time = DigitParser.parseTime(s::charAt, 0, s.length());
+            return time != null ? time : LocalTime.parse(s);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException(column + " tidak valid: " + value);
+        }
+    }
+
+    // ============ RFC 4180 READER ============
+
+    /**
+     * Pembaca record CSV: field ber-quote boleh berisi koma, "" dan baris baru.
+     * Akhir baris LF maupun CRLF diterima.
+     */
+    private static class RecordReader {
+        private final Reader reader;
+        private final char[] buffer = new char[READ_BUFFER_SIZE];
+        private final StringBuilder field = new StringBuilder();
+        private int position;
+        private int limit;
+        private int line = 1;
+        private int recordStartLine;
+
+        RecordReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        int getRecordStartLine() {
+            return recordStartLine;
+        }
+
+        /**
+         * Record berikutnya, null kalau sudah akhir file
+         */
+        List<String> next() throws IOException {
+            if (!fill()) {
+                return null;
+            }
+            recordStartLine = line;
+
+            List<String> record = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            boolean afterQuote = false;
+
+            while (fill()) {
+                char c = buffer[position++];
+
+                if (quoted) {
+                    if (c == '"') {
+                        if (fill() && buffer[position] == '"') {
+                            field.append('"');
+                            position++;
+                        } else {
+                            quoted = false;
+                            afterQuote = true;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append(c);
+                    }
+                    continue;
+                }
+
+                if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                    afterQuote = false;
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c == '\r') {
+                    // bagian dari CRLF, dilewati
+                } else if (c == '"' && field.length() == 0 && !afterQuote) {
+                    quoted = true;
+                } else {
+                    field.append(c);
+                }
+            }
+
+            if (quoted) {
+                throw new IllegalArgumentException("Tanda kutip tidak ditutup mulai baris " + recordStartLine);
+            }
+            record.add(field.toString());
+            return record;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) {
+                return true;
+            }
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            return limit > 0;
+        }
+    }
+}
\ No newline at end of file
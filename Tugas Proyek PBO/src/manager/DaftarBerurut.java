@@ -0,0 +1,192 @@
+package manager;
+
+import model.Kegiatan;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * DaftarBerurut - List kegiatan yang tetap urut penambahan, dengan cari, ganti & hapus
+ * berdasarkan ID O(1) lewat IntIndex ID -> slot.
+ * Hapus tidak menggeser kegiatan lain: slotnya ditandai kosong (tombstone) dan semua
+ * tombstone dibuang sekaligus (compaction) begitu jumlahnya melewati separuh list,
+ * jadi hapus tetap O(1) amortized. Iterator melompati tombstone; baca tidak pernah
+ * mengubah list (get(i) selama masih ada tombstone menghitung dari awal, O(n)).
+ * Tidak thread-safe; pemakai memegang lock sendiri.
+ */
+final class DaftarBerurut<T extends Kegiatan> extends AbstractList<T> {
+    // Compaction baru dijalankan kalau tombstone minimal sebanyak ini
+    private static final int MIN_TOMBSTONE = 32;
+
+    private final ArrayList<T> slot;
+    private final IntIndex posisi;
+    private int kosong;
+
+    // Constructor
+    DaftarBerurut() {
+        this.slot = new ArrayList<>();
+        this.posisi = new IntIndex();
+    }
+
+    /**
+     * Isi awal dari daftar. ID ganda (file diedit manual): yang terakhir
+     * menggantikan yang pertama di posisi yang pertama, sama seperti replay journal.
+     */
+    DaftarBerurut(Collection<? extends T> daftar) {
+        this.slot = new ArrayList<>(daftar.size());
+        this.posisi = new IntIndex(daftar.size());
+        for (T k : daftar) {
+            int pos = posisi.get(k.getId());
+            if (pos == IntIndex.MISSING) {
+                posisi.put(k.getId(), slot.size());
+                slot.add(k);
+            } else {
+                slot.set(pos, k);
+            }
+        }
+    }
+
+    @Override
+    public int size() {
+        return slot.size() - kosong;
+    }
+
+    @Override
+    public T get(int index) {
+        if (kosong == 0) {
+            return slot.get(index);
+        }
+        Objects.checkIndex(index, size());
+        int sisa = index;
+        for (T k : slot) {
+            if (k != null && sisa-- == 0) {
+                return k;
+            }
+        }
+        throw new IllegalStateException("Jumlah tombstone tidak cocok");
+    }
+
+    boolean containsId(int id) {
+        return posisi.containsKey(id);
+    }
+
+    /**
+     * Kegiatan dengan ID ini, null kalau tidak ada
+     */
+    T getById(int id) {
+        int pos = posisi.get(id);
+        return pos == IntIndex.MISSING ? null : slot.get(pos);
+    }
+
+    /**
+     * Tambah di akhir (ID belum ada di daftar)
+     */
+    void tambah(T kegiatan) {
+        posisi.put(kegiatan.getId(), slot.size());
+        slot.add(kegiatan);
+        modCount++;
+    }
+
+    /**
+     * Ganti kegiatan ber-ID sama tanpa mengubah posisinya, kembalikan yang lama (null kalau tidak ada)
+     */
+    T ganti(T baru) {
+        int pos = posisi.get(baru.getId());
+        return pos == IntIndex.MISSING ? null : slot.set(pos, baru);
+    }
+
+    /**
+     * Hapus berdasarkan ID, kembalikan kegiatan yang dihapus (null kalau tidak ada)
+     */
+    T hapus(int id) {
+        int pos = posisi.remove(id);
+        if (pos == IntIndex.MISSING) {
+            return null;
+        }
+        T dihapus;
+        if (pos == slot.size() - 1) {
+            // Slot terakhir: buang langsung, berikut tombstone di depannya
+            dihapus = slot.remove(pos);
+            while (!slot.isEmpty() && slot.get(slot.size() - 1) == null) {
+                slot.remove(slot.size() - 1);
+                kosong--;
+            }
+        } else {
+            dihapus = slot.set(pos, null);
+            kosong++;
+            if (kosong >= MIN_TOMBSTONE && kosong * 2 > slot.size()) {
+                padatkan();
+            }
+        }
+        modCount++;
+        return dihapus;
+    }
+
+    @Override
+    public void clear() {
+        slot.clear();
+        posisi.clear();
+        kosong = 0;
+        modCount++;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private int berikut = lewatiKosong(0);
+            private final int modCountAwal = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return berikut < slot.size();
+            }
+
+            @Override
+            public T next() {
+                if (modCount != modCountAwal) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                T k = slot.get(berikut);
+                berikut = lewatiKosong(berikut + 1);
+                return k;
+            }
+        };
+    }
+
+    private int lewatiKosong(int dari) {
+        while (dari < slot.size() && slot.get(dari) == null) {
+            dari++;
+        }
+        return dari;
+    }
+
+    /**
+     * Buang semua tombstone, posisi kegiatan sesudahnya di index diperbarui
+     */
+    private void padatkan() {
+        if (kosong == 0) {
+            return;
+        }
+        int tulis = 0;
+        for (int baca = 0; baca < slot.size(); baca++) {
+            T k = slot.get(baca);
+            if (k != null) {
+                if (tulis != baca) {
+                    slot.set(tulis, k);
+                    posisi.put(k.getId(), tulis);
+                }
+                tulis++;
+            }
+        }
+        slot.subList(tulis, slot.size()).clear();
+        kosong = 0;
+        modCount++;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,299 @@
+package manager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * DataFileWatcher - Pantau file data & journal lewat WatchService
+ * Perubahan dari luar aplikasi (edit manual, sinkronisasi, instance lain) dilaporkan
+ * lewat callback setelah file tenang selama DEBOUNCE_MS. Tulisan aplikasi sendiri
+ * di-acknowledge, jadi tidak dianggap perubahan.
+ *
+ * Per file disimpan sidik jari terakhir yang diketahui: file key (inode), ukuran,
+ * waktu ubah dan CRC32C beberapa byte terakhir. Kalau file hanya bertambah panjang
+ * dan byte terakhir yang lama masih sama, perubahan dianggap append sehingga
+ * cukup bagian baru yang dibaca.
+ */
+public class DataFileWatcher {
+    private static final long DEBOUNCE_MS = 200;
+    private static final int TAIL_CHECK_BYTES = 512;
+
+    /**
+     * Satu file yang berubah sejak acknowledge terakhir
+     */
+    public static class Change {
+        private final Path file;
+        private final long appendedFrom;
+        private final Fingerprint current;
+
+        Change(Path file, long appendedFrom, Fingerprint current) {
+            this.file = file;
+            this.appendedFrom = appendedFrom;
+            this.current = current;
+        }
+
+        public Path getFile() { return file; }
+
+        /**
+         * File hanya bertambah di akhir, isi lama tidak berubah
+         */
+        public boolean isAppend() { return appendedFrom >= 0; }
+
+        /**
+         * Offset awal bagian baru (kalau isAppend)
+         */
+        public long getAppendedFrom() { return appendedFrom; }
+
+        /**
+         * Perubahan yang sama persis (file, jenis & sidik jari sama)
+         */
+        boolean samaDengan(Change other) {
+            return file.equals(other.file) && appendedFrom == other.appendedFrom
+                    && current.sameAs(other.current);
+        }
+    }
+
+    private static class Fingerprint {
+        static final Fingerprint MISSING = new Fingerprint(null, -1, 0, 0);
+
+        final Object fileKey;
+        final long size;
+        final long lastModified;
+        final long tailCrc;
+
+        Fingerprint(Object fileKey, long size, long lastModified, long tailCrc) {
+            this.fileKey = fileKey;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.tailCrc = tailCrc;
+        }
+
+        boolean exists() {
+            return size >= 0;
+        }
+
+        boolean sameAs(Fingerprint other) {
+            return Objects.equals(fileKey, other.fileKey) && size == other.size
+                    && lastModified == other.lastModified;
+        }
+
+        /**
+         * Sidik jari yang sama tapi hanya sampai byte size (sisa file belum dibaca)
+         */
+        Fingerprint truncate(Path file, long size) {
+            return size == this.size ? this : new Fingerprint(fileKey, size, lastModified, tailCrc(file, size));
+        }
+    }
+
+    private final List<Path> files = new ArrayList<>();
+    private final Runnable onChange;
+    private final Map<Path, Fingerprint> known = new HashMap<>();
+    private WatchService watchService;
+    private Thread thread;
+
+    // Constructor - isi file saat ini langsung dianggap sudah diketahui
+    public DataFileWatcher(List<String> fileNames, Runnable onChange) {
+        for (String fileName : fileNames) {
+            files.add(Paths.get(fileName).toAbsolutePath().normalize());
+        }
+        this.onChange = onChange;
+        acknowledge();
+    }
+
+    /**
+     * Mulai memantau di background thread (daemon)
+     */
+    public synchronized boolean start() {
+        if (thread != null) {
+            return true;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            Set<Path> folders = new LinkedHashSet<>();
+            for (Path file : files) {
+                folders.add(file.getParent());
+            }
+            for (Path folder : folders) {
+                folder.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error saat memantau file data: " + e.getMessage());
+            stop();
+            return false;
+        }
+
+        WatchService service = watchService;
+        thread = new Thread(() -> run(service), "jadwal-watcher");
+        thread.setDaemon(true); // jangan tahan aplikasi saat ditutup
+        thread.start();
+        return true;
+    }
+
+    public synchronized void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close(); // thread watcher keluar dari take()
+            } catch (IOException e) {
+                System.err.println("❌ Error saat menutup watcher: " + e.getMessage());
+            }
+            watchService = null;
+        }
+        thread = null;
+    }
+
+    public synchronized boolean isRunning() {
+        return thread != null;
+    }
+
+    private void run(WatchService service) {
+        try {
+            while (true) {
+                boolean relevant = drain(service.take());
+
+                // Rentetan event dari satu kali tulis digabung jadi satu reload
+                WatchKey next;
+                while ((next = service.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS)) != null) {
+                    relevant |= drain(next);
+                }
+                if (relevant) {
+                    try {
+                        onChange.run();
+                    } catch (RuntimeException e) {
+                        System.err.println("❌ Error saat memuat ulang data: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher dihentikan
+        }
+    }
+
+    /**
+     * Ambil event dari satu folder, true kalau ada yang menyangkut file yang dipantau
+     */
+    private boolean drain(WatchKey key) {
+        Path folder = (Path) key.watchable();
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                relevant = true; // event hilang, cek semua file
+            } else {
+                relevant |= files.contains(folder.resolve((Path) event.context()));
+            }
+        }
+        key.reset();
+        return relevant;
+    }
+
+    // ============ SIDIK JARI FILE ============
+
+    /**
+     * Anggap isi semua file saat ini sudah diketahui (dipanggil setelah aplikasi sendiri menulis)
+     */
+    public synchronized void acknowledge() {
+        for (Path file : files) {
+            known.put(file, fingerprint(file));
+        }
+    }
+
+    /**
+     * Perubahan sudah diterapkan seluruhnya
+     */
+    public synchronized void acknowledge(Change change) {
+        known.put(change.file, change.current);
+    }
+
+    /**
+     * Perubahan baru dibaca sampai byte offset; sisanya (misalnya record yang
+     * masih ditulis) dilaporkan lagi sebagai append pada pengecekan berikutnya
+     */
+    public synchronized void acknowledge(Change change, long offset) {
+        known.put(change.file, change.current.exists() && offset >= 0 && offset < change.current.size
+                ? change.current.truncate(change.file, offset) : change.current);
+    }
+
+    /**
+     * File yang berubah sejak acknowledge terakhir. Belum di-acknowledge:
+     * pemanggil yang menandai sampai mana perubahan sudah diterapkan.
+     */
+    public synchronized List<Change> pollChanges() {
+        List<Change> changes = new ArrayList<>();
+        for (Path file : files) {
+            Fingerprint lama = known.get(file);
+            Fingerprint baru = fingerprint(file);
+            if (lama.sameAs(baru)) {
+                continue;
+            }
+
+            long appendedFrom = -1;
+            if (!lama.exists() && baru.exists()) {
+                appendedFrom = 0; // file baru: seluruh isinya adalah tambahan
+            } else if (baru.exists() && Objects.equals(lama.fileKey, baru.fileKey) && baru.size > lama.size
+                    && tailCrc(file, lama.size) == lama.tailCrc) {
+                appendedFrom = lama.size;
+            }
+            changes.add(new Change(file, appendedFrom, baru));
+        }
+        return changes;
+    }
+
+    private static Fingerprint fingerprint(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            long size = attrs.size();
+            return new Fingerprint(attrs.fileKey(), size, attrs.lastModifiedTime().toMillis(), tailCrc(file, size));
+        } catch (IOException e) {
+            return Fingerprint.MISSING;
+        }
+    }
+
+    /**
+     * CRC32C dari TAIL_CHECK_BYTES byte terakhir sebelum offset end
+     */
+    private static long tailCrc(Path file, long end) {
+        int length = (int) Math.min(end, TAIL_CHECK_BYTES);
+        if (length <= 0) {
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(length);
+            long position = end - length;
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position);
+                if (n < 0) {
+                    return -1; // file sudah lebih pendek dari end
+                }
+                position += n;
+            }
+            buffer.flip();
+            CRC32C crc = new CRC32C();
+            crc.update(buffer);
+            return crc.getValue();
+
+        } catch (IOException e) {
+            return -1; // file hilang / tidak bisa dibaca: anggap berubah
+        }
+    }
+}
\ No newline at end of file
@@ -2,63 +2,239 @@ package manager;
 
 import model.*;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * DataManager - Mengelola Save & Load Data
- * Format: Custom TXT (Simple & Readable)
+ * Format: BINARY (ringkas & cepat, lihat KegiatanCodec), PARTITIONED (biner, satu file
+ * per bulan, lihat PartitionStore) atau Custom TXT (Simple & Readable)
  */
 public class DataManager {
     private static final String DATA_FILE = "jadwal_data.txt";
+    private static final String BINARY_DATA_FILE = "jadwal_data.bin";
+    private static final String PARTITION_DIR = "jadwal_partitions";
     private static final String SEPARATOR = "|";
+    private static final int BACKUP_BUFFER_SIZE = 64 * 1024;
 
     /**
-     * SAVE - Simpan semua kegiatan ke file
+     * Format penyimpanan data utama
+     */
+    public enum Format { TEXT, BINARY, PARTITIONED }
+
+    /**
+     * Cara membaca file data
+     * AUTO       : file kecil SEQUENTIAL; file besar MAPPED (biner) atau PARALLEL (teks, multi-core)
+     * SEQUENTIAL : BufferedReader / baca seluruh file biasa
+     * MAPPED     : memory-mapped file (MappedDataLoader)
+     * PARALLEL   : chunk per baris di fork-join pool (ParallelDataLoader, khusus teks)
+     */
+    public enum LoadMode { AUTO, SEQUENTIAL, MAPPED, PARALLEL }
+
+    private static Format format = Format.BINARY;
+    private static LoadMode loadMode = LoadMode.AUTO;
+    // Satu storage engine per format, dibuat saat pertama dipakai
+    private static final Map<Format, KegiatanStore> stores = new EnumMap<>(Format.class);
+
+    // Batas ukuran file "besar" untuk LoadMode.AUTO
+    private static long mappedLoadThreshold = 32L * 1024 * 1024; // 32 MB
+
+    /**
+     * Pilih format yang dipakai method statis DataManager (saveData, loadData, ...).
+     * Store untuk JadwalManager dibuat lewat createStore dan tidak terpengaruh.
+     */
+    public static void setFormat(Format formatBaru) {
+        format = formatBaru;
+    }
+
+    public static Format getFormat() {
+        return format;
+    }
+
+    /**
+     * Pilih cara membaca file data
+     */
+    public static void setLoadMode(LoadMode modeBaru) {
+        loadMode = modeBaru;
+    }
+
+    /**
+     * Atur ukuran file minimum (byte) yang dianggap besar oleh LoadMode.AUTO.
+     * File kecil tetap dibaca biasa: mapping baru dilepas saat GC, dan di Windows
+     * file yang masih ter-mapping tidak bisa ditimpa saat save berikutnya.
+     */
+    public static void setMappedLoadThreshold(long bytes) {
+        mappedLoadThreshold = bytes;
+    }
+
+    /**
+     * True kalau file sebesar ini dianggap besar (dibaca lewat memory-mapping)
+     */
+    static boolean isLargeFile(long size) {
+        return size >= mappedLoadThreshold;
+    }
+
+    /**
+     * Baca length byte mulai position: file besar di-mapping, file kecil disalin ke heap
+     * lewat FileChannel.read supaya tidak ada mapping yang menghalangi save berikutnya
+     */
+    static ByteBuffer readRegion(FileChannel channel, long position, long length) throws IOException {
+        if (isLargeFile(channel.size())) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        }
+        return AbstractFileStore.readRange(channel, position, (int) length);
+    }
+
+    private static LoadMode resolveLoadMode(File file, boolean binary, LoadMode loadMode) {
+        if (loadMode == LoadMode.AUTO) {
+            if (!isLargeFile(file.length())) {
+                return LoadMode.SEQUENTIAL;
+            }
+            boolean multiCore = Runtime.getRuntime().availableProcessors() > 1;
+            return binary || !multiCore ? LoadMode.MAPPED : LoadMode.PARALLEL;
+        }
+        // Record biner tidak punya batas baris, jadi tidak bisa dipotong per chunk
+        if (binary && loadMode == LoadMode.PARALLEL) {
+            return LoadMode.MAPPED;
+        }
+        return loadMode;
+    }
+
+    /**
+     * Nama file data sesuai format yang aktif (folder untuk PARTITIONED)
+     */
+    public static String getDataFile() {
+        if (format == Format.PARTITIONED) {
+            return PARTITION_DIR;
+        }
+        return format == Format.BINARY ? BINARY_DATA_FILE : DATA_FILE;
+    }
+
+    // ============ STORAGE ENGINE ============
+
+    /**
+     * Storage engine untuk format yang aktif
+     */
+    public static KegiatanStore getStore() {
+        return storeFor(format);
+    }
+
+    /**
+     * Satu instance per format, dipakai bersama createStore dan method statis DataManager
+     * supaya satu file data selalu punya satu writeLock
+     */
+    private static synchronized KegiatanStore storeFor(Format f) {
+        return stores.computeIfAbsent(f, DataManager::newStore);
+    }
+
+    private static KegiatanStore newStore(Format f) {
+        switch (f) {
+            case TEXT:
+                return new TextFileStore(DATA_FILE);
+            case PARTITIONED:
+                return new PartitionedFileStore(PARTITION_DIR, BINARY_DATA_FILE, DATA_FILE);
+            default:
+                return new BinaryFileStore(BINARY_DATA_FILE, DATA_FILE);
+        }
+    }
+
+    /**
+     * Buat storage engine dari nama: memory, text, binary, mmap atau partitioned.
+     * Format aktif (setFormat) tidak diubah; store yang dikembalikan berdiri sendiri.
+     */
+    public static KegiatanStore createStore(String name) {
+        switch (name.trim().toLowerCase()) {
+            case "memory":
+                return new InMemoryStore();
+            case "text":
+                return storeFor(Format.TEXT);
+            case "mmap":
+                return new MappedFileStore(BINARY_DATA_FILE, DATA_FILE);
+            case "partitioned":
+                return storeFor(Format.PARTITIONED);
+            case "binary":
+                return storeFor(Format.BINARY);
+            default:
+                System.err.println("⚠️  Storage \"" + name + "\" tidak dikenal, memakai binary");
+                return storeFor(Format.BINARY);
+        }
+    }
+
+    /**
+     * SAVE - Simpan semua kegiatan ke file (lihat AbstractFileStore.saveAll)
      */
     public static boolean saveData(List<Kegiatan> daftarKegiatan) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(DATA_FILE))) {
-
-            for (Kegiatan k : daftarKegiatan) {
-                StringBuilder line = new StringBuilder();
-
-                // Common fields
-                line.append(k.getId()).append(SEPARATOR);
-                line.append(getKegiatanType(k)).append(SEPARATOR);
-                line.append(k.getJudul()).append(SEPARATOR);
-                line.append(k.getTanggal()).append(SEPARATOR);
-                line.append(k.getWaktuMulai()).append(SEPARATOR);
-                line.append(k.getWaktuSelesai()).append(SEPARATOR);
-                line.append(k.getStatus()).append(SEPARATOR);
-
-                // Type-specific fields
-                if (k instanceof KegiatanBelajar) {
-                    KegiatanBelajar kb = (KegiatanBelajar) k;
-                    line.append(kb.getMataKuliah()).append(SEPARATOR);
-                    line.append(kb.getTopik());
-
-                } else if (k instanceof KegiatanTugas) {
-                    KegiatanTugas kt = (KegiatanTugas) k;
-                    line.append(kt.getMataKuliah()).append(SEPARATOR);
-                    line.append(kt.getDeadline()).append(SEPARATOR);
-                    line.append(kt.getPrioritas()).append(SEPARATOR);
-                    line.append(kt.getProgress());
-
-                } else if (k instanceof KegiatanUjian) {
-                    KegiatanUjian ku = (KegiatanUjian) k;
-                    line.append(ku.getMataKuliah()).append(SEPARATOR);
-                    line.append(ku.getRuangan()).append(SEPARATOR);
-                    line.append(ku.getJenisUjian()).append(SEPARATOR);
-                    line.append(ku.getMateriUjian());
+        return getStore().saveAll(daftarKegiatan);
+    }
+
+    /**
+     * Export ke format TXT (pipe-delimited, sama dengan format data teks).
+     * Untuk dibaca / diolah user, jadi baris ditulis polos tanpa checksum.
+     */
+    public static boolean exportToText(List<Kegiatan> daftarKegiatan, String fileName) {
+        return writeText(daftarKegiatan, fileName, false);
+    }
+
+    /**
+     * Simpan file data teks; diawali LineChecksum.HEADER dan setiap baris diberi checksum untuk fsck
+     */
+    static boolean saveText(List<Kegiatan> daftarKegiatan, String fileName) {
+        return writeText(daftarKegiatan, fileName, true);
+    }
+
+    private static boolean writeText(List<Kegiatan> daftarKegiatan, String fileName, boolean seal) {
+        try {
+            writeAtomically(fileName, out -> {
+                // Charset default, sama seperti FileWriter sebelumnya
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out));
+                if (seal) {
+                    writer.write(LineChecksum.HEADER);
+                    writer.newLine();
+                }
+                for (Kegiatan k : daftarKegiatan) {
+                    String line = formatLine(k);
+                    writer.write(seal ? LineChecksum.seal(line) : line);
+                    writer.newLine();
                 }
+                writer.flush();
+            });
 
-                writer.write(line.toString());
-                writer.newLine();
-            }
+            System.out.println("✅ Data berhasil disimpan ke " + fileName);
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat menyimpan data: " + e.getMessage());
+            return false;
+        }
+    }
 
-            System.out.println("✅ Data berhasil disimpan ke " + DATA_FILE);
+    static boolean saveBinary(List<Kegiatan> daftarKegiatan, String fileName) {
+        try {
+            writeAtomically(fileName, out -> {
+                KegiatanCodec codec = new KegiatanCodec();
+                KegiatanCodec.writeHeader(out);
+                for (Kegiatan k : daftarKegiatan) {
+                    codec.writeRecord(k, out);
+                }
+            });
+
+            System.out.println("✅ Data berhasil disimpan ke " + fileName);
             return true;
 
         } catch (IOException e) {
@@ -67,25 +243,81 @@ public class DataManager {
         }
     }
 
+    interface DataWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Tulis file secara atomik: file asli tidak pernah terpotong setengah jalan.
+     * 1. tulis ke file sementara di folder yang sama
+     * 2. force (fsync) ke disk
+     * 3. rename atomik menimpa file asli
+     */
+    static void writeAtomically(String fileName, DataWriter dataWriter) throws IOException {
+        Path target = Paths.get(fileName).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+                dataWriter.write(out);
+                out.flush();
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
     /**
      * LOAD - Muat data dari file
      */
     public static List<Kegiatan> loadData() {
+        return getStore().load();
+    }
+
+    static List<Kegiatan> loadText(String fileName) {
+        return loadText(fileName, loadMode);
+    }
+
+    static List<Kegiatan> loadText(String fileName, LoadMode loadMode) {
         List<Kegiatan> daftarKegiatan = new ArrayList<>();
-        File file = new File(DATA_FILE);
+        File file = new File(fileName);
 
         if (!file.exists()) {
             System.out.println("ℹ️  File data tidak ditemukan. Mulai dengan data kosong.");
             return daftarKegiatan;
         }
 
+        LoadMode mode = resolveLoadMode(file, false, loadMode);
+        if (mode == LoadMode.MAPPED) {
+            return loadMapped(file, false);
+        } else if (mode == LoadMode.PARALLEL) {
+            return loadParallel(file);
+        }
+
         try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
+            String line = reader.readLine();
             int loadedCount = 0;
 
-            while ((line = reader.readLine()) != null) {
+            // File bertanda HEADER: baris tanpa checksum berarti rusak
+            boolean sealed = line != null && LineChecksum.isHeader(line);
+            if (sealed) {
+                line = reader.readLine();
+            }
+
+            for (; line != null; line = reader.readLine()) {
                 try {
-                    Kegiatan kegiatan = parseLine(line);
+                    Kegiatan kegiatan = parseLine(line, sealed);
                     if (kegiatan != null) {
                         daftarKegiatan.add(kegiatan);
                         loadedCount++;
@@ -95,7 +327,7 @@ public class DataManager {
                 }
             }
 
-            System.out.println("✅ Berhasil memuat " + loadedCount + " kegiatan dari " + DATA_FILE);
+            System.out.println("✅ Berhasil memuat " + loadedCount + " kegiatan dari " + fileName);
 
         } catch (IOException e) {
             System.err.println("❌ Error saat memuat data: " + e.getMessage());
@@ -104,66 +336,221 @@ public class DataManager {
         return daftarKegiatan;
     }
 
+    static List<Kegiatan> loadBinary(String fileName) {
+        return loadBinary(fileName, loadMode);
+    }
+
+    static List<Kegiatan> loadBinary(String fileName, LoadMode loadMode) {
+        List<Kegiatan> daftarKegiatan = new ArrayList<>();
+        File file = new File(fileName);
+
+        if (!file.exists()) {
+            System.out.println("ℹ️  File data tidak ditemukan. Mulai dengan data kosong.");
+            return daftarKegiatan;
+        }
+
+        if (resolveLoadMode(file, true, loadMode) == LoadMode.MAPPED) {
+            return loadMapped(file, true);
+        }
+
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            int version = KegiatanCodec.readHeader(in);
+            KegiatanCodec codec = new KegiatanCodec(version);
+
+            while (in.hasRemaining()) {
+                int recordStart = in.position();
+                try {
+                    daftarKegiatan.add(codec.readRecord(in));
+                } catch (RuntimeException e) {
+                    // Versi 1 tidak punya frame, sisa file tidak bisa dibaca;
+                    // versi 2 lanjut dari frame valid berikutnya
+                    int next = version >= 2 ? KegiatanCodec.resync(in, recordStart + 1, false) : -1;
+                    if (next < 0) {
+                        System.err.println("⚠️  Data rusak mulai byte " + recordStart + ", sisa file di-skip");
+                        break;
+                    }
+                    System.err.println("⚠️  Data rusak di byte " + recordStart + "-" + next + ", di-skip");
+                    in.position(next);
+                }
+            }
+
+            System.out.println("✅ Berhasil memuat " + daftarKegiatan.size() + " kegiatan dari " + fileName);
+
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ Error saat memuat data: " + e.getMessage());
+        }
+
+        return daftarKegiatan;
+    }
+
+    /**
+     * Load file biner atau teks, dikenali dari header-nya
+     */
+    static List<Kegiatan> loadFile(String fileName) {
+        byte[] magic = new byte[KegiatanCodec.MAGIC.length];
+        try (InputStream in = new FileInputStream(fileName)) {
+            int read = in.readNBytes(magic, 0, magic.length);
+            if (read == magic.length && Arrays.equals(magic, KegiatanCodec.MAGIC)) {
+                return loadBinary(fileName);
+            }
+        } catch (IOException e) {
+            System.err.println("❌ Error saat memuat data: " + e.getMessage());
+            return new ArrayList<>();
+        }
+        return loadText(fileName);
+    }
+
+    /**
+     * Format satu objek Kegiatan menjadi satu baris data.
+     * Field teks di-escape sehingga newline / '|' di dalamnya tidak memecah baris.
+     */
+    static String formatLine(Kegiatan k) {
+        StringBuilder line = new StringBuilder();
+
+        // Common fields
+        line.append(k.getId()).append(SEPARATOR);
+        line.append(getKegiatanType(k)).append(SEPARATOR);
+        LineTokenizer.escape(line, k.getJudul());
+        line.append(SEPARATOR);
+        line.append(k.getTanggal()).append(SEPARATOR);
+        line.append(k.getWaktuMulai()).append(SEPARATOR);
+        line.append(k.getWaktuSelesai()).append(SEPARATOR);
+        LineTokenizer.escape(line, k.getStatus());
+        line.append(SEPARATOR);
+
+        // Type-specific fields (teks di-escape, lihat LineTokenizer.escape)
+        if (k instanceof KegiatanBelajar) {
+            KegiatanBelajar kb = (KegiatanBelajar) k;
+            LineTokenizer.escape(line, kb.getMataKuliah());
+            line.append(SEPARATOR);
+            LineTokenizer.escape(line, kb.getTopik());
+
+        } else if (k instanceof KegiatanTugas) {
+            KegiatanTugas kt = (KegiatanTugas) k;
+            LineTokenizer.escape(line, kt.getMataKuliah());
+            line.append(SEPARATOR);
+            line.append(kt.getDeadline()).append(SEPARATOR);
+            LineTokenizer.escape(line, kt.getPrioritas());
+            line.append(SEPARATOR);
+            line.append(kt.getProgress());
+
+        } else if (k instanceof KegiatanUjian) {
+            KegiatanUjian ku = (KegiatanUjian) k;
+            LineTokenizer.escape(line, ku.getMataKuliah());
+            line.append(SEPARATOR);
+            LineTokenizer.escape(line, ku.getRuangan());
+            line.append(SEPARATOR);
+            LineTokenizer.escape(line, ku.getJenisUjian());
+            line.append(SEPARATOR);
+            LineTokenizer.escape(line, ku.getMateriUjian());
+        }
+
+        return line.toString();
+    }
+
+    /**
+     * LOAD via memory-mapped file (untuk file data besar)
+     */
+    private static List<Kegiatan> loadMapped(File file, boolean binary) {
+        MappedDataLoader loader = new MappedDataLoader();
+
+        try {
+            List<Kegiatan> daftarKegiatan = binary ? loader.loadBinary(file) : loader.loadText(file);
+            System.out.println("✅ Berhasil memuat " + daftarKegiatan.size() + " kegiatan dari "
+                    + file.getName() + " (memory-mapped, " + loader.getSkippedCount() + " rusak)");
+            return daftarKegiatan;
+
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("❌ Error saat memuat data: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * LOAD paralel per chunk baris (untuk file teks besar)
+     */
+    private static List<Kegiatan> loadParallel(File file) {
+        ParallelDataLoader loader = new ParallelDataLoader();
+
+        try {
+            List<Kegiatan> daftarKegiatan = loader.loadText(file);
+            List<String> skippedLines = loader.getSkippedLines();
+            for (String line : skippedLines) {
+                System.err.println("⚠️  Skip baris yang rusak: " + line);
+            }
+            System.out.println("✅ Berhasil memuat " + daftarKegiatan.size() + " kegiatan dari "
+                    + file.getName() + " (paralel, " + skippedLines.size() + " rusak)");
+            return daftarKegiatan;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat memuat data: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
     /**
      * Parse satu baris data menjadi objek Kegiatan
+     * (tanpa regex, lihat LineTokenizer). Checksum baris dicek dulu kalau ada.
+     */
+    static Kegiatan parseLine(String line) {
+        return parseLine(line, false);
+    }
+
+    /**
+     * Parse baris dari file data bertanda LineChecksum.HEADER (sealed): checksum wajib ada
      */
-    private static Kegiatan parseLine(String line) {
-        String[] parts = line.split("\\" + SEPARATOR);
+    static Kegiatan parseLine(String line, boolean sealed) {
+        LineTokenizer fields = LineTokenizer.forLine(LineChecksum.verify(line, sealed));
 
-        if (parts.length < 7) {
+        if (fields.fieldCount() < 7) {
             throw new IllegalArgumentException("Format data tidak valid");
         }
 
-        int id = Integer.parseInt(parts[0]);
-        String type = parts[1];
-        String judul = parts[2];
-        LocalDate tanggal = LocalDate.parse(parts[3]);
-        LocalTime waktuMulai = LocalTime.parse(parts[4]);
-        LocalTime waktuSelesai = LocalTime.parse(parts[5]);
-        String status = parts[6];
+        int id = fields.intField(0);
+        String judul = fields.field(2);
+        LocalDate tanggal = fields.dateField(3);
+        LocalTime waktuMulai = fields.timeField(4);
+        LocalTime waktuSelesai = fields.timeField(5);
 
         Kegiatan kegiatan = null;
 
-        switch (type) {
-            case "KegiatanBelajar":
-                if (parts.length >= 9) {
-                    String mataKuliah = parts[7];
-                    String topik = parts[8];
-                    kegiatan = new KegiatanBelajar(id, judul, tanggal, waktuMulai,
-                            waktuSelesai, mataKuliah, topik);
-                }
-                break;
-
-            case "KegiatanTugas":
-                if (parts.length >= 11) {
-                    String mataKuliah = parts[7];
-                    LocalDate deadline = LocalDate.parse(parts[8]);
-                    String prioritas = parts[9];
-                    int progress = Integer.parseInt(parts[10]);
-
-                    KegiatanTugas kt = new KegiatanTugas(id, judul, tanggal, waktuMulai,
-                            waktuSelesai, mataKuliah, deadline, prioritas);
-                    kt.updateProgress(progress);
-                    kegiatan = kt;
-                }
-                break;
-
-            case "KegiatanUjian":
-                if (parts.length >= 11) {
-                    String mataKuliah = parts[7];
-                    String ruangan = parts[8];
-                    String jenisUjian = parts[9];
-                    String materiUjian = parts[10];
-
-                    kegiatan = new KegiatanUjian(id, judul, tanggal, waktuMulai,
-                            waktuSelesai, mataKuliah, ruangan,
-                            jenisUjian, materiUjian);
-                }
-                break;
+        if (fields.fieldEquals(1, "KegiatanBelajar")) {
+            if (fields.fieldCount() >= 9) {
+                String mataKuliah = fields.field(7);
+                String topik = fields.field(8);
+                kegiatan = new KegiatanBelajar(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, mataKuliah, topik);
+            }
+
+        } else if (fields.fieldEquals(1, "KegiatanTugas")) {
+            if (fields.fieldCount() >= 11) {
+                String mataKuliah = fields.field(7);
+                LocalDate deadline = fields.dateField(8);
+                String prioritas = fields.field(9);
+                int progress = fields.intField(10);
+
+                KegiatanTugas kt = new KegiatanTugas(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, mataKuliah, deadline, prioritas);
+                kt.updateProgress(progress);
+                kegiatan = kt;
+            }
+
+        } else if (fields.fieldEquals(1, "KegiatanUjian")) {
+            if (fields.fieldCount() >= 11) {
+                String mataKuliah = fields.field(7);
+                String ruangan = fields.field(8);
+                String jenisUjian = fields.field(9);
+                String materiUjian = fields.field(10);
+
+                kegiatan = new KegiatanUjian(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, mataKuliah, ruangan,
+                        jenisUjian, materiUjian);
+            }
         }
 
         if (kegiatan != null) {
-            kegiatan.ubahStatus(status);
+            kegiatan.ubahStatus(fields.field(6));
         }
 
         return kegiatan;
@@ -172,7 +559,7 @@ public class DataManager {
     /**
      * Dapatkan tipe kegiatan (class name)
      */
-    private static String getKegiatanType(Kegiatan k) {
+    static String getKegiatanType(Kegiatan k) {
         if (k instanceof KegiatanBelajar) return "KegiatanBelajar";
         if (k instanceof KegiatanTugas) return "KegiatanTugas";
         if (k instanceof KegiatanUjian) return "KegiatanUjian";
@@ -183,39 +570,50 @@ public class DataManager {
      * Cek apakah file data ada
      */
     public static boolean dataFileExists() {
-        return new File(DATA_FILE).exists();
+        return new File(getDataFile()).exists();
     }
 
     /**
      * Hapus file data (reset)
      */
     public static boolean clearData() {
-        File file = new File(DATA_FILE);
-        if (file.exists()) {
-            return file.delete();
-        }
-        return true;
+        return getStore().deleteAll();
     }
 
     /**
      * Backup data ke file lain
      */
     public static boolean backupData(String backupFileName) {
-        try {
-            File source = new File(DATA_FILE);
-            File dest = new File(backupFileName);
-
-            if (!source.exists()) {
-                return false;
-            }
+        return backupData(backupFileName, false);
+    }
 
-            try (BufferedReader reader = new BufferedReader(new FileReader(source));
-                 BufferedWriter writer = new BufferedWriter(new FileWriter(dest))) {
+    /**
+     * Backup data, opsional dikompres (format gzip, bisa dibuka dengan gunzip)
+     */
+    public static boolean backupData(String backupFileName, boolean compress) {
+        return getStore().backup(backupFileName, compress);
+    }
 
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    writer.write(line);
-                    writer.newLine();
+    /**
+     * Salin satu file data apa adanya (atau dikompres) ke file backup
+     */
+    static boolean backupFile(String sourceFileName, String backupFileName, boolean compress) {
+        try (FileChannel in = FileChannel.open(Paths.get(sourceFileName), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(Paths.get(backupFileName), StandardOpenOption.CREATE,
+                     StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            if (compress) {
+                compressTo(in, out);
+            } else {
+                // Salin byte apa adanya lewat kernel (zero-copy kalau OS mendukung)
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    long copied = in.transferTo(position, size - position, out);
+                    if (copied <= 0) {
+                        break;
+                    }
+                    position += copied;
                 }
             }
 
@@ -229,51 +627,52 @@ public class DataManager {
     }
 
     /**
-     * Export ke format CSV
+     * Tulis backup dari isi yang dibuat sendiri (misalnya gabungan partisi)
      */
-    public static boolean exportToCSV(List<Kegiatan> daftarKegiatan, String fileName) {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fileName))) {
-
-            // Header CSV
-            writer.write("ID,Tipe,Judul,Tanggal,Waktu Mulai,Waktu Selesai,Status,Mata Kuliah,Detail");
-            writer.newLine();
-
-            for (Kegiatan k : daftarKegiatan) {
-                StringBuilder line = new StringBuilder();
-                line.append(k.getId()).append(",");
-                line.append(getKegiatanType(k)).append(",");
-                line.append("\"").append(k.getJudul()).append("\",");
-                line.append(k.getTanggal()).append(",");
-                line.append(k.getWaktuMulai()).append(",");
-                line.append(k.getWaktuSelesai()).append(",");
-                line.append(k.getStatus()).append(",");
-
-                if (k instanceof KegiatanBelajar) {
-                    KegiatanBelajar kb = (KegiatanBelajar) k;
-                    line.append("\"").append(kb.getMataKuliah()).append("\",");
-                    line.append("\"").append(kb.getTopik()).append("\"");
-                } else if (k instanceof KegiatanTugas) {
-                    KegiatanTugas kt = (KegiatanTugas) k;
-                    line.append("\"").append(kt.getMataKuliah()).append("\",");
-                    line.append("Deadline: ").append(kt.getDeadline())
-                            .append(" | Progress: ").append(kt.getProgress()).append("%");
-                } else if (k instanceof KegiatanUjian) {
-                    KegiatanUjian ku = (KegiatanUjian) k;
-                    line.append("\"").append(ku.getMataKuliah()).append("\",");
-                    line.append("\"").append(ku.getRuangan()).append(" | ")
-                            .append(ku.getJenisUjian()).append("\"");
+    static boolean writeBackup(String backupFileName, boolean compress, DataWriter content) {
+        try (OutputStream file = new BufferedOutputStream(new FileOutputStream(backupFileName), BACKUP_BUFFER_SIZE)) {
+            OutputStream out = compress ? new GZIPOutputStream(file, BACKUP_BUFFER_SIZE) {
+                {
+                    def.setLevel(Deflater.BEST_SPEED);
                 }
-
-                writer.write(line.toString());
-                writer.newLine();
+            } : file;
+            content.write(out);
+            if (out instanceof GZIPOutputStream) {
+                ((GZIPOutputStream) out).finish();
             }
 
-            System.out.println("✅ Export CSV berhasil ke " + fileName);
+            System.out.println("✅ Backup berhasil ke " + backupFileName);
             return true;
 
         } catch (IOException e) {
-            System.err.println("❌ Error saat export CSV: " + e.getMessage());
+            System.err.println("❌ Error saat backup: " + e.getMessage());
             return false;
         }
     }
+
+    /**
+     * Kompres isi file secara streaming; level BEST_SPEED supaya backup tetap dibatasi I/O
+     */
+    private static void compressTo(FileChannel in, FileChannel out) throws IOException {
+        byte[] buffer = new byte[BACKUP_BUFFER_SIZE];
+        InputStream input = Channels.newInputStream(in);
+        GZIPOutputStream gzip = new GZIPOutputStream(Channels.newOutputStream(out), BACKUP_BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+
+        int read;
+        while ((read = input.read(buffer)) > 0) {
+            gzip.write(buffer, 0, read);
+        }
+        gzip.finish(); // channel ditutup oleh pemanggil
+    }
+
+    /**
+     * Export ke format CSV
+     */
+    public static boolean exportToCSV(List<Kegiatan> daftarKegiatan, String fileName) {
+        return new CsvExporter().export(daftarKegiatan, k -> true, fileName);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,100 @@
+package manager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * DigitParser - Tata bahasa angka, tanggal (yyyy-MM-dd) dan waktu (HH:mm / HH:mm:ss)
+ * yang dihitung langsung dari digit, dipakai bersama LineTokenizer, MappedDataLoader
+ * dan CsvImporter. Sumber karakter bisa String maupun byte buffer, tanpa membuat String.
+ * Bentuk yang tidak dikenali dikembalikan sebagai null / BUKAN_ANGKA, jadi pemanggil yang
+ * memutuskan fallback (LocalDate.parse, Integer.parseInt) dan pesan error-nya.
+ */
+final class DigitParser {
+    /**
+     * Hasil parseInt kalau field bukan bentuk angka yang umum
+     */
+    static final long BUKAN_ANGKA = Long.MIN_VALUE;
+
+    /**
+     * Karakter di posisi tertentu (String::charAt, i -> buffer.get(i), ...)
+     */
+    interface Sumber {
+        int charAt(int index);
+    }
+
+    private DigitParser() {
+    }
+
+    /**
+     * Bilangan bulat desimal (boleh negatif, maks 9 digit)
+     */
+    static long parseInt(Sumber s, int start, int end) {
+        int length = end - start;
+        if (length == 0 || length > 9) {
+            return BUKAN_ANGKA;
+        }
+        boolean negative = length > 1 && s.charAt(start) == '-';
+        int value = 0;
+        for (int i = negative ? start + 1 : start; i < end; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return BUKAN_ANGKA;
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * yyyy-MM-dd, null kalau bentuknya lain. Tanggal yang tidak ada (bulan 13)
+     * tetap melempar DateTimeException seperti LocalDate.parse.
+     */
+    static LocalDate parseDate(Sumber s, int start, int end) {
+        if (end - start == 10 && s.charAt(start + 4) == '-' && s.charAt(start + 7) == '-') {
+            int year = digits(s, start, 4);
+            int month = digits(s, start + 5, 2);
+            int day = digits(s, start + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * HH:mm atau HH:mm:ss, null kalau bentuknya lain
+     */
+    static LocalTime parseTime(Sumber s, int start, int end) {
+        int length = end - start;
+        if ((length == 5 || length == 8) && s.charAt(start + 2) == ':') {
+            int hour = digits(s, start, 2);
+            int minute = digits(s, start + 3, 2);
+            if (length == 5 && hour >= 0 && minute >= 0) {
+                return LocalTime.of(hour, minute);
+            }
+            if (length == 8 && s.charAt(start + 5) == ':') {
+                int second = digits(s, start + 6, 2);
+                if (hour >= 0 && minute >= 0 && second >= 0) {
+                    return LocalTime.of(hour, minute, second);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Baca angka desimal dengan panjang tetap, -1 kalau ada karakter non-digit
+     */
+    private static int digits(Sumber s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package manager;
+
+import model.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * InMemoryStore - Storage engine tanpa file (data hilang saat aplikasi ditutup)
+ * Berguna untuk testing / demo. Backup ke file tetap bisa (format biner),
+ * tapi backup inkremental tidak didukung karena tidak ada file data.
+ */
+public class InMemoryStore implements KegiatanStore {
+    private final List<Kegiatan> data = new ArrayList<>();
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+
+    @Override
+    public boolean isPersistent() {
+        return false;
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public synchronized List<Kegiatan> load() {
+        return new ArrayList<>(data);
+    }
+
+    /**
+     * Stream dari salinan, jadi aman walaupun store diubah selama stream dipakai
+     */
+    @Override
+    public Stream<Kegiatan> stream() {
+        return load().stream();
+    }
+
+    @Override
+    public synchronized boolean saveAll(List<Kegiatan> daftarKegiatan) {
+        data.clear();
+        data.addAll(daftarKegiatan);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean append(Kegiatan kegiatan) {
+        return data.add(kegiatan);
+    }
+
+    @Override
+    public synchronized boolean update(Kegiatan kegiatan) {
+        for (int i = 0; i < data.size(); i++) {
+            if (data.get(i).getId() == kegiatan.getId()) {
+                data.set(i, kegiatan);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean delete(int id) {
+        return data.removeIf(k -> k.getId() == id);
+    }
+
+    @Override
+    public synchronized boolean deleteAll() {
+        data.clear();
+        return true;
+    }
+
+    // ============ BACKUP ============
+
+    @Override
+    public boolean backup(String backupFileName, boolean compress) {
+        List<Kegiatan> snapshot = load();
+        return DataManager.writeBackup(backupFileName, compress, out -> {
+            KegiatanCodec codec = new KegiatanCodec();
+            KegiatanCodec.writeHeader(out);
+            for (Kegiatan k : snapshot) {
+                codec.writeRecord(k, out);
+            }
+        });
+    }
+
+    @Override
+    public String getBackupSourceFile() {
+        return null;
+    }
+
+    @Override
+    public boolean prepareBackupSource() {
+        return false;
+    }
+
+    @Override
+    public boolean finishBackupSource(boolean restored) {
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package manager;
+
+import java.util.Arrays;
+
+/**
+ * IntIndex - Hash map int -> int tanpa boxing (open addressing, linear probing)
+ * Dipakai sebagai index ID kegiatan -> posisi di list, jadi cari/ubah/hapus
+ * berdasarkan ID tidak perlu menelusuri seluruh list.
+ * Hapus memakai backward-shift, jadi tidak ada tombstone yang memperlambat probe.
+ * Tidak thread-safe; pemakai memegang lock sendiri.
+ */
+final class IntIndex {
+    static final int MISSING = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private int[] values; // MISSING = slot kosong (nilai yang disimpan harus >= 0)
+    private int size;
+    private int mask;
+
+    // Constructor
+    IntIndex() {
+        this(MIN_CAPACITY);
+    }
+
+    IntIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Nilai untuk key, MISSING kalau tidak ada
+     */
+    int get(int key) {
+        int slot = slot(key);
+        while (values[slot] != MISSING) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    boolean containsKey(int key) {
+        return get(key) != MISSING;
+    }
+
+    /**
+     * Simpan value (>= 0) untuk key, kembalikan nilai lama atau MISSING
+     */
+    int put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Nilai index harus >= 0: " + value);
+        }
+        int slot = slot(key);
+        while (values[slot] != MISSING) {
+            if (keys[slot] == key) {
+                int old = values[slot];
+                values[slot] = value;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > maxFill(mask + 1)) {
+            rehash(keys.length * 2);
+        }
+        return MISSING;
+    }
+
+    /**
+     * Hapus key, kembalikan nilainya atau MISSING kalau tidak ada
+     */
+    int remove(int key) {
+        int slot = slot(key);
+        while (values[slot] != MISSING) {
+            if (keys[slot] == key) {
+                int old = values[slot];
+                shiftBack(slot);
+                size--;
+                return old;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    void clear() {
+        Arrays.fill(values, MISSING);
+        size = 0;
+    }
+
+    /**
+     * Isi slot kosong dengan entri sesudahnya yang probe-nya melewati slot itu
+     */
+    private void shiftBack(int hole) {
+        int slot = hole;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == MISSING) {
+                break;
+            }
+            int home = slot(keys[slot]);
+            // Entri boleh pindah ke hole kalau home-nya tidak berada di antara (hole, slot]
+            boolean antara = hole <= slot ? (hole < home && home <= slot) : (hole < home || home <= slot);
+            if (!antara) {
+                keys[hole] = keys[slot];
+                values[hole] = values[slot];
+                hole = slot;
+            }
+        }
+        values[hole] = MISSING;
+    }
+
+    private int slot(int key) {
+        int h = key * 0x9E3779B9; // Fibonacci hashing: ID berurutan tersebar rata
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != MISSING) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != MISSING) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+        mask = capacity - 1;
+    }
+
+    // Load factor 0.75
+    private static int maxFill(int capacity) {
+        return capacity - (capacity >>> 2);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (maxFill(capacity) < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,476 @@
+package manager;
+
+import model.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32C;
+
+/**
+ * IntegrityChecker - Pemeriksaan integritas file data (fsck) tanpa memuat data
+ * File dibagi per chunk dan setiap chunk diperiksa paralel, jadi cukup cepat untuk
+ * dijalankan setiap startup walaupun file berukuran GB. Seperti saat load, hanya file
+ * besar yang di-mapping; file kecil dibaca ke heap supaya save berikutnya (rename
+ * atomik) tidak terhalang mapping yang belum dilepas GC di Windows.
+ *
+ * biner versi 2  : frame + CRC32C setiap record; chunk mencari awal record sendiri (resync)
+ * biner versi 1  : tidak punya checksum, record di-decode berurutan
+ * teks           : checksum per baris ("|#crc", lihat LineChecksum). Di file bertanda
+ *                  LineChecksum.HEADER baris tanpa checksum dihitung rusak; di file lama
+ *                  baris itu di-parse supaya baris yang tidak valid tetap ketahuan
+ * folder partisi : setiap file .part diperiksa seperti file biner
+ *
+ * Hasilnya daftar range byte yang rusak, jadi jelas berapa banyak data yang hilang.
+ */
+public class IntegrityChecker {
+    private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024; // 64 MB
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;       // 1 MB
+    // Record / baris yang melewati batas chunk tetap dibaca sampai selesai
+    private static final int MAX_OVERRUN = KegiatanCodec.MAX_RECORD_SIZE + 16;
+
+    private final ForkJoinPool pool;
+
+    // Constructor
+    public IntegrityChecker() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public IntegrityChecker(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Satu range byte yang rusak
+     */
+    public static class CorruptRange {
+        private final String fileName;
+        private final long start;
+        private final long end;
+        private final String reason;
+
+        CorruptRange(String fileName, long start, long end, String reason) {
+            this.fileName = fileName;
+            this.start = start;
+            this.end = end;
+            this.reason = reason;
+        }
+
+        public String getFileName() { return fileName; }
+        public long getStart() { return start; }
+        public long getEnd() { return end; }
+        public long getLength() { return end - start; }
+        public String getReason() { return reason; }
+
+        @Override
+        public String toString() {
+            return fileName + " byte " + start + "-" + end + " (" + reason + ")";
+        }
+    }
+
+    /**
+     * Hasil pemeriksaan satu file / folder data
+     */
+    public static class Report {
+        private final String fileName;
+        private final List<CorruptRange> corruptRanges = new ArrayList<>();
+        private long fileSize;
+        private long records;
+        private long unverified;
+        private long elapsedMs;
+
+        Report(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() { return fileName; }
+        public long getFileSize() { return fileSize; }
+        public long getRecordCount() { return records; }
+        public long getUnverifiedCount() { return unverified; }
+        public long getElapsedMs() { return elapsedMs; }
+
+        public List<CorruptRange> getCorruptRanges() {
+            return Collections.unmodifiableList(corruptRanges);
+        }
+
+        public boolean isClean() {
+            return corruptRanges.isEmpty();
+        }
+
+        public long getCorruptBytes() {
+            long total = 0;
+            for (CorruptRange range : corruptRanges) {
+                total += range.getLength();
+            }
+            return total;
+        }
+
+        void addCorrupt(String file, long start, long end, String reason) {
+            if (end > start) {
+                corruptRanges.add(new CorruptRange(file, start, end, reason));
+            }
+        }
+
+        /**
+         * Urutkan dan gabungkan range yang bersambung (misalnya beberapa baris rusak berurutan)
+         */
+        void coalesce() {
+            corruptRanges.sort(Comparator.comparing(CorruptRange::getFileName)
+                    .thenComparingLong(CorruptRange::getStart));
+            List<CorruptRange> merged = new ArrayList<>();
+            for (CorruptRange range : corruptRanges) {
+                CorruptRange last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && last.fileName.equals(range.fileName) && last.end >= range.start
+                        && last.reason.equals(range.reason)) {
+                    merged.set(merged.size() - 1, new CorruptRange(last.fileName, last.start,
+                            Math.max(last.end, range.end), last.reason));
+                } else {
+                    merged.add(range);
+                }
+            }
+            corruptRanges.clear();
+            corruptRanges.addAll(merged);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("Pemeriksaan " + fileName + ": " + records + " record utuh");
+            if (unverified > 0) {
+                sb.append(" (").append(unverified).append(" tanpa checksum)");
+            }
+            sb.append(", ").append(corruptRanges.size()).append(" range rusak (")
+                    .append(getCorruptBytes()).append(" byte), ").append(elapsedMs).append(" ms");
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Report kosong untuk store yang tidak punya file data
+     */
+    static Report emptyReport(String name) {
+        return new Report(name);
+    }
+
+    // ============ CHECK ============
+
+    /**
+     * Periksa file data (biner / teks) atau folder partisi
+     */
+    public Report check(String path) {
+        long startTime = System.nanoTime();
+        Report report = new Report(path);
+        Path target = Paths.get(path);
+
+        try {
+            if (Files.isDirectory(target)) {
+                List<Path> parts = new ArrayList<>();
+                try (DirectoryStream<Path> stream = Files.newDirectoryStream(target, "*.part")) {
+                    for (Path part : stream) {
+                        parts.add(part);
+                    }
+                }
+                Collections.sort(parts);
+                for (Path part : parts) {
+                    checkFile(part, report);
+                }
+            } else if (Files.exists(target)) {
+                checkFile(target, report);
+            }
+        } catch (IOException e) {
+            report.addCorrupt(path, 0, Math.max(1, report.fileSize), "tidak bisa dibaca: " + e.getMessage());
+        }
+
+        report.coalesce();
+        report.elapsedMs = (System.nanoTime() - startTime) / 1_000_000;
+        return report;
+    }
+
+    private void checkFile(Path path, Report report) throws IOException {
+        String file = path.toString();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            report.fileSize += size;
+
+            ByteBuffer head = ByteBuffer.allocate(PartitionStore.HEADER_SIZE);
+            while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+                // baca sampai header lengkap (atau file habis)
+            }
+            head.flip();
+
+            if (startsWith(head, KegiatanCodec.MAGIC)) {
+                checkBinary(channel, file, head, KegiatanCodec.HEADER_SIZE, size, report);
+            } else if (startsWith(head, PartitionStore.MAGIC)) {
+                checkBinary(channel, file, head, PartitionStore.HEADER_SIZE, size, report);
+            } else {
+                checkText(channel, file, size, report);
+            }
+        }
+    }
+
+    private void checkBinary(FileChannel channel, String file, ByteBuffer head, int dataStart,
+                             long size, Report report) throws IOException {
+        if (head.remaining() < dataStart) {
+            report.addCorrupt(file, 0, size, "header terpotong");
+            return;
+        }
+        int version = head.get(KegiatanCodec.MAGIC.length) & 0xFF;
+        if (version > KegiatanCodec.VERSION) {
+            report.addCorrupt(file, 0, size, "versi tidak didukung: " + version);
+        } else if (version >= 2) {
+            checkFrames(channel, file, dataStart, size, report);
+        } else {
+            checkLegacyBinary(channel, file, dataStart, size, report);
+        }
+    }
+
+    private static boolean startsWith(ByteBuffer head, byte[] magic) {
+        if (head.remaining() < magic.length) {
+            return false;
+        }
+        for (int i = 0; i < magic.length; i++) {
+            if (head.get(i) != magic[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ============ BINER ============
+
+    private static class ChunkResult {
+        final List<CorruptRange> ranges = new ArrayList<>();
+        long firstStart = -1;
+        long lastEnd = -1;
+        long records;
+        long unverified;
+    }
+
+    /**
+     * Setiap chunk memeriksa frame yang mulai di dalam chunk-nya. Celah antara
+     * frame valid terakhir satu chunk dan frame valid pertama chunk berikutnya
+     * juga dihitung rusak.
+     */
+    private void checkFrames(FileChannel channel, String file, long dataStart, long size,
+                             Report report) throws IOException {
+        long previousEnd = dataStart;
+        for (ChunkResult result : runChunks(dataStart, size,
+                (start, end) -> scanFrames(channel, file, start, end, size))) {
+            if (result.firstStart < 0) {
+                continue;
+            }
+            report.addCorrupt(file, previousEnd, result.firstStart, "record rusak");
+            report.corruptRanges.addAll(result.ranges);
+            report.records += result.records;
+            previousEnd = Math.max(previousEnd, result.lastEnd);
+        }
+        report.addCorrupt(file, previousEnd, size, "record rusak / terpotong di akhir file");
+    }
+
+    private static ChunkResult scanFrames(FileChannel channel, String file, long start, long end,
+                                          long size) throws IOException {
+        long mapEnd = Math.min(size, end + MAX_OVERRUN);
+        ByteBuffer buf = DataManager.readRegion(channel, start, mapEnd - start);
+        int ownEnd = (int) (end - start);
+        CRC32C crc = new CRC32C();
+        ChunkResult result = new ChunkResult();
+
+        int pos = KegiatanCodec.resync(buf, 0, ownEnd, false, crc);
+        while (pos >= 0 && pos < ownEnd) {
+            int length = KegiatanCodec.checkFrame(buf, pos, crc);
+            if (length > 0) {
+                if (result.firstStart < 0) {
+                    result.firstStart = start + pos;
+                }
+                result.records++;
+                pos += length;
+                result.lastEnd = start + pos;
+                continue;
+            }
+
+            int next = KegiatanCodec.resync(buf, pos + 1, ownEnd, false, crc);
+            if (next < 0) {
+                break; // sisa chunk rusak, dihitung saat hasil chunk digabung
+            }
+            result.ranges.add(new CorruptRange(file, start + pos, start + next, "record rusak"));
+            pos = next;
+        }
+        return result;
+    }
+
+    /**
+     * Versi 1 tidak punya checksum / frame: decode berurutan sampai record rusak pertama
+     */
+    private static void checkLegacyBinary(FileChannel channel, String file, int dataStart, long size,
+                                          Report report) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("File biner versi lama lebih dari 2 GB");
+        }
+        ByteBuffer buf = DataManager.readRegion(channel, 0, size);
+        buf.position(dataStart);
+        KegiatanCodec codec = new KegiatanCodec(1);
+
+        while (buf.hasRemaining()) {
+            int recordStart = buf.position();
+            try {
+                codec.readRecord(buf);
+                report.records++;
+                report.unverified++;
+            } catch (RuntimeException e) {
+                report.addCorrupt(file, recordStart, size, "record rusak, format lama tanpa checksum");
+                return;
+            }
+        }
+    }
+
+    // ============ TEKS ============
+
+    /**
+     * Setiap chunk memeriksa baris yang mulai di dalam chunk-nya
+     */
+    private void checkText(FileChannel channel, String file, long size, Report report) throws IOException {
+        boolean sealed = LineChecksum.isSealed(channel);
+        for (ChunkResult result : runChunks(0, size, (start, end) -> scanLines(channel, file, start, end, size, sealed))) {
+            report.corruptRanges.addAll(result.ranges);
+            report.records += result.records;
+            report.unverified += result.unverified;
+        }
+    }
+
+    private static ChunkResult scanLines(FileChannel channel, String file, long start, long end,
+                                         long size, boolean sealed) throws IOException {
+        // Petakan mulai 1 byte sebelum chunk untuk tahu apakah chunk mulai di awal baris
+        long base = start > 0 ? start - 1 : 0;
+        long mapEnd = Math.min(size, end + MAX_OVERRUN);
+        ByteBuffer buf = DataManager.readRegion(channel, base, mapEnd - base);
+        int ownEnd = (int) (end - base);
+        int limit = buf.limit();
+        Charset charset = Charset.defaultCharset();
+        CRC32C crc = new CRC32C();
+        ChunkResult result = new ChunkResult();
+
+        int pos = 0;
+        if (start > 0) {
+            // Baris yang terpotong di awal chunk milik chunk sebelumnya
+            int newline = indexOf(buf, 0, limit);
+            pos = newline < 0 ? limit : newline + 1;
+        }
+
+        while (pos < ownEnd) {
+            int lineEnd = indexOf(buf, pos, limit);
+            if (lineEnd < 0) {
+                if (mapEnd < size) {
+                    result.ranges.add(new CorruptRange(file, base + pos, mapEnd, "baris terlalu panjang"));
+                    break;
+                }
+                lineEnd = limit;
+            }
+            int contentEnd = lineEnd > pos && buf.get(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+
+            if (contentEnd > pos && !(base + pos == 0 && LineChecksum.isHeader(buf, pos, contentEnd))) {
+                String reason = checkLine(buf, pos, contentEnd, charset, crc, sealed, result);
+                if (reason != null) {
+                    result.ranges.add(new CorruptRange(file, base + pos, base + Math.min(limit, lineEnd + 1), reason));
+                }
+            }
+            pos = lineEnd + 1;
+        }
+        return result;
+    }
+
+    /**
+     * Kembalikan alasan kalau baris rusak, null kalau baris utuh
+     */
+    private static String checkLine(ByteBuffer buf, int start, int end, Charset charset,
+                                    CRC32C crc, boolean sealed, ChunkResult result) {
+        if (LineChecksum.hasChecksum(buf, start, end)) {
+            if (LineChecksum.verify(buf, start, end, crc, sealed) < 0) {
+                return "checksum baris tidak cocok";
+            }
+            result.records++;
+            return null;
+        }
+        if (sealed) {
+            // Misalnya potongan record yang terbelah newline
+            return "baris tanpa checksum di file ber-checksum";
+        }
+
+        // Baris lama tanpa checksum: cukup pastikan bisa di-parse
+        byte[] bytes = new byte[end - start];
+        buf.get(start, bytes);
+        try {
+            Kegiatan kegiatan = DataManager.parseLine(new String(bytes, charset));
+            if (kegiatan == null) {
+                return "tipe kegiatan / jumlah field tidak valid";
+            }
+        } catch (RuntimeException e) {
+            return "format baris tidak valid";
+        }
+        result.records++;
+        result.unverified++;
+        return null;
+    }
+
+    private static int indexOf(ByteBuffer buf, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buf.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ============ CHUNKS ============
+
+    private interface ChunkScanner {
+        ChunkResult scan(long start, long end) throws IOException;
+    }
+
+    /**
+     * Bagi [start, end) menjadi chunk, periksa paralel, hasil dikembalikan urut posisi
+     */
+    private List<ChunkResult> runChunks(long start, long end, ChunkScanner scanner) throws IOException {
+        long length = end - start;
+        if (length <= 0) {
+            return new ArrayList<>();
+        }
+        long chunkSize = length / (pool.getParallelism() * 4L) + 1;
+        chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, chunkSize));
+
+        List<Future<ChunkResult>> futures = new ArrayList<>();
+        for (long from = start; from < end; from += chunkSize) {
+            long chunkStart = from;
+            long chunkEnd = Math.min(end, from + chunkSize);
+            futures.add(pool.submit(() -> scanner.scan(chunkStart, chunkEnd)));
+        }
+
+        List<ChunkResult> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<ChunkResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IOException(e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Pemeriksaan dibatalkan");
+        } finally {
+            for (Future<ChunkResult> future : futures) {
+                future.cancel(true);
+            }
+        }
+        return results;
+    }
+}
\ No newline at end of file
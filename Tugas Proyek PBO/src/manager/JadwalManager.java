@@ -1,38 +1,150 @@
 package manager;
 
 import model.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * JadwalManager (UPDATED)
  * Mengelola semua operasi CRUD untuk kegiatan
- * + AUTO-SAVE setiap ada perubahan data
+ * + AUTO-SAVE setiap ada perubahan data (via journal, append-only)
+ * + COMPACTION journal ke snapshot di background
+ * + Mode auto-save: SYNC, DEBOUNCED (background writer) atau JOURNAL
+ * + Pemeriksaan integritas (checksum) file data saat startup, perbaikan dari backup
+ * + Field berulang (mataKuliah, status, ...) di-dedup lewat StringPool saat load
+ * + HOT RELOAD: perubahan file data / journal dari luar aplikasi diterapkan tanpa restart
+ * + Index ID -> posisi (DaftarBerurut): cari, edit & hapus berdasarkan ID O(1), urutan tetap
+ * + Index tanggal (TanggalIndex): query rentang tanggal O(log n + k), terurut waktuMulai
+ * + Index mata kuliah (MataKuliahIndex): query per mata kuliah tanpa scan semua data
+ * + Daftar per jenis (KegiatanPerJenis): view O(1) untuk query & statistik, getter berupa salinan
+ * + Index pencarian (PencarianIndex): inverted index token + prefix untuk searchKegiatan
+ * + Pencarian toleran typo (TrigramIndex): cariMirip, top-k berdasarkan kemiripan trigram
+ * + Pencarian berperingkat: cariRanking, top-k BM25 (judul & mata kuliah diberi bobot lebih)
+ * + Query gabungan (KegiatanQuery): planner memilih index paling selektif, hasil berupa cursor
  */
 public class JadwalManager {
-    private List<Kegiatan> daftarKegiatan;
+
+    /**
+     * Cara perubahan data disimpan ke disk
+     * SYNC      : tulis snapshot penuh setiap ada perubahan (langsung, di thread pemanggil)
+     * DEBOUNCED : rentetan perubahan digabung jadi satu tulisan snapshot di background
+     * JOURNAL   : perubahan di-append ke journal, snapshot ditulis saat compaction
+     */
+    public enum AutoSaveMode { SYNC, DEBOUNCED, JOURNAL }
+
+    // -Djadwal.fsck=off mematikan pemeriksaan integritas saat startup
+    private static final String FSCK_PROPERTY = "jadwal.fsck";
+    private static final String CORRUPT_COPY_FILE = "jadwal_data.corrupt";
+    // -Djadwal.watch=off mematikan hot reload
+    private static final String WATCH_PROPERTY = "jadwal.watch";
+    // Kemiripan trigram minimal agar token dianggap salah ketik dari kata kunci
+    private static final double MIRIP_MINIMAL = 0.3;
+
+    // Urut penambahan; cari, ganti & hapus berdasarkan ID O(1)
+    private DaftarBerurut<Kegiatan> daftarKegiatan;
+    private final TanggalIndex tanggalIndex = new TanggalIndex();
+    private final MataKuliahIndex mataKuliahIndex = new MataKuliahIndex();
+    private final KegiatanPerJenis<KegiatanBelajar> daftarBelajar = new KegiatanPerJenis<>(KegiatanBelajar.class);
+    private final KegiatanPerJenis<KegiatanTugas> daftarTugas = new KegiatanPerJenis<>(KegiatanTugas.class);
+    private final KegiatanPerJenis<KegiatanUjian> daftarUjian = new KegiatanPerJenis<>(KegiatanUjian.class);
+    private final PencarianIndex pencarianIndex = new PencarianIndex();
+    // Naik setiap kali isi list / index berubah (tambah, hapus, edit, ganti semua), untuk cursor KegiatanQuery
+    private int versi;
     private int nextId;
-    private boolean autoSaveEnabled = true;
+    private volatile boolean autoSaveEnabled = true;
+    private volatile AutoSaveMode autoSaveMode = AutoSaveMode.JOURNAL;
+    // Ada perubahan yang dibuat saat auto-save mati dan belum tersimpan
+    private boolean unsavedChanges;
+    // ID yang diubah sejak unsavedChanges terpasang; saat file diganti dari luar,
+    // versi lokal ID ini yang dipertahankan (semua, kalau hapus semua belum tersimpan)
+    private final Set<Integer> idBelumTersimpan = new HashSet<>();
+    private boolean hapusSemuaBelumTersimpan;
+    // Naik setiap perubahan lokal (termasuk ubah status), untuk mendeteksi perubahan selama reload
+    private int perubahanLokal;
+    // Batas muat ulang di luar lock sebelum akhirnya dimuat di dalam lock
+    private static final int MAKS_COBA_RELOAD = 3;
+    private final KegiatanStore store;
+    private final JournalManager journal;
+    private final CompactionManager compaction;
+    private final AutoSaveWriter autoSaveWriter;
+    private final BackupStore backupStore = new BackupStore();
+    private int backupKeepLast = 14;
+    private int backupKeepDays = 30;
+    private volatile DataFileWatcher watcher;
+    private final List<KegiatanChangeEvent.Listener> changeListeners = new CopyOnWriteArrayList<>();
 
-    // Constructor - AUTO LOAD data
+    // Constructor - AUTO LOAD data, storage dipilih lewat -Djadwal.store (default binary)
     public JadwalManager() {
-        this.daftarKegiatan = new ArrayList<>();
+        this(KegiatanStore.fromSystemProperty());
+    }
+
+    public JadwalManager(KegiatanStore store) {
+        this.store = store;
+        this.journal = store.isPersistent() ? new JournalManager() : new JournalManager(tempJournalFile());
+        this.compaction = new CompactionManager(this, () -> new ArrayList<>(daftarKegiatan), journal, store);
+        this.autoSaveWriter = new AutoSaveWriter(this::saveData);
+        compaction.setAfterCompaction(this::tandaiTulisanSendiri);
+        if (!store.isPersistent()) {
+            // Snapshot ke memori murah, journal tidak ada gunanya
+            this.autoSaveMode = AutoSaveMode.SYNC;
+        }
+
+        this.daftarKegiatan = new DaftarBerurut<>();
         this.nextId = 1;
         loadData(); // AUTO-LOAD saat startup
+        if (store.isPersistent() && !"off".equalsIgnoreCase(System.getProperty(FSCK_PROPERTY))) {
+            periksaIntegritas();
+        }
+        compaction.start();
+        if (!"off".equalsIgnoreCase(System.getProperty(WATCH_PROPERTY))) {
+            setHotReload(true);
+        }
+    }
+
+    /**
+     * Store tanpa file tidak boleh menyentuh journal milik data di disk
+     */
+    private static String tempJournalFile() {
+        File file = new File(System.getProperty("java.io.tmpdir"),
+                "jadwal_journal_" + System.nanoTime() + ".txt");
+        file.deleteOnExit();
+        return file.getPath();
+    }
+
+    /**
+     * Storage engine yang dipakai
+     */
+    public KegiatanStore getStore() {
+        return store;
     }
 
     // ============ AUTO SAVE/LOAD ============
 
     /**
-     * Load data dari file saat startup
+     * Load data dari file saat startup (snapshot + replay journal)
      */
-    public void loadData() {
-        List<Kegiatan> loadedData = DataManager.loadData();
+    public synchronized void loadData() {
+        List<Kegiatan> loadedData = journal.replay(store.load());
 
         if (!loadedData.isEmpty()) {
-            this.daftarKegiatan = loadedData;
+            gantiDaftarKegiatan(loadedData);
 
             // Update nextId berdasarkan ID tertinggi
             int maxId = loadedData.stream()
@@ -40,51 +152,692 @@ public class JadwalManager {
                     .max()
                     .orElse(0);
             this.nextId = maxId + 1;
+
+            if (StringPool.getHits() > 0) {
+                System.out.println("ℹ️  " + StringPool.getReport());
+            }
+        }
+    }
+
+    /**
+     * Manual save - tulis snapshot penuh lalu buang journal (compaction langsung)
+     */
+    public boolean saveData() {
+        return compaction.compactNow();
+    }
+
+    /**
+     * Catat perubahan (dipanggil di dalam lock data, setelah data diubah).
+     * Mode JOURNAL meng-append record; mode lain cukup menulis snapshot di autoSave().
+     */
+    private void recordChange(int id, BooleanSupplier journalAppend) {
+        perubahanLokal++;
+        if (!autoSaveEnabled) {
+            tandaiBelumTersimpan(id);
+        } else if (autoSaveMode == AutoSaveMode.JOURNAL) {
+            if (!journalAppend.getAsBoolean()) {
+                tandaiBelumTersimpan(id); // journal gagal, snapshot berikutnya yang menyimpan
+            }
+            tandaiTulisanSendiri();
         }
     }
 
     /**
-     * Save data ke file (AUTO-SAVE setiap perubahan)
+     * Catat ID yang belum tersimpan (id < 0: semua kegiatan dihapus)
+     */
+    private void tandaiBelumTersimpan(int id) {
+        unsavedChanges = true;
+        if (id < 0) {
+            hapusSemuaBelumTersimpan = true;
+            idBelumTersimpan.clear();
+        } else {
+            idBelumTersimpan.add(id);
+        }
+    }
+
+    private void bersihkanBelumTersimpan() {
+        unsavedChanges = false;
+        idBelumTersimpan.clear();
+        hapusSemuaBelumTersimpan = false;
+    }
+
+    /**
+     * Simpan perubahan sesuai mode auto-save.
+     * Dipanggil di luar lock data supaya penulisan snapshot tidak menahan operasi lain.
      */
     private void autoSave() {
-        if (autoSaveEnabled) {
-            DataManager.saveData(daftarKegiatan);
+        if (!autoSaveEnabled) {
+            return;
+        }
+        switch (autoSaveMode) {
+            case SYNC:
+                saveData();
+                break;
+            case DEBOUNCED:
+                autoSaveWriter.requestSave();
+                break;
+            case JOURNAL:
+                saveIfUnsaved();
+                compaction.checkThreshold();
+                break;
         }
     }
 
     /**
-     * Manual save (bisa dipanggil manual juga)
+     * Paksa semua perubahan yang masih tertunda (mode DEBOUNCED) ditulis sekarang.
+     * Otomatis dipanggil juga saat aplikasi ditutup.
      */
-    public boolean saveData() {
-        return DataManager.saveData(daftarKegiatan);
+    public boolean flush() {
+        return autoSaveWriter.flush();
+    }
+
+    /**
+     * Atur kapan journal di-compact (ukuran dalam byte, umur dalam ms)
+     */
+    public void setCompactionThreshold(long maxJournalBytes, long maxJournalAgeMs) {
+        compaction.setThreshold(maxJournalBytes, maxJournalAgeMs);
+    }
+
+    /**
+     * Atur lebar jendela debounce untuk mode DEBOUNCED (ms)
+     */
+    public void setAutoSaveDebounce(long debounceMs) {
+        autoSaveWriter.setDebounceWindow(debounceMs);
     }
 
     /**
-     * Toggle auto-save
+     * Toggle auto-save (mode tetap seperti sebelumnya)
      */
     public void setAutoSave(boolean enabled) {
+        if (!enabled) {
+            flush(); // jangan tinggalkan perubahan tertunda saat auto-save dimatikan
+        }
         this.autoSaveEnabled = enabled;
+        saveIfUnsaved();
+    }
+
+    /**
+     * Aktifkan auto-save dengan mode tertentu
+     */
+    public void setAutoSave(AutoSaveMode mode) {
+        flush(); // selesaikan tulisan tertunda dari mode lama
+        this.autoSaveMode = mode;
+        this.autoSaveEnabled = true;
+        saveIfUnsaved();
+    }
+
+    public AutoSaveMode getAutoSaveMode() {
+        return autoSaveMode;
+    }
+
+    /**
+     * Perubahan yang belum pernah tersimpan (auto-save mati / journal gagal)
+     * ditulis lewat snapshot penuh begitu auto-save aktif lagi
+     */
+    private void saveIfUnsaved() {
+        boolean pending;
+        List<Integer> ids;
+        boolean hapusSemua;
+        synchronized (this) {
+            pending = autoSaveEnabled && unsavedChanges;
+            ids = new ArrayList<>(idBelumTersimpan);
+            hapusSemua = hapusSemuaBelumTersimpan;
+            bersihkanBelumTersimpan();
+        }
+        if (pending && !saveData()) {
+            synchronized (this) {
+                if (hapusSemua) {
+                    tandaiBelumTersimpan(-1);
+                }
+                ids.forEach(this::tandaiBelumTersimpan);
+            }
+        }
     }
 
     /**
      * Export ke CSV
      */
     public boolean exportToCSV(String fileName) {
-        return DataManager.exportToCSV(daftarKegiatan, fileName);
+        return exportToCSV(fileName, k -> true);
+    }
+
+    /**
+     * Export sebagian data ke CSV (hanya kegiatan yang lolos filter).
+     * List disalin di bawah lock; file ditulis dan filter dijalankan (di thread pool) di luar lock,
+     * jadi filter boleh memanggil method JadwalManager lain.
+     */
+    public boolean exportToCSV(String fileName, Predicate<? super Kegiatan> filter) {
+        return new CsvExporter().export(getDaftarKegiatan(), filter, fileName);
+    }
+
+    /**
+     * Import massal dari CSV (format exportToCSV).
+     * ID dibagikan sekaligus satu blok dari nextId dan semua baris valid
+     * disimpan dengan satu kali tulis snapshot. Baris yang ditolak ada di hasil.
+     */
+    public CsvImporter.ImportResult importFromCSV(String fileName) {
+        CsvImporter.ImportResult result = new CsvImporter().importFile(fileName);
+        List<Kegiatan> imported = result.getKegiatan();
+        if (imported.isEmpty()) {
+            return result;
+        }
+
+        synchronized (this) {
+            int firstId = nextId;
+            nextId += imported.size();
+            for (int i = 0; i < imported.size(); i++) {
+                imported.get(i).setId(firstId + i);
+            }
+            for (Kegiatan k : imported) {
+                tambahKeDaftar(k);
+            }
+            perubahanLokal++;
+            if (!autoSaveEnabled) {
+                imported.forEach(k -> tandaiBelumTersimpan(k.getId()));
+            }
+        }
+
+        // Satu snapshot untuk seluruh batch, bukan satu record journal per baris
+        if (autoSaveEnabled && !saveData()) {
+            synchronized (this) {
+                imported.forEach(k -> tandaiBelumTersimpan(k.getId()));
+            }
+        }
+
+        System.out.println("✅ Import CSV: " + imported.size() + " kegiatan ditambahkan, "
+                + result.getErrors().size() + " baris ditolak");
+        return result;
     }
 
     /**
-     * Backup data
+     * Export ke TXT (format pipe-delimited); list disalin di bawah lock, file ditulis di luar lock
+     */
+    public boolean exportToText(String fileName) {
+        return new TextFileStore(fileName).export(getDaftarKegiatan());
+    }
+
+    /**
+     * Backup data (snapshot dulu supaya perubahan di journal ikut ter-backup)
      */
     public boolean backupData(String backupFileName) {
-        return DataManager.backupData(backupFileName);
+        return backupData(backupFileName, false);
+    }
+
+    /**
+     * Backup data, opsional dikompres (gzip)
+     */
+    public boolean backupData(String backupFileName, boolean compress) {
+        return saveData() && store.backup(backupFileName, compress);
+    }
+
+    /**
+     * Backup inkremental ke BackupStore (hanya chunk yang berubah yang ditulis),
+     * lalu bersihkan backup lama sesuai aturan retensi. Kembalikan ID backup.
+     */
+    public String backupIncremental() {
+        if (store.getBackupSourceFile() == null) {
+            System.err.println("❌ Storage " + store.getName() + " tidak mendukung backup inkremental");
+            return null;
+        }
+        if (!saveData()) {
+            return null;
+        }
+        if (!store.prepareBackupSource()) {
+            return null;
+        }
+        String backupId;
+        try {
+            backupId = backupStore.backup(store.getBackupSourceFile());
+        } finally {
+            store.finishBackupSource(false);
+        }
+        if (backupId != null) {
+            backupStore.prune(backupKeepLast, backupKeepDays);
+        }
+        return backupId;
+    }
+
+    /**
+     * Atur retensi backup: simpan keepLast backup terbaru + semua backup dalam keepDays hari
+     */
+    public void setBackupRetention(int keepLast, int keepDays) {
+        this.backupKeepLast = keepLast;
+        this.backupKeepDays = keepDays;
+    }
+
+    /**
+     * Daftar ID backup inkremental, dari yang paling lama
+     */
+    public List<String> getDaftarBackup() {
+        return backupStore.listBackups();
+    }
+
+    /**
+     * Kembalikan data ke isi backup tertentu (perubahan sesudah backup dibuang)
+     */
+    public boolean restoreBackup(String backupId) {
+        String dataFile = store.getBackupSourceFile();
+        String source = backupStore.getSourceFileName(backupId);
+        if (dataFile == null || source == null || !source.equals(new File(dataFile).getName())) {
+            System.err.println("❌ Backup " + backupId + " tidak cocok dengan format data " + dataFile);
+            return false;
+        }
+
+        flush();
+        return compaction.runExclusive(() -> {
+            synchronized (this) {
+                boolean restored = backupStore.restore(backupId, dataFile);
+                if (!store.finishBackupSource(restored) || !restored) {
+                    return false;
+                }
+                // Journal berisi perubahan sesudah backup -> buang
+                journal.rotate();
+                journal.discardRotated();
+
+                gantiDaftarKegiatan(store.load());
+                this.nextId = daftarKegiatan.stream()
+                        .mapToInt(Kegiatan::getId)
+                        .max()
+                        .orElse(0) + 1;
+                bersihkanBelumTersimpan();
+                perubahanLokal++;
+                tandaiTulisanSendiri();
+                return true;
+            }
+        });
+    }
+
+    // ============ HOT RELOAD ============
+
+    /**
+     * Aktif/nonaktifkan hot reload: file data & journal dipantau, perubahan dari luar
+     * aplikasi diterapkan ke daftar kegiatan lalu dikirim ke listener
+     */
+    public void setHotReload(boolean enabled) {
+        if (!store.isPersistent()) {
+            return;
+        }
+        compaction.runExclusive(() -> {
+            synchronized (this) {
+                if (enabled && watcher == null) {
+                    List<String> files = new ArrayList<>();
+                    if (store.getDataFile() != null) {
+                        files.add(store.getDataFile());
+                    }
+                    files.add(journal.getFileName());
+                    DataFileWatcher baru = new DataFileWatcher(files, this::muatUlangPerubahan);
+                    if (baru.start()) {
+                        watcher = baru;
+                    }
+                } else if (!enabled && watcher != null) {
+                    watcher.stop();
+                    watcher = null;
+                }
+                return null;
+            }
+        });
+    }
+
+    public boolean isHotReload() {
+        return watcher != null;
+    }
+
+    /**
+     * Listener dipanggil (di thread watcher) setiap ada perubahan dari luar aplikasi
+     */
+    public void addChangeListener(KegiatanChangeEvent.Listener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(KegiatanChangeEvent.Listener listener) {
+        changeListeners.remove(listener);
+    }
+
+    /**
+     * Isi file saat ini hasil tulisan aplikasi sendiri, bukan perubahan dari luar.
+     * Dipanggil di dalam lock data / compaction, jadi tidak bisa terselip di tengah reload.
+     */
+    private void tandaiTulisanSendiri() {
+        DataFileWatcher w = watcher;
+        if (w != null) {
+            w.acknowledge();
+        }
+    }
+
+    /**
+     * Dipanggil watcher setelah file yang dipantau berubah
+     */
+    private void muatUlangPerubahan() {
+        KegiatanChangeEvent event = compaction.runExclusive(() -> {
+            // Muat ulang penuh dilakukan di luar lock data supaya UI tidak tertahan.
+            // Kalau file atau data di memori berubah selama dimuat, muat lagi.
+            List<Kegiatan> dimuat = null;
+            List<DataFileWatcher.Change> perubahanDimuat = null;
+            long versiDimuat = 0;
+            for (int coba = 0; ; coba++) {
+                synchronized (this) {
+                    DataFileWatcher w = watcher;
+                    List<DataFileWatcher.Change> changes = w == null ? List.of() : w.pollChanges();
+                    if (dimuat != null && versiDimuat == versiLokal() && samaSemua(changes, perubahanDimuat)) {
+                        return terapkanPerubahanLuar(changes, dimuat);
+                    }
+                    if (!perluMuatPenuh(changes) || coba >= MAKS_COBA_RELOAD) {
+                        return terapkanPerubahanLuar(changes, null);
+                    }
+                    perubahanDimuat = changes;
+                    versiDimuat = versiLokal();
+                }
+                dimuat = journal.replay(store.load());
+            }
+        });
+        if (event == null || event.isEmpty()) {
+            return;
+        }
+
+        System.out.println("ℹ️  " + event);
+        for (KegiatanChangeEvent.Listener listener : changeListeners) {
+            listener.kegiatanBerubah(event);
+        }
+    }
+
+    private long versiLokal() {
+        return ((long) versi << 32) | (perubahanLokal & 0xFFFFFFFFL);
+    }
+
+    private Path dataFilePath() {
+        return store.getDataFile() == null ? null : Paths.get(store.getDataFile()).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Ada perubahan yang tidak bisa dibaca sebagai append (file diganti / diedit di tengah)
+     */
+    private boolean perluMuatPenuh(List<DataFileWatcher.Change> changes) {
+        Path dataFile = dataFilePath();
+        for (DataFileWatcher.Change change : changes) {
+            if (!change.isAppend() || (change.getFile().equals(dataFile) && change.getAppendedFrom() == 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean samaSemua(List<DataFileWatcher.Change> a, List<DataFileWatcher.Change> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!a.get(i).samaDengan(b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Append di akhir file data / journal: hanya bagian baru yang dibaca.
+     * File diganti atau diedit di tengah: snapshot + journal dimuat ulang (dimuat,
+     * atau dibaca di sini kalau null), lalu dibandingkan per ID dengan data di memori.
+     * Perubahan lokal yang belum tersimpan digabung di atasnya, jadi tidak hilang
+     * dan tidak tertimpa snapshot berikutnya.
+     */
+    private KegiatanChangeEvent terapkanPerubahanLuar(List<DataFileWatcher.Change> changes, List<Kegiatan> dimuat) {
+        DataFileWatcher w = watcher;
+        if (w == null || changes.isEmpty()) {
+            return null;
+        }
+
+        Path dataFile = dataFilePath();
+        Map<Integer, Kegiatan> lama = indexById(daftarKegiatan);
+        Map<Integer, Kegiatan> baru = new LinkedHashMap<>(lama);
+        Set<Integer> touched = new LinkedHashSet<>();
+        boolean fullDiff = false;
+
+        for (DataFileWatcher.Change change : changes) {
+            boolean isDataFile = change.getFile().equals(dataFile);
+
+            if (isDataFile && change.isAppend() && change.getAppendedFrom() > 0) {
+                List<Kegiatan> tambahan = new ArrayList<>();
+                long end = store.loadTail(change.getAppendedFrom(), tambahan);
+                if (end >= 0) {
+                    for (Kegiatan k : tambahan) {
+                        baru.put(k.getId(), k);
+                        touched.add(k.getId());
+                    }
+                    w.acknowledge(change, end);
+                    continue;
+                }
+            } else if (!isDataFile && change.isAppend()) {
+                List<String> records = new ArrayList<>();
+                long end = journal.readTail(change.getAppendedFrom(), records);
+                for (String record : records) {
+                    try {
+                        int id = JournalManager.applyRecord(record, baru);
+                        if (id < 0) {
+                            fullDiff = true;
+                        } else {
+                            touched.add(id);
+                        }
+                    } catch (RuntimeException e) {
+                        System.err.println("⚠️  Skip record journal yang rusak: " + record);
+                    }
+                }
+                w.acknowledge(change, end);
+                continue;
+            }
+
+            // Diganti / diedit di tengah / dihapus: muat ulang semuanya
+            if (dimuat == null) {
+                dimuat = journal.replay(store.load());
+            }
+            baru = indexById(dimuat);
+            if (unsavedChanges) {
+                gabungBelumTersimpan(lama, baru);
+                System.out.println("ℹ️  " + change.getFile().getFileName()
+                        + " diubah dari luar, digabung dengan perubahan yang belum disimpan");
+            }
+            fullDiff = true;
+            w.acknowledge(change);
+        }
+
+        KegiatanChangeEvent event = bandingkan(lama, baru, fullDiff ? gabungId(lama, baru) : touched, touched);
+        if (!event.isEmpty()) {
+            gantiDaftarKegiatan(new ArrayList<>(baru.values()));
+            int maxId = baru.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+            this.nextId = Math.max(nextId, maxId + 1);
+        }
+        return event;
+    }
+
+    /**
+     * Versi lokal menang untuk ID yang belum tersimpan (termasuk yang dihapus)
+     */
+    private void gabungBelumTersimpan(Map<Integer, Kegiatan> lokal, Map<Integer, Kegiatan> hasil) {
+        if (hapusSemuaBelumTersimpan) {
+            hasil.clear();
+            hasil.putAll(lokal);
+            return;
+        }
+        for (int id : idBelumTersimpan) {
+            Kegiatan k = lokal.get(id);
+            if (k != null) {
+                hasil.put(id, k);
+            } else {
+                hasil.remove(id);
+            }
+        }
+    }
+
+    private static Map<Integer, Kegiatan> indexById(List<Kegiatan> daftar) {
+        Map<Integer, Kegiatan> index = new LinkedHashMap<>();
+        for (Kegiatan k : daftar) {
+            index.put(k.getId(), k);
+        }
+        return index;
+    }
+
+    private static Set<Integer> gabungId(Map<Integer, Kegiatan> lama, Map<Integer, Kegiatan> baru) {
+        Set<Integer> ids = new LinkedHashSet<>(lama.keySet());
+        ids.addAll(baru.keySet());
+        return ids;
+    }
+
+    /**
+     * Buat event untuk ID yang mungkin berubah. Kegiatan yang isinya sama
+     * tetap memakai objek lama (kartu di UI tidak perlu dibuat ulang).
+     */
+    private static KegiatanChangeEvent bandingkan(Map<Integer, Kegiatan> lama, Map<Integer, Kegiatan> baru,
+                                                  Collection<Integer> ids, Set<Integer> touched) {
+        List<Kegiatan> added = new ArrayList<>();
+        List<Kegiatan> updated = new ArrayList<>();
+        List<Integer> removed = new ArrayList<>();
+
+        for (int id : ids) {
+            Kegiatan sebelum = lama.get(id);
+            Kegiatan sesudah = baru.get(id);
+            if (sebelum == null && sesudah != null) {
+                added.add(sesudah);
+            } else if (sebelum != null && sesudah == null) {
+                removed.add(id);
+            } else if (sebelum != null) {
+                if (sebelum != sesudah && samaIsi(sebelum, sesudah)) {
+                    baru.put(id, sebelum);
+                } else if (sebelum != sesudah || touched.contains(id)) {
+                    updated.add(sesudah);
+                }
+            }
+        }
+        return new KegiatanChangeEvent(added, updated, removed);
+    }
+
+    /**
+     * Semua field yang disimpan sama (jenis, data umum & field khusus jenisnya)
+     */
+    private static boolean samaIsi(Kegiatan a, Kegiatan b) {
+        if (a.getClass() != b.getClass() || a.getId() != b.getId()
+                || !Objects.equals(a.getJudul(), b.getJudul())
+                || !Objects.equals(a.getTanggal(), b.getTanggal())
+                || !Objects.equals(a.getWaktuMulai(), b.getWaktuMulai())
+                || !Objects.equals(a.getWaktuSelesai(), b.getWaktuSelesai())
+                || !Objects.equals(a.getStatus(), b.getStatus())) {
+            return false;
+        }
+        if (a instanceof KegiatanBelajar) {
+            KegiatanBelajar x = (KegiatanBelajar) a;
+            KegiatanBelajar y = (KegiatanBelajar) b;
+            return Objects.equals(x.getMataKuliah(), y.getMataKuliah())
+                    && Objects.equals(x.getTopik(), y.getTopik());
+        }
+        if (a instanceof KegiatanTugas) {
+            KegiatanTugas x = (KegiatanTugas) a;
+            KegiatanTugas y = (KegiatanTugas) b;
+            return Objects.equals(x.getMataKuliah(), y.getMataKuliah())
+                    && Objects.equals(x.getDeadline(), y.getDeadline())
+                    && Objects.equals(x.getPrioritas(), y.getPrioritas())
+                    && x.getProgress() == y.getProgress();
+        }
+        if (a instanceof KegiatanUjian) {
+            KegiatanUjian x = (KegiatanUjian) a;
+            KegiatanUjian y = (KegiatanUjian) b;
+            return Objects.equals(x.getMataKuliah(), y.getMataKuliah())
+                    && Objects.equals(x.getRuangan(), y.getRuangan())
+                    && Objects.equals(x.getJenisUjian(), y.getJenisUjian())
+                    && Objects.equals(x.getMateriUjian(), y.getMateriUjian());
+        }
+        return true;
+    }
+
+    // ============ INTEGRITAS DATA ============
+
+    /**
+     * Periksa checksum file data (fsck); range yang rusak ditampilkan di console
+     */
+    public IntegrityChecker.Report periksaIntegritas() {
+        IntegrityChecker.Report report = store.checkIntegrity();
+        if (report.isClean()) {
+            System.out.println("✅ " + report);
+        } else {
+            System.err.println("⚠️  " + report);
+            for (IntegrityChecker.CorruptRange range : report.getCorruptRanges()) {
+                System.err.println("    - " + range);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Perbaiki file data yang rusak. Salinan file rusak disimpan dulu ke jadwal_data.corrupt,
+     * lalu kegiatan yang masih utuh (record rusak sudah dilewati saat load) ditulis ulang
+     * sebagai snapshot bersih.
+     * dariBackup: kegiatan di backup inkremental terakhir yang ID-nya tidak ada lagi di data
+     * ikut dikembalikan. Kegiatan yang sengaja dihapus sesudah backup itu juga akan muncul lagi.
+     */
+    public boolean perbaikiData(boolean dariBackup) {
+        IntegrityChecker.Report report = store.checkIntegrity();
+        if (report.isClean()) {
+            System.out.println("✅ Data tidak rusak, tidak ada yang perlu diperbaiki");
+            return true;
+        }
+        if (!store.backup(CORRUPT_COPY_FILE, false)) {
+            return false;
+        }
+        if (dariBackup) {
+            int restored = pulihkanDariBackup();
+            if (restored < 0) {
+                return false;
+            }
+            System.out.println("ℹ️  " + restored + " kegiatan dikembalikan dari backup");
+        }
+        return saveData();
+    }
+
+    /**
+     * Tambahkan kegiatan dari backup terakhir yang ID-nya belum ada, kembalikan jumlahnya
+     */
+    private int pulihkanDariBackup() {
+        List<String> backups = backupStore.listBackups();
+        if (backups.isEmpty()) {
+            System.err.println("❌ Belum ada backup inkremental");
+            return -1;
+        }
+
+        File temp;
+        try {
+            temp = File.createTempFile("jadwal_restore", ".tmp");
+        } catch (IOException e) {
+            System.err.println("❌ Error saat restore backup: " + e.getMessage());
+            return -1;
+        }
+
+        try {
+            if (!backupStore.restore(backups.get(backups.size() - 1), temp.getPath())) {
+                return -1;
+            }
+            List<Kegiatan> dariBackup = store.loadBackupCopy(temp.getPath());
+
+            synchronized (this) {
+                int restored = 0;
+                for (Kegiatan k : dariBackup) {
+                    if (!daftarKegiatan.containsId(k.getId())) {
+                        tambahKeDaftar(k);
+                        nextId = Math.max(nextId, k.getId() + 1);
+                        restored++;
+                    }
+                }
+                return restored;
+            }
+        } finally {
+            temp.delete();
+        }
     }
 
     // ============ CREATE ============
     public boolean tambahKegiatan(Kegiatan kegiatan) {
         if (kegiatan != null) {
-            kegiatan.setId(nextId++);
-            daftarKegiatan.add(kegiatan);
+            synchronized (this) {
+                kegiatan.setId(nextId++);
+                tambahKeDaftar(kegiatan);
+                recordChange(kegiatan.getId(), () -> journal.appendPut(kegiatan));
+            }
             autoSave(); // 🔥 AUTO-SAVE
             return true;
         }
@@ -93,118 +846,255 @@ public class JadwalManager {
 
     // ============ READ ============
 
-    public List<Kegiatan> getDaftarKegiatan() {
+    public synchronized List<Kegiatan> getDaftarKegiatan() {
         return new ArrayList<>(daftarKegiatan);
     }
 
-    public Kegiatan getKegiatanById(int id) {
-        return daftarKegiatan.stream()
-                .filter(k -> k.getId() == id)
-                .findFirst()
-                .orElse(null);
+    public synchronized Kegiatan getKegiatanById(int id) {
+        return daftarKegiatan.getById(id);
     }
 
+    // Query tanggal lewat index: hasil terurut tanggal lalu waktuMulai
     public List<Kegiatan> getKegiatanHariIni() {
         LocalDate today = LocalDate.now();
-        return daftarKegiatan.stream()
-                .filter(k -> k.getTanggal().isEqual(today))
-                .collect(Collectors.toList());
+        return getKegiatanByRentang(today, today);
     }
 
     public List<Kegiatan> getKegiatanMingguIni() {
         LocalDate today = LocalDate.now();
         LocalDate endOfWeek = today.plusDays(7);
 
-        return daftarKegiatan.stream()
-                .filter(k -> {
-                    LocalDate tgl = k.getTanggal();
-                    return !tgl.isBefore(today) && !tgl.isAfter(endOfWeek);
-                })
-                .collect(Collectors.toList());
+        return getKegiatanByRentang(today, endOfWeek);
     }
 
     public List<Kegiatan> getKegiatanByTanggal(LocalDate tanggal) {
-        return daftarKegiatan.stream()
-                .filter(k -> k.getTanggal().isEqual(tanggal))
-                .collect(Collectors.toList());
+        return getKegiatanByRentang(tanggal, tanggal);
     }
 
-    public List<Kegiatan> getKegiatanByMataKuliah(String mataKuliah) {
-        return daftarKegiatan.stream()
-                .filter(k -> {
-                    if (k instanceof KegiatanBelajar) {
-                        return ((KegiatanBelajar) k).getMataKuliah().equalsIgnoreCase(mataKuliah);
-                    } else if (k instanceof KegiatanTugas) {
-                        return ((KegiatanTugas) k).getMataKuliah().equalsIgnoreCase(mataKuliah);
-                    } else if (k instanceof KegiatanUjian) {
-                        return ((KegiatanUjian) k).getMataKuliah().equalsIgnoreCase(mataKuliah);
-                    }
-                    return false;
-                })
+    /**
+     * Kegiatan dengan tanggal di [dari, sampai] (inklusif)
+     */
+    public synchronized List<Kegiatan> getKegiatanByRentang(LocalDate dari, LocalDate sampai) {
+        return tanggalIndex.rentang(dari, sampai);
+    }
+
+    // Query mata kuliah lewat index (huruf besar/kecil & spasi di tepi diabaikan)
+    // Hasil dikelompokkan per jenis: belajar, tugas, lalu ujian
+    public synchronized List<Kegiatan> getKegiatanByMataKuliah(String mataKuliah) {
+        MataKuliahIndex.Kelompok kelompok = mataKuliahIndex.get(mataKuliah);
+        return kelompok == null ? new ArrayList<>() : kelompok.semua();
+    }
+
+    public synchronized List<KegiatanBelajar> getKegiatanBelajarByMataKuliah(String mataKuliah) {
+        MataKuliahIndex.Kelompok kelompok = mataKuliahIndex.get(mataKuliah);
+        return kelompok == null ? new ArrayList<>() : new ArrayList<>(kelompok.belajar);
+    }
+
+    public synchronized List<KegiatanTugas> getKegiatanTugasByMataKuliah(String mataKuliah) {
+        MataKuliahIndex.Kelompok kelompok = mataKuliahIndex.get(mataKuliah);
+        return kelompok == null ? new ArrayList<>() : new ArrayList<>(kelompok.tugas);
+    }
+
+    public synchronized List<KegiatanUjian> getKegiatanUjianByMataKuliah(String mataKuliah) {
+        MataKuliahIndex.Kelompok kelompok = mataKuliahIndex.get(mataKuliah);
+        return kelompok == null ? new ArrayList<>() : new ArrayList<>(kelompok.ujian);
+    }
+
+    /**
+     * Semua mata kuliah yang punya kegiatan (ejaan pertama yang ditemukan), urut abjad
+     */
+    public synchronized List<String> getDaftarMataKuliah() {
+        return mataKuliahIndex.semua().stream()
+                .map(kelompok -> kelompok.nama)
+                .sorted(String.CASE_INSENSITIVE_ORDER)
                 .collect(Collectors.toList());
     }
 
-    public List<Kegiatan> getKegiatanByStatus(String status) {
+    /**
+     * Jumlah kegiatan belajar per mata kuliah, tanpa menyalin daftar kegiatannya
+     */
+    public synchronized Map<String, Integer> getJumlahBelajarPerMataKuliah() {
+        Map<String, Integer> jumlah = new LinkedHashMap<>();
+        for (MataKuliahIndex.Kelompok kelompok : mataKuliahIndex.semua()) {
+            if (!kelompok.belajar.isEmpty()) {
+                jumlah.put(kelompok.nama, kelompok.belajar.size());
+            }
+        }
+        return jumlah;
+    }
+
+    public synchronized List<Kegiatan> getKegiatanByStatus(String status) {
         return daftarKegiatan.stream()
                 .filter(k -> k.getStatus().equalsIgnoreCase(status))
                 .collect(Collectors.toList());
     }
 
-    public List<Kegiatan> searchKegiatan(String keyword) {
-        return daftarKegiatan.stream()
-                .filter(k -> k.getJudul().toLowerCase().contains(keyword.toLowerCase()))
-                .collect(Collectors.toList());
+    /**
+     * Cari lewat index: setiap kata di keyword harus menjadi awal salah satu kata
+     * di judul, mata kuliah, topik, materi ujian, ruangan atau jenis ujian
+     * (huruf besar/kecil diabaikan). Hasil urut ID (= urutan ditambahkan).
+     */
+    public synchronized List<Kegiatan> searchKegiatan(String keyword) {
+        int[] ids = pencarianIndex.cari(keyword);
+        Arrays.sort(ids);
+        return kegiatanDariId(ids);
     }
 
-    public List<KegiatanBelajar> getKegiatanBelajar() {
-        return daftarKegiatan.stream()
-                .filter(k -> k instanceof KegiatanBelajar)
-                .map(k -> (KegiatanBelajar) k)
-                .collect(Collectors.toList());
+    /**
+     * Untuk search-as-you-type: paling banyak batas hasil yang lolos filter,
+     * berhenti begitu batas tercapai (urutan hasil tidak ditentukan)
+     */
+    public synchronized List<Kegiatan> searchKegiatan(String keyword, Predicate<? super Kegiatan> filter, int batas) {
+        int[] ids = pencarianIndex.cari(keyword,
+                filter == null ? null : id -> filter.test(daftarKegiatan.getById(id)), batas);
+        return kegiatanDariId(ids);
     }
 
-    public List<KegiatanTugas> getKegiatanTugas() {
-        return daftarKegiatan.stream()
-                .filter(k -> k instanceof KegiatanTugas)
-                .map(k -> (KegiatanTugas) k)
-                .collect(Collectors.toList());
+    /**
+     * Pencarian berperingkat: kegiatan yang cocok (aturan sama dengan searchKegiatan)
+     * diurutkan dengan BM25, hanya k teratas yang dikembalikan, paling relevan lebih dulu
+     */
+    public synchronized List<Kegiatan> cariRanking(String keyword, Predicate<? super Kegiatan> filter, int k) {
+        int[] ids = pencarianIndex.cariRanking(keyword,
+                filter == null ? null : id -> filter.test(daftarKegiatan.getById(id)), k);
+        return kegiatanDariId(ids);
     }
 
-    public List<KegiatanUjian> getKegiatanUjian() {
-        return daftarKegiatan.stream()
-                .filter(k -> k instanceof KegiatanUjian)
-                .map(k -> (KegiatanUjian) k)
-                .collect(Collectors.toList());
+    public List<Kegiatan> cariRanking(String keyword, int k) {
+        return cariRanking(keyword, null, k);
+    }
+
+    /**
+     * Pencarian toleran typo ("Pemograman" menemukan "Pemrograman"): paling banyak
+     * k kegiatan yang lolos filter (null = semua), paling mirip lebih dulu
+     */
+    public synchronized List<Kegiatan> cariMirip(String keyword, Predicate<? super Kegiatan> filter, int k) {
+        int[] ids = pencarianIndex.cariMirip(keyword, MIRIP_MINIMAL,
+                filter == null ? null : id -> filter.test(daftarKegiatan.getById(id)), k);
+        return kegiatanDariId(ids);
+    }
+
+    public List<Kegiatan> cariMirip(String keyword, int k) {
+        return cariMirip(keyword, null, k);
+    }
+
+    private List<Kegiatan> kegiatanDariId(int[] ids) {
+        List<Kegiatan> hasil = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            hasil.add(daftarKegiatan.getById(id));
+        }
+        return hasil;
+    }
+
+    /**
+     * Cek satu kegiatan dengan aturan yang sama seperti searchKegiatan (tanpa index)
+     */
+    public static boolean cocokKeyword(Kegiatan kegiatan, String keyword) {
+        return PencarianIndex.cocok(kegiatan, keyword);
+    }
+
+    // Getter per jenis: salinan, aman dipakai tanpa lock
+    public synchronized List<KegiatanBelajar> getKegiatanBelajar() {
+        return new ArrayList<>(daftarBelajar.view());
+    }
+
+    public synchronized List<KegiatanTugas> getKegiatanTugas() {
+        return new ArrayList<>(daftarTugas.view());
+    }
+
+    public synchronized List<KegiatanUjian> getKegiatanUjian() {
+        return new ArrayList<>(daftarUjian.view());
+    }
+
+    /*
+     * View read-only O(1) per jenis (tanpa menyalin) untuk KegiatanQuery, StatistikManager
+     * dan NotifikasiManager. View mengikuti data terbaru dan hot reload bisa mengubahnya
+     * dari thread watcher, jadi hanya dibaca di dalam synchronized (jadwalManager).
+     */
+    List<KegiatanBelajar> viewBelajar() {
+        return daftarBelajar.view();
+    }
+
+    List<KegiatanTugas> viewTugas() {
+        return daftarTugas.view();
+    }
+
+    List<KegiatanUjian> viewUjian() {
+        return daftarUjian.view();
+    }
+
+    // ============ QUERY GABUNGAN ============
+
+    /**
+     * Query baru atas semua kegiatan; kriteria ditambahkan berantai lalu jalankan(), mis.
+     * query().jenis(KegiatanTugas.class).status("Belum Mulai").batas(10).jalankan()
+     */
+    public KegiatanQuery query() {
+        return new KegiatanQuery(this);
+    }
+
+    // Untuk planner KegiatanQuery; hanya dipakai di dalam synchronized (this)
+    int getVersi() {
+        return versi;
+    }
+
+    List<Kegiatan> semuaKegiatan() {
+        return daftarKegiatan;
+    }
+
+    TanggalIndex getTanggalIndex() {
+        return tanggalIndex;
+    }
+
+    MataKuliahIndex getMataKuliahIndex() {
+        return mataKuliahIndex;
+    }
+
+    PencarianIndex getPencarianIndex() {
+        return pencarianIndex;
     }
 
     // ============ UPDATE ============
 
     public boolean editKegiatan(int id, Kegiatan kegiatanBaru) {
-        for (int i = 0; i < daftarKegiatan.size(); i++) {
-            if (daftarKegiatan.get(i).getId() == id) {
+        boolean found = false;
+        synchronized (this) {
+            if (daftarKegiatan.containsId(id)) {
                 kegiatanBaru.setId(id);
-                daftarKegiatan.set(i, kegiatanBaru);
-                autoSave(); // 🔥 AUTO-SAVE
-                return true;
+                indexGanti(daftarKegiatan.ganti(kegiatanBaru), kegiatanBaru);
+                recordChange(id, () -> journal.appendPut(kegiatanBaru));
+                found = true;
             }
         }
-        return false;
+        if (found) {
+            autoSave(); // 🔥 AUTO-SAVE
+        }
+        return found;
     }
 
     public boolean updateStatus(int id, String statusBaru) {
-        Kegiatan kegiatan = getKegiatanById(id);
-        if (kegiatan != null) {
+        synchronized (this) {
+            Kegiatan kegiatan = getKegiatanById(id);
+            if (kegiatan == null) {
+                return false;
+            }
             kegiatan.ubahStatus(statusBaru);
-            autoSave(); // 🔥 AUTO-SAVE
-            return true;
+            recordChange(id, () -> journal.appendStatus(id, statusBaru));
         }
-        return false;
+        autoSave(); // 🔥 AUTO-SAVE
+        return true;
     }
 
     // ============ DELETE ============
 
     public boolean hapusKegiatan(int id) {
-        boolean removed = daftarKegiatan.removeIf(k -> k.getId() == id);
+        boolean removed;
+        synchronized (this) {
+            removed = hapusDariDaftar(id);
+            if (removed) {
+                recordChange(id, () -> journal.appendDelete(id));
+            }
+        }
         if (removed) {
             autoSave(); // 🔥 AUTO-SAVE
         }
@@ -212,30 +1102,118 @@ public class JadwalManager {
     }
 
     public void hapusSemuaKegiatan() {
-        daftarKegiatan.clear();
-        nextId = 1;
+        synchronized (this) {
+            daftarKegiatan.clear();
+            tanggalIndex.clear();
+            mataKuliahIndex.clear();
+            daftarBelajar.clear();
+            daftarTugas.clear();
+            daftarUjian.clear();
+            pencarianIndex.clear();
+            versi++;
+            nextId = 1;
+            recordChange(-1, journal::appendClear);
+        }
         autoSave(); // 🔥 AUTO-SAVE
     }
 
+    // ============ INDEX ID ============
+
+    /**
+     * Ganti isi list lalu bangun ulang index. ID ganda (file diedit manual):
+     * yang terakhir menggantikan yang pertama, sama seperti replay journal.
+     */
+    private void gantiDaftarKegiatan(List<Kegiatan> daftar) {
+        DaftarBerurut<Kegiatan> unik = new DaftarBerurut<>(daftar);
+        this.daftarKegiatan = unik;
+        tanggalIndex.bangunUlang(unik);
+        mataKuliahIndex.bangunUlang(unik);
+        daftarBelajar.bangunUlang(unik);
+        daftarTugas.bangunUlang(unik);
+        daftarUjian.bangunUlang(unik);
+        pencarianIndex.bangunUlang(unik);
+        versi++;
+    }
+
+    private void tambahKeDaftar(Kegiatan kegiatan) {
+        daftarKegiatan.tambah(kegiatan);
+        indexTambah(kegiatan);
+    }
+
+    /**
+     * Hapus O(1) amortized tanpa mengubah urutan kegiatan lain (tombstone, lihat DaftarBerurut)
+     */
+    private boolean hapusDariDaftar(int id) {
+        Kegiatan dihapus = daftarKegiatan.hapus(id);
+        if (dihapus == null) {
+            return false;
+        }
+        indexHapus(dihapus);
+        return true;
+    }
+
+    // Index sekunder (tanggal, mata kuliah, jenis, pencarian) untuk satu kegiatan
+    private void indexTambah(Kegiatan kegiatan) {
+        indexSekunderTambah(kegiatan);
+        if (!daftarBelajar.tambah(kegiatan) && !daftarTugas.tambah(kegiatan)) {
+            daftarUjian.tambah(kegiatan);
+        }
+    }
+
+    private void indexHapus(Kegiatan kegiatan) {
+        indexSekunderHapus(kegiatan);
+        if (!daftarBelajar.hapus(kegiatan) && !daftarTugas.hapus(kegiatan)) {
+            daftarUjian.hapus(kegiatan);
+        }
+    }
+
+    // Edit: kalau jenisnya sama, kegiatan baru menempati posisi yang lama di daftar per jenis
+    // (jenis berubah: pindah ke akhir daftar jenis barunya)
+    private void indexGanti(Kegiatan lama, Kegiatan baru) {
+        if (daftarBelajar.ganti(lama, baru) || daftarTugas.ganti(lama, baru) || daftarUjian.ganti(lama, baru)) {
+            indexSekunderHapus(lama);
+            indexSekunderTambah(baru);
+        } else {
+            indexHapus(lama);
+            indexTambah(baru);
+        }
+    }
+
+    // Index tanggal, mata kuliah & pencarian (semua kecuali daftar per jenis)
+    private void indexSekunderTambah(Kegiatan kegiatan) {
+        versi++;
+        tanggalIndex.tambah(kegiatan);
+        mataKuliahIndex.tambah(kegiatan);
+        pencarianIndex.tambah(kegiatan);
+    }
+
+    private void indexSekunderHapus(Kegiatan kegiatan) {
+        versi++;
+        tanggalIndex.hapus(kegiatan);
+        mataKuliahIndex.hapus(kegiatan);
+        pencarianIndex.hapus(kegiatan.getId());
+    }
+
     // ============ UTILITY ============
 
-    public int getTotalKegiatan() {
+    public synchronized int getTotalKegiatan() {
         return daftarKegiatan.size();
     }
 
-    public boolean isEmpty() {
+    public synchronized boolean isEmpty() {
         return daftarKegiatan.isEmpty();
     }
 
-    public List<KegiatanTugas> getTugasTerlambat() {
-        return getKegiatanTugas().stream()
+    public synchronized List<KegiatanTugas> getTugasTerlambat() {
+        return viewTugas().stream()
                 .filter(KegiatanTugas::isTerlambat)
                 .collect(Collectors.toList());
     }
 
     public List<KegiatanUjian> getUjianHariIni() {
-        return getKegiatanUjian().stream()
-                .filter(KegiatanUjian::isUjianHariIni)
+        return getKegiatanHariIni().stream()
+                .filter(k -> k instanceof KegiatanUjian)
+                .map(k -> (KegiatanUjian) k)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
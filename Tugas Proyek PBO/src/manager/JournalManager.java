@@ -0,0 +1,339 @@
+package manager;
+
+import model.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JournalManager - Write-Ahead Journal untuk perubahan data
+ * Setiap perubahan ditambahkan (append) sebagai satu baris kecil,
+ * sehingga biaya simpan sebanding dengan ukuran perubahan, bukan ukuran data.
+ *
+ * Format per baris (UTF-8):
+ *   PUTB|<record KegiatanCodec, base64>  (tambah / edit kegiatan)
+ *   STATUS|<id>|<status>           (update status)
+ *   DEL|<id>                       (hapus kegiatan)
+ *   CLEAR                          (hapus semua kegiatan)
+ * PUTB memakai record biner ber-checksum, jadi teks berisi '|' atau baris baru
+ * tetap utuh. Record lama "PUT|<baris data DataManager>" tetap bisa di-replay.
+ *
+ * Saat compaction, journal aktif di-rotate menjadi file ".old";
+ * replay membaca snapshot + journal ".old" + journal aktif.
+ */
+public class JournalManager {
+    private static final String JOURNAL_FILE = "jadwal_journal.txt";
+    private static final String SEPARATOR = "|";
+    private static final String ROTATED_SUFFIX = ".old";
+
+    static final String OP_PUT = "PUT";       // format lama, hanya dibaca
+    static final String OP_PUT_BINARY = "PUTB";
+    static final String OP_STATUS = "STATUS";
+    static final String OP_DELETE = "DEL";
+    static final String OP_CLEAR = "CLEAR";
+
+    private final String journalFile;
+    private final KegiatanCodec codec = new KegiatanCodec();
+    private final ByteArrayOutputStream recordBuffer = new ByteArrayOutputStream(256);
+    private BufferedWriter writer;
+    private long size;              // perkiraan ukuran journal aktif (byte)
+    private long firstRecordTime;   // waktu record tertua yang belum di-compact (0 = kosong)
+
+    // Constructor
+    public JournalManager() {
+        this(JOURNAL_FILE);
+    }
+
+    public JournalManager(String journalFile) {
+        this.journalFile = journalFile;
+
+        File file = new File(journalFile);
+        this.size = file.length();
+        this.firstRecordTime = size > 0 ? file.lastModified() : 0;
+    }
+
+    // ============ APPEND ============
+
+    /**
+     * Catat kegiatan baru / hasil edit (upsert berdasarkan ID)
+     */
+    public synchronized boolean appendPut(Kegiatan kegiatan) {
+        recordBuffer.reset();
+        try {
+            codec.writeRecord(kegiatan, recordBuffer);
+        } catch (IOException e) {
+            System.err.println("❌ Error saat menulis journal: " + e.getMessage());
+            return false;
+        }
+        return append(OP_PUT_BINARY + SEPARATOR + Base64.getEncoder().encodeToString(recordBuffer.toByteArray()));
+    }
+
+    /**
+     * Catat perubahan status saja (record paling kecil)
+     */
+    public boolean appendStatus(int id, String status) {
+        return append(OP_STATUS + SEPARATOR + id + SEPARATOR + status);
+    }
+
+    /**
+     * Catat penghapusan kegiatan
+     */
+    public boolean appendDelete(int id) {
+        return append(OP_DELETE + SEPARATOR + id);
+    }
+
+    /**
+     * Catat penghapusan semua kegiatan
+     */
+    public boolean appendClear() {
+        return append(OP_CLEAR);
+    }
+
+    private synchronized boolean append(String record) {
+        try {
+            if (writer == null) {
+                boolean tailRusak = endsWithPartialRecord();
+                writer = new BufferedWriter(new FileWriter(journalFile, StandardCharsets.UTF_8, true));
+                if (tailRusak) {
+                    // Tutup record terpotong supaya record baru tidak ikut rusak
+                    writer.newLine();
+                }
+            }
+            writer.write(record);
+            writer.newLine();
+            writer.flush();
+
+            if (firstRecordTime == 0) {
+                firstRecordTime = System.currentTimeMillis();
+            }
+            size += record.length() + 1;
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat menulis journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean endsWithPartialRecord() throws IOException {
+        File file = new File(journalFile);
+        if (file.length() == 0) {
+            return false;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            raf.seek(raf.length() - 1);
+            return raf.read() != '\n';
+        }
+    }
+
+    // ============ REPLAY ============
+
+    /**
+     * Terapkan ulang isi journal ke data snapshot.
+     * Semua operasi bersifat idempotent (set nilai akhir), jadi replay
+     * journal yang sudah ikut ter-snapshot tetap menghasilkan data yang sama.
+     */
+    public List<Kegiatan> replay(List<Kegiatan> snapshot) {
+        File rotated = new File(journalFile + ROTATED_SUFFIX);
+        File active = new File(journalFile);
+        if (!rotated.exists() && !active.exists()) {
+            return snapshot;
+        }
+
+        // Urutan dipertahankan: PUT untuk ID lama mengganti di posisi yang sama
+        Map<Integer, Kegiatan> data = new LinkedHashMap<>();
+        for (Kegiatan k : snapshot) {
+            data.put(k.getId(), k);
+        }
+
+        // Journal ".old" = sisa compaction yang belum selesai, lebih tua dari journal aktif
+        replayFile(rotated, data);
+        replayFile(active, data);
+        return new ArrayList<>(data.values());
+    }
+
+    private void replayFile(File file, Map<Integer, Kegiatan> data) {
+        if (!file.exists()) {
+            return;
+        }
+
+        int replayedCount = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(file, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    applyRecord(line, data);
+                    replayedCount++;
+                } catch (Exception e) {
+                    // Baris terakhir bisa terpotong kalau aplikasi crash saat menulis
+                    System.err.println("⚠️  Skip record journal yang rusak: " + line);
+                }
+            }
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat membaca journal: " + e.getMessage());
+        }
+
+        if (replayedCount > 0) {
+            System.out.println("✅ Replay " + replayedCount + " perubahan dari " + file.getName());
+        }
+    }
+
+    /**
+     * Record journal yang ditambahkan sesudah byte offset (misalnya oleh instance lain).
+     * Hanya baris utuh yang diambil; kembalikan offset sesudah baris terakhir yang dibaca.
+     */
+    public synchronized long readTail(long offset, List<String> records) {
+        try (RandomAccessFile raf = new RandomAccessFile(journalFile, "r")) {
+            long length = raf.length();
+            if (length <= offset || length - offset > Integer.MAX_VALUE) {
+                return Math.min(offset, length);
+            }
+
+            byte[] bytes = new byte[(int) (length - offset)];
+            raf.seek(offset);
+            raf.readFully(bytes);
+            int end = bytes.length;
+            while (end > 0 && bytes[end - 1] != '\n') {
+                end--; // record terakhir masih ditulis
+            }
+            new String(bytes, 0, end, StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.isEmpty())
+                    .forEach(records::add);
+            return offset + end;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat membaca journal: " + e.getMessage());
+            return offset;
+        }
+    }
+
+    /**
+     * Terapkan satu record journal ke data.
+     * Kembalikan ID kegiatan yang terkena, -1 untuk CLEAR (semua kegiatan).
+     */
+    static int applyRecord(String line, Map<Integer, Kegiatan> data) {
+        int sep = line.indexOf(SEPARATOR);
+        String op = sep < 0 ? line : line.substring(0, sep);
+        String payload = sep < 0 ? "" : line.substring(sep + 1);
+
+        switch (op) {
+            case OP_PUT_BINARY:
+                // readRecord memeriksa CRC frame, record terpotong / rusak dilempar
+                byte[] record = Base64.getDecoder().decode(payload);
+                Kegiatan kegiatan = new KegiatanCodec().readRecord(ByteBuffer.wrap(record));
+                data.put(kegiatan.getId(), kegiatan);
+                return kegiatan.getId();
+
+            case OP_PUT:
+                Kegiatan lama = DataManager.parseLine(payload);
+                if (lama == null) {
+                    throw new IllegalArgumentException("Format data tidak valid");
+                }
+                data.put(lama.getId(), lama);
+                return lama.getId();
+
+            case OP_STATUS:
+                String[] parts = payload.split("\\" + SEPARATOR, 2);
+                int id = Integer.parseInt(parts[0]);
+                Kegiatan target = data.get(id);
+                if (target != null) {
+                    target.ubahStatus(parts[1]);
+                }
+                return id;
+
+            case OP_DELETE:
+                int deletedId = Integer.parseInt(payload);
+                data.remove(deletedId);
+                return deletedId;
+
+            case OP_CLEAR:
+                data.clear();
+                return -1;
+
+            default:
+                throw new IllegalArgumentException("Operasi journal tidak dikenal: " + op);
+        }
+    }
+
+    // ============ ROTATE (COMPACTION) ============
+
+    /**
+     * Pindahkan journal aktif ke file ".old" supaya append berikutnya masuk
+     * ke journal baru yang kosong. Kalau ".old" masih ada (compaction
+     * sebelumnya gagal), isi journal aktif digabung ke belakangnya.
+     */
+    public synchronized boolean rotate() {
+        close();
+        File active = new File(journalFile);
+        File rotated = new File(journalFile + ROTATED_SUFFIX);
+
+        try {
+            if (active.exists()) {
+                if (rotated.exists()) {
+                    try (InputStream in = new FileInputStream(active);
+                         OutputStream out = new FileOutputStream(rotated, true)) {
+                        in.transferTo(out);
+                    }
+                    if (!active.delete()) {
+                        throw new IOException("Gagal menghapus " + journalFile);
+                    }
+                } else if (!active.renameTo(rotated)) {
+                    throw new IOException("Gagal rename " + journalFile);
+                }
+            }
+
+            size = 0;
+            firstRecordTime = 0;
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat rotate journal: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Hapus journal ".old" (dipanggil setelah snapshot baru berhasil disimpan)
+     */
+    public synchronized boolean discardRotated() {
+        File rotated = new File(journalFile + ROTATED_SUFFIX);
+        return !rotated.exists() || rotated.delete();
+    }
+
+    // ============ UTILITY ============
+
+    public String getFileName() {
+        return journalFile;
+    }
+
+    /**
+     * Ukuran journal aktif dalam byte
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Umur record tertua yang belum di-compact (ms), 0 kalau journal kosong
+     */
+    public synchronized long getAge() {
+        return firstRecordTime == 0 ? 0 : System.currentTimeMillis() - firstRecordTime;
+    }
+
+    public synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("❌ Error saat menutup journal: " + e.getMessage());
+            }
+            writer = null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,45 @@
+package manager;
+
+import model.*;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * KegiatanChangeEvent - Ringkasan perubahan data yang datang dari luar aplikasi
+ * (file data / journal diubah proses lain, lihat DataFileWatcher).
+ * Dipakai view untuk memperbarui tampilan hanya pada kegiatan yang berubah.
+ */
+public class KegiatanChangeEvent {
+
+    /**
+     * Listener perubahan; dipanggil di thread watcher, bukan di thread UI
+     */
+    public interface Listener {
+        void kegiatanBerubah(KegiatanChangeEvent event);
+    }
+
+    private final List<Kegiatan> added;
+    private final List<Kegiatan> updated;
+    private final List<Integer> removed;
+
+    // Constructor
+    public KegiatanChangeEvent(List<Kegiatan> added, List<Kegiatan> updated, List<Integer> removed) {
+        this.added = Collections.unmodifiableList(added);
+        this.updated = Collections.unmodifiableList(updated);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    public List<Kegiatan> getAdded() { return added; }
+    public List<Kegiatan> getUpdated() { return updated; }
+    public List<Integer> getRemoved() { return removed; }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Perubahan dari luar: " + added.size() + " ditambah, " + updated.size() + " diubah, "
+                + removed.size() + " dihapus";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,393 @@
+package manager;
+
+import model.*;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.zip.CRC32C;
+
+/**
+ * KegiatanCodec - Format biner ringkas untuk menyimpan Kegiatan
+ *
+ * Header file : "JDWL" (4 byte) + versi (1 byte)
+ * Per record  : tag tipe (1 byte), id (varint), judul, tanggal (epoch-day, zigzag varint),
+ *               waktu mulai & selesai (menit dalam hari, varint), status, mata kuliah,
+ *               lalu field khusus tiap tipe.
+ * String      : panjang UTF-8 + 1 (varint, 0 = null) diikuti byte-nya.
+ *
+ * Versi 2 membungkus setiap record dalam frame:
+ *   sync byte 0xA5, panjang isi (varint), isi record, CRC32C isi (4 byte).
+ * Record yang rusak terdeteksi lewat checksum dan bisa dilewati; awal record
+ * berikutnya dicari ulang (resync) dari sync byte + checksum yang cocok.
+ * File versi 1 (tanpa frame) tetap bisa dibaca.
+ *
+ * Catatan: waktu disimpan per menit (sama seperti format HH:mm di file teks).
+ */
+public class KegiatanCodec {
+    static final byte[] MAGIC = {'J', 'D', 'W', 'L'};
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = MAGIC.length + 1;
+
+    static final byte SYNC = (byte) 0xA5;
+    // Batas isi satu record; frame dengan panjang lebih besar dianggap rusak
+    static final int MAX_RECORD_SIZE = 1024 * 1024;
+    static final int FRAME_INVALID = -1;
+    static final int FRAME_INCOMPLETE = -2;
+
+    static final byte TAG_BELAJAR = 1;
+    static final byte TAG_TUGAS = 2;
+    static final byte TAG_UJIAN = 3;
+
+    private final int version;
+    private final CRC32C crc = new CRC32C();
+    private final byte[] frame = new byte[8];
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    // Constructor - format terbaru
+    public KegiatanCodec() {
+        this(VERSION);
+    }
+
+    /**
+     * Codec untuk versi file tertentu (hasil readHeader)
+     */
+    public KegiatanCodec(int version) {
+        this.version = version;
+    }
+
+    // ============ WRITER ============
+
+    /**
+     * Tulis header file (magic + versi)
+     */
+    public static void writeHeader(OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+    }
+
+    /**
+     * Encode satu kegiatan lalu tulis ke stream.
+     * Satu instance codec memakai ulang buffer-nya untuk setiap record.
+     */
+    public void writeRecord(Kegiatan k, OutputStream out) throws IOException {
+        position = 0;
+
+        if (k instanceof KegiatanBelajar) {
+            KegiatanBelajar kb = (KegiatanBelajar) k;
+            writeCommon(TAG_BELAJAR, k, kb.getMataKuliah());
+            writeString(kb.getTopik());
+
+        } else if (k instanceof KegiatanTugas) {
+            KegiatanTugas kt = (KegiatanTugas) k;
+            writeCommon(TAG_TUGAS, k, kt.getMataKuliah());
+            writeSignedVarint(kt.getDeadline().toEpochDay());
+            writeString(kt.getPrioritas());
+            writeVarint(kt.getProgress());
+
+        } else if (k instanceof KegiatanUjian) {
+            KegiatanUjian ku = (KegiatanUjian) k;
+            writeCommon(TAG_UJIAN, k, ku.getMataKuliah());
+            writeString(ku.getRuangan());
+            writeString(ku.getJenisUjian());
+            writeString(ku.getMateriUjian());
+
+        } else {
+            throw new IllegalArgumentException("Tipe kegiatan tidak dikenal: " + k.getClass().getName());
+        }
+
+        if (version < 2) {
+            out.write(buffer, 0, position);
+            return;
+        }
+        if (position > MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Record terlalu besar: " + position + " byte");
+        }
+
+        int length = 0;
+        frame[length++] = SYNC;
+        long value = position;
+        while ((value & ~0x7FL) != 0) {
+            frame[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        frame[length++] = (byte) value;
+        out.write(frame, 0, length);
+        out.write(buffer, 0, position);
+
+        crc.reset();
+        crc.update(buffer, 0, position);
+        int checksum = (int) crc.getValue();
+        frame[0] = (byte) (checksum >>> 24);
+        frame[1] = (byte) (checksum >>> 16);
+        frame[2] = (byte) (checksum >>> 8);
+        frame[3] = (byte) checksum;
+        out.write(frame, 0, 4);
+    }
+
+    private void writeCommon(byte tag, Kegiatan k, String mataKuliah) {
+        ensureCapacity(1);
+        buffer[position++] = tag;
+        writeVarint(k.getId());
+        writeString(k.getJudul());
+        writeSignedVarint(k.getTanggal().toEpochDay());
+        writeVarint(toMinuteOfDay(k.getWaktuMulai()));
+        writeVarint(toMinuteOfDay(k.getWaktuSelesai()));
+        writeString(k.getStatus());
+        writeString(mataKuliah);
+    }
+
+    private void writeString(String value) {
+        if (value == null) {
+            writeVarint(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length + 1L);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    private void writeSignedVarint(long value) {
+        writeVarint((value << 1) ^ (value >> 63)); // zigzag
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            byte[] bigger = new byte[Math.max(buffer.length * 2, position + extra)];
+            System.arraycopy(buffer, 0, bigger, 0, position);
+            buffer = bigger;
+        }
+    }
+
+    private static int toMinuteOfDay(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // ============ READER ============
+
+    /**
+     * Baca & validasi header, kembalikan versi file
+     */
+    public static int readHeader(ByteBuffer in) {
+        if (in.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("File biner terlalu pendek");
+        }
+        for (byte b : MAGIC) {
+            if (in.get() != b) {
+                throw new IllegalArgumentException("Bukan file jadwal biner");
+            }
+        }
+        int version = in.get() & 0xFF;
+        if (version > VERSION) {
+            throw new IllegalArgumentException("Versi file biner tidak didukung: " + version);
+        }
+        return version;
+    }
+
+    /**
+     * Decode satu record dari posisi buffer saat ini.
+     * BufferUnderflowException berarti record terpotong di akhir buffer;
+     * IllegalArgumentException berarti record rusak (versi 2: checksum tidak cocok).
+     * Untuk buffer direct / memory-mapped, buffer internal codec dipakai
+     * ulang sebagai tempat salin byte string.
+     */
+    public Kegiatan readRecord(ByteBuffer in) {
+        if (version < 2) {
+            return readPayload(in);
+        }
+
+        int start = in.position();
+        int frameLength = checkFrame(in, start, crc);
+        if (frameLength == FRAME_INCOMPLETE) {
+            throw new BufferUnderflowException();
+        }
+        if (frameLength == FRAME_INVALID) {
+            throw new IllegalArgumentException("Record rusak di byte " + start);
+        }
+
+        int end = start + frameLength;
+        in.position(start + 1);
+        readVarint(in);
+        Kegiatan kegiatan = readPayload(in);
+        if (in.position() != end - 4) {
+            throw new IllegalArgumentException("Panjang record tidak cocok di byte " + start);
+        }
+        in.position(end);
+        return kegiatan;
+    }
+
+    /**
+     * Cek frame record versi 2 di posisi pos tanpa decode isinya (posisi buffer tidak berubah).
+     * Kembalikan panjang frame kalau checksum cocok, FRAME_INCOMPLETE kalau frame
+     * terpotong di akhir buffer, atau FRAME_INVALID kalau rusak.
+     */
+    static int checkFrame(ByteBuffer in, int pos, CRC32C crc) {
+        int limit = in.limit();
+        if (pos >= limit) {
+            return FRAME_INCOMPLETE;
+        }
+        if (in.get(pos) != SYNC) {
+            return FRAME_INVALID;
+        }
+
+        long length = 0;
+        int i = pos + 1;
+        for (int shift = 0; ; shift += 7) {
+            if (i >= limit) {
+                return FRAME_INCOMPLETE;
+            }
+            if (shift > 21) {
+                return FRAME_INVALID;
+            }
+            byte b = in.get(i++);
+            length |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        if (length == 0 || length > MAX_RECORD_SIZE) {
+            return FRAME_INVALID;
+        }
+
+        int payloadStart = i;
+        long end = payloadStart + length + 4;
+        if (end > limit) {
+            return FRAME_INCOMPLETE;
+        }
+
+        ByteBuffer payload = in.duplicate();
+        payload.limit(payloadStart + (int) length).position(payloadStart);
+        crc.reset();
+        crc.update(payload);
+        if ((int) crc.getValue() != in.getInt(payloadStart + (int) length)) {
+            return FRAME_INVALID;
+        }
+        return (int) (end - pos);
+    }
+
+    /**
+     * Cari awal frame valid berikutnya mulai dari posisi from (versi 2).
+     * Kalau stopAtIncomplete, frame yang terpotong di akhir buffer juga dikembalikan
+     * (mungkin valid, perlu dibaca ulang dengan buffer yang lebih panjang).
+     * Kembalikan -1 kalau tidak ada.
+     */
+    static int resync(ByteBuffer in, int from, boolean stopAtIncomplete) {
+        return resync(in, from, in.limit(), stopAtIncomplete, new CRC32C());
+    }
+
+    static int resync(ByteBuffer in, int from, int until, boolean stopAtIncomplete, CRC32C crc) {
+        for (int pos = from; pos < until; pos++) {
+            if (in.get(pos) != SYNC) {
+                continue;
+            }
+            int result = checkFrame(in, pos, crc);
+            if (result > 0 || (stopAtIncomplete && result == FRAME_INCOMPLETE)) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    private Kegiatan readPayload(ByteBuffer in) {
+        byte tag = in.get();
+        int id = (int) readVarint(in);
+        String judul = readString(in);
+        LocalDate tanggal = LocalDate.ofEpochDay(readSignedVarint(in));
+        LocalTime waktuMulai = fromMinuteOfDay((int) readVarint(in));
+        LocalTime waktuSelesai = fromMinuteOfDay((int) readVarint(in));
+        String status = readString(in);
+        String mataKuliah = readString(in);
+
+        Kegiatan kegiatan;
+        switch (tag) {
+            case TAG_BELAJAR:
+                kegiatan = new KegiatanBelajar(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, mataKuliah, readString(in));
+                break;
+
+            case TAG_TUGAS:
+                LocalDate deadline = LocalDate.ofEpochDay(readSignedVarint(in));
+                String prioritas = readString(in);
+                KegiatanTugas kt = new KegiatanTugas(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, mataKuliah, deadline, prioritas);
+                kt.setProgress((int) readVarint(in));
+                kegiatan = kt;
+                break;
+
+            case TAG_UJIAN:
+                String ruangan = readString(in);
+                String jenisUjian = readString(in);
+                String materiUjian = readString(in);
+                kegiatan = new KegiatanUjian(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, mataKuliah, ruangan, jenisUjian, materiUjian);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Tag tipe tidak dikenal: " + tag);
+        }
+
+        // Status disimpan apa adanya supaya round-trip persis sama
+        kegiatan.setStatus(status);
+        return kegiatan;
+    }
+
+    private String readString(ByteBuffer in) {
+        int length = (int) readVarint(in);
+        if (length == 0) {
+            return null;
+        }
+        length--;
+        if (length > in.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            if (length > buffer.length) {
+                buffer = new byte[Math.max(buffer.length * 2, length)];
+            }
+            in.get(buffer, 0, length);
+            value = new String(buffer, 0, length, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static long readSignedVarint(ByteBuffer in) {
+        long raw = readVarint(in);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Varint terlalu panjang");
+    }
+
+    private static LocalTime fromMinuteOfDay(int minuteOfDay) {
+        return LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+    }
+}
\ No newline at end of file
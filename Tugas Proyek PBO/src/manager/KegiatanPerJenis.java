@@ -0,0 +1,82 @@
+package manager;
+
+import model.*;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * KegiatanPerJenis - Daftar kegiatan satu jenis (belajar / tugas / ujian)
+ * Disimpan di samping list utama JadwalManager sebagai DaftarBerurut (urut penambahan,
+ * index ID -> posisi sendiri), jadi tambah, ganti & hapus O(1) tanpa mengubah urutan dan
+ * query / statistik per jenis cukup membaca view read-only tanpa instanceof atau menyalin
+ * seluruh jadwal. Tidak thread-safe; pemakai memegang lock sendiri.
+ */
+final class KegiatanPerJenis<T extends Kegiatan> {
+    private final Class<T> jenis;
+    private final DaftarBerurut<T> daftar = new DaftarBerurut<>();
+    private final List<T> view = Collections.unmodifiableList(daftar);
+
+    // Constructor
+    KegiatanPerJenis(Class<T> jenis) {
+        this.jenis = jenis;
+    }
+
+    /**
+     * View read-only yang selalu mengikuti isi terbaru
+     */
+    List<T> view() {
+        return view;
+    }
+
+    int size() {
+        return daftar.size();
+    }
+
+    /**
+     * Tambahkan kalau kegiatan memang jenis ini, kembalikan true kalau ditambahkan
+     */
+    boolean tambah(Kegiatan kegiatan) {
+        if (!jenis.isInstance(kegiatan)) {
+            return false;
+        }
+        daftar.tambah(jenis.cast(kegiatan));
+        return true;
+    }
+
+    /**
+     * Hapus O(1) amortized, urutan kegiatan lain tetap
+     */
+    boolean hapus(Kegiatan kegiatan) {
+        if (!jenis.isInstance(kegiatan) || daftar.getById(kegiatan.getId()) != kegiatan) {
+            return false;
+        }
+        daftar.hapus(kegiatan.getId());
+        return true;
+    }
+
+    /**
+     * Edit: kalau lama dan baru sama-sama jenis ini, baru menempati posisi lama
+     */
+    boolean ganti(Kegiatan lama, Kegiatan baru) {
+        if (!jenis.isInstance(lama) || !jenis.isInstance(baru) || daftar.getById(lama.getId()) != lama) {
+            return false;
+        }
+        daftar.ganti(jenis.cast(baru));
+        return true;
+    }
+
+    void clear() {
+        daftar.clear();
+    }
+
+    /**
+     * Bangun ulang dari list utama (ID di list utama sudah unik)
+     */
+    void bangunUlang(Collection<Kegiatan> semua) {
+        daftar.clear();
+        for (Kegiatan k : semua) {
+            tambah(k);
+        }
+    }
+}
\ No newline at end of file
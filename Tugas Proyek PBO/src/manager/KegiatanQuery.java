@@ -0,0 +1,511 @@
+package manager;
+
+import model.*;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * KegiatanQuery - Query kegiatan yang disusun berantai: jenis, rentang tanggal,
+ * mata kuliah, status, rentang deadline, kata kunci, urutan dan batas
+ * Saat dijalankan, planner memilih satu sumber kandidat dengan perkiraan jumlah paling
+ * kecil (index pencarian, index tanggal, index mata kuliah, daftar per jenis, atau semua
+ * kegiatan); kriteria lain baru dicek per kandidat saat hasil diambil. Hasilnya Cursor
+ * yang mengambil kandidat bertahap di bawah lock JadwalManager, bukan salinan list.
+ * Dibuat lewat JadwalManager.query().
+ */
+public final class KegiatanQuery {
+
+    /**
+     * Urutan hasil
+     * SUMBER    : urutan index yang dipilih planner (tanpa sort, paling murah)
+     * WAKTU     : tanggal lalu waktuMulai (tanpa sort kalau sumbernya index tanggal)
+     * RELEVANSI : BM25 seperti cariRanking, wajib ada kata kunci
+     */
+    public enum Urutan { SUMBER, WAKTU, RELEVANSI }
+
+    // Sumber kandidat yang bisa dipilih planner
+    private enum Sumber { SEMUA, JENIS, MATA_KULIAH, TANGGAL, PENCARIAN }
+
+    private static final Comparator<Kegiatan> URUT_TANGGAL = Comparator
+            .comparing(Kegiatan::getTanggal)
+            .thenComparing(TanggalIndex.URUT_WAKTU);
+
+    private final JadwalManager manager;
+    private Class<? extends Kegiatan> jenis;
+    private boolean adaTanggal;
+    private LocalDate tanggalDari;
+    private LocalDate tanggalSampai;
+    private String mataKuliah;
+    private String status;
+    private boolean adaDeadline;
+    private LocalDate deadlineDari;
+    private LocalDate deadlineSampai;
+    private String kataKunci;
+    private Urutan urutan = Urutan.SUMBER;
+    private Comparator<? super Kegiatan> pembanding;
+    private int batas = Integer.MAX_VALUE;
+
+    // Constructor
+    KegiatanQuery(JadwalManager manager) {
+        this.manager = manager;
+    }
+
+    // ============ KRITERIA ============
+
+    /**
+     * Hanya kegiatan jenis ini, mis. KegiatanTugas.class (null = semua jenis)
+     */
+    public KegiatanQuery jenis(Class<? extends Kegiatan> jenis) {
+        this.jenis = jenis;
+        return this;
+    }
+
+    /**
+     * Tanggal di [dari, sampai] (inklusif); null = tidak dibatasi di sisi itu
+     */
+    public KegiatanQuery tanggal(LocalDate dari, LocalDate sampai) {
+        this.adaTanggal = dari != null || sampai != null;
+        this.tanggalDari = dari;
+        this.tanggalSampai = sampai;
+        return this;
+    }
+
+    /**
+     * Mata kuliah sama (huruf besar/kecil & spasi di tepi diabaikan)
+     */
+    public KegiatanQuery mataKuliah(String mataKuliah) {
+        this.mataKuliah = mataKuliah;
+        return this;
+    }
+
+    /**
+     * Status sama (huruf besar/kecil diabaikan)
+     */
+    public KegiatanQuery status(String status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Hanya tugas dengan deadline di [dari, sampai] (inklusif); null = tidak dibatasi di sisi itu
+     */
+    public KegiatanQuery deadline(LocalDate dari, LocalDate sampai) {
+        this.adaDeadline = true;
+        this.deadlineDari = dari;
+        this.deadlineSampai = sampai;
+        return this;
+    }
+
+    /**
+     * Aturan sama dengan searchKegiatan (tiap kata = awal kata di teks kegiatan);
+     * null / kosong = tanpa kata kunci
+     */
+    public KegiatanQuery kataKunci(String kataKunci) {
+        this.kataKunci = kataKunci;
+        return this;
+    }
+
+    public KegiatanQuery urutkan(Urutan urutan) {
+        this.urutan = urutan == null ? Urutan.SUMBER : urutan;
+        this.pembanding = null;
+        return this;
+    }
+
+    /**
+     * Urutan sendiri: hasil yang lolos dikumpulkan lalu diurutkan (dengan batas cukup top-k)
+     */
+    public KegiatanQuery urutkan(Comparator<? super Kegiatan> pembanding) {
+        this.urutan = Urutan.SUMBER;
+        this.pembanding = pembanding;
+        return this;
+    }
+
+    /**
+     * Paling banyak batas hasil; pengambilan berhenti begitu batas tercapai
+     */
+    public KegiatanQuery batas(int batas) {
+        if (batas < 0) {
+            throw new IllegalArgumentException("Batas query harus >= 0: " + batas);
+        }
+        this.batas = batas;
+        return this;
+    }
+
+    /**
+     * Jalankan lalu ambil semua hasil dalam satu kali memegang lock JadwalManager:
+     * tidak bisa gagal karena data berubah, tapi hot reload tertahan selama query dibaca
+     */
+    public List<Kegiatan> jalankanSemua() {
+        synchronized (manager) {
+            return jalankan().ambilSemua();
+        }
+    }
+
+    // ============ PLANNER ============
+
+    /**
+     * Pilih sumber kandidat lalu kembalikan cursor. Belum ada kegiatan yang diperiksa
+     * sampai cursor dibaca; query ini boleh diubah & dijalankan lagi setelahnya.
+     */
+    public Cursor jalankan() {
+        Set<String> query = kataKunci == null ? Collections.emptySet() : PencarianIndex.tokenisasi(kataKunci);
+        if (urutan == Urutan.RELEVANSI && query.isEmpty()) {
+            throw new IllegalStateException("Urutan RELEVANSI butuh kata kunci");
+        }
+
+        synchronized (manager) {
+            // Kandidat terbanyak = semua kegiatan; index lain dipakai kalau perkiraannya lebih kecil
+            Sumber sumber = Sumber.SEMUA;
+            long perkiraan = manager.semuaKegiatan().size();
+            List<? extends Kegiatan> daftarJenis = daftarJenis(jenisIndex());
+            if (daftarJenis != null && daftarJenis.size() < perkiraan) {
+                sumber = Sumber.JENIS;
+                perkiraan = daftarJenis.size();
+            }
+            MataKuliahIndex.Kelompok kelompok = null;
+            if (mataKuliah != null) {
+                kelompok = manager.getMataKuliahIndex().get(mataKuliah);
+                long jumlah = daftarMataKuliah(kelompok).stream().mapToLong(List::size).sum();
+                if (jumlah < perkiraan) {
+                    sumber = Sumber.MATA_KULIAH;
+                    perkiraan = jumlah;
+                }
+            }
+            if (adaTanggal) {
+                long jumlah = manager.getTanggalIndex().hitung(tanggalDari, tanggalSampai,
+                        (int) Math.min(perkiraan + 1, Integer.MAX_VALUE));
+                // Seri: pilih index tanggal kalau urutan WAKTU, hasilnya sudah terurut
+                if (jumlah < perkiraan || (jumlah == perkiraan && urutan == Urutan.WAKTU)) {
+                    sumber = Sumber.TANGGAL;
+                    perkiraan = jumlah;
+                }
+            }
+            if (!query.isEmpty()) {
+                long jumlah = manager.getPencarianIndex().perkiraan(query, perkiraan + 1);
+                if (jumlah < perkiraan) {
+                    sumber = Sumber.PENCARIAN;
+                    perkiraan = jumlah;
+                }
+            }
+
+            Iterator<? extends Kegiatan> kandidat;
+            Predicate<Kegiatan> filter;
+            if (urutan == Urutan.RELEVANSI) {
+                // Skor BM25 hanya ada di index pencarian; kriteria lain jadi filter di dalam ranking
+                Predicate<Kegiatan> lain = kriteriaSisa(Sumber.PENCARIAN, query);
+                String kata = kataKunci;
+                int k = batas;
+                kandidat = malas(() -> peringkat(kata, lain, k));
+                filter = null;
+                sumber = Sumber.PENCARIAN;
+            } else {
+                kandidat = iterator(sumber, kelompok, daftarJenis);
+                filter = kriteriaSisa(sumber, query);
+                Comparator<? super Kegiatan> urut = pembanding != null ? pembanding
+                        : urutan == Urutan.WAKTU && sumber != Sumber.TANGGAL ? URUT_TANGGAL : null;
+                if (urut != null) {
+                    Iterator<? extends Kegiatan> semua = kandidat;
+                    Predicate<Kegiatan> lolos = filter;
+                    int k = batas;
+                    kandidat = malas(() -> urutkan(semua, lolos, urut, k));
+                    filter = null;
+                }
+            }
+            String rencana = sumber + " (perkiraan " + perkiraan + " kandidat)";
+            return new Cursor(manager, manager.getVersi(), rencana, kandidat, filter, batas);
+        }
+    }
+
+    // Deadline hanya dimiliki tugas, jadi query deadline tanpa jenis memakai daftar tugas
+    private Class<? extends Kegiatan> jenisIndex() {
+        return jenis == null && adaDeadline ? KegiatanTugas.class : jenis;
+    }
+
+    private List<? extends Kegiatan> daftarJenis(Class<? extends Kegiatan> jenis) {
+        if (jenis == KegiatanBelajar.class) return manager.viewBelajar();
+        if (jenis == KegiatanTugas.class) return manager.viewTugas();
+        if (jenis == KegiatanUjian.class) return manager.viewUjian();
+        return null;
+    }
+
+    // Daftar di kelompok mata kuliah yang perlu ditelusuri (hanya jenis yang diminta kalau ada)
+    private List<List<? extends Kegiatan>> daftarMataKuliah(MataKuliahIndex.Kelompok kelompok) {
+        if (kelompok == null) {
+            return Collections.emptyList();
+        }
+        Class<? extends Kegiatan> jenis = jenisIndex();
+        if (jenis == KegiatanBelajar.class) return Collections.singletonList(kelompok.belajar);
+        if (jenis == KegiatanTugas.class) return Collections.singletonList(kelompok.tugas);
+        if (jenis == KegiatanUjian.class) return Collections.singletonList(kelompok.ujian);
+        return Arrays.asList(kelompok.belajar, kelompok.tugas, kelompok.ujian);
+    }
+
+    private Iterator<? extends Kegiatan> iterator(Sumber sumber, MataKuliahIndex.Kelompok kelompok,
+                                                  List<? extends Kegiatan> daftarJenis) {
+        switch (sumber) {
+            case PENCARIAN:
+                PrimitiveIterator.OfInt ids = manager.getPencarianIndex().iterator(kataKunci);
+                return new Iterator<Kegiatan>() {
+                    @Override
+                    public boolean hasNext() {
+                        return ids.hasNext();
+                    }
+
+                    @Override
+                    public Kegiatan next() {
+                        return manager.getKegiatanById(ids.nextInt());
+                    }
+                };
+            case TANGGAL:
+                return manager.getTanggalIndex().iterator(tanggalDari, tanggalSampai);
+            case MATA_KULIAH:
+                return rangkai(daftarMataKuliah(kelompok).iterator());
+            case JENIS:
+                return daftarJenis.iterator();
+            default:
+                return manager.semuaKegiatan().iterator();
+        }
+    }
+
+    /**
+     * Kriteria yang tidak dijamin sumber, dicek per kandidat (null = tidak ada)
+     */
+    private Predicate<Kegiatan> kriteriaSisa(Sumber sumber, Set<String> query) {
+        List<Predicate<Kegiatan>> kriteria = new ArrayList<>();
+        Class<? extends Kegiatan> jenisDiminta = jenis;
+        boolean jenisDijamin = (sumber == Sumber.JENIS || sumber == Sumber.MATA_KULIAH)
+                && daftarJenis(jenisIndex()) != null;
+        if (jenisDiminta != null && !jenisDijamin) {
+            kriteria.add(jenisDiminta::isInstance);
+        }
+        if (adaTanggal && sumber != Sumber.TANGGAL) {
+            LocalDate dari = tanggalDari;
+            LocalDate sampai = tanggalSampai;
+            kriteria.add(k -> dalamRentang(k.getTanggal(), dari, sampai));
+        }
+        if (mataKuliah != null && sumber != Sumber.MATA_KULIAH) {
+            String key = MataKuliahIndex.normalisasi(mataKuliah);
+            kriteria.add(k -> {
+                String mk = MataKuliahIndex.getMataKuliah(k);
+                return mk != null && MataKuliahIndex.normalisasi(mk).equals(key);
+            });
+        }
+        if (status != null) {
+            String s = status;
+            kriteria.add(k -> s.equalsIgnoreCase(k.getStatus()));
+        }
+        if (adaDeadline) {
+            LocalDate dari = deadlineDari;
+            LocalDate sampai = deadlineSampai;
+            kriteria.add(k -> k instanceof KegiatanTugas
+                    && dalamRentang(((KegiatanTugas) k).getDeadline(), dari, sampai));
+        }
+        if (!query.isEmpty() && sumber != Sumber.PENCARIAN) {
+            PencarianIndex pencarianIndex = manager.getPencarianIndex();
+            kriteria.add(k -> pencarianIndex.cocok(k.getId(), query));
+        }
+        return kriteria.stream().reduce(Predicate::and).orElse(null);
+    }
+
+    private static boolean dalamRentang(LocalDate tanggal, LocalDate dari, LocalDate sampai) {
+        return tanggal != null
+                && (dari == null || !tanggal.isBefore(dari))
+                && (sampai == null || !tanggal.isAfter(sampai));
+    }
+
+    // Dipanggil cursor di bawah lock JadwalManager
+    private List<Kegiatan> peringkat(String kata, Predicate<Kegiatan> filter, int k) {
+        int[] ids = manager.getPencarianIndex().cariRanking(kata,
+                filter == null ? null : id -> filter.test(manager.getKegiatanById(id)), k);
+        List<Kegiatan> hasil = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            hasil.add(manager.getKegiatanById(id));
+        }
+        return hasil;
+    }
+
+    private static List<Kegiatan> urutkan(Iterator<? extends Kegiatan> kandidat, Predicate<Kegiatan> filter,
+                                          Comparator<? super Kegiatan> urut, int batas) {
+        if (batas == Integer.MAX_VALUE) {
+            List<Kegiatan> hasil = new ArrayList<>();
+            while (kandidat.hasNext()) {
+                Kegiatan k = kandidat.next();
+                if (filter == null || filter.test(k)) {
+                    hasil.add(k);
+                }
+            }
+            hasil.sort(urut);
+            return hasil;
+        }
+
+        // Top-k: heap berisi k terbaik sejauh ini, yang terburuk di puncak
+        PriorityQueue<Kegiatan> heap = new PriorityQueue<>(Math.min(batas, 1024) + 1, Collections.reverseOrder(urut));
+        while (kandidat.hasNext()) {
+            Kegiatan k = kandidat.next();
+            if (filter == null || filter.test(k)) {
+                heap.add(k);
+                if (heap.size() > batas) {
+                    heap.poll();
+                }
+            }
+        }
+        List<Kegiatan> hasil = new ArrayList<>(heap);
+        hasil.sort(urut);
+        return hasil;
+    }
+
+    // Hasil yang harus dikumpulkan dulu (urut / ranking) baru dihitung saat cursor pertama kali dibaca
+    private static Iterator<Kegiatan> malas(Supplier<List<Kegiatan>> hitung) {
+        return new Iterator<Kegiatan>() {
+            private Iterator<Kegiatan> hasil;
+
+            @Override
+            public boolean hasNext() {
+                if (hasil == null) {
+                    hasil = hitung.get().iterator();
+                }
+                return hasil.hasNext();
+            }
+
+            @Override
+            public Kegiatan next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return hasil.next();
+            }
+        };
+    }
+
+    private static Iterator<Kegiatan> rangkai(Iterator<List<? extends Kegiatan>> daftar) {
+        return new Iterator<Kegiatan>() {
+            private Iterator<? extends Kegiatan> sekarang = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!sekarang.hasNext() && daftar.hasNext()) {
+                    sekarang = daftar.next().iterator();
+                }
+                return sekarang.hasNext();
+            }
+
+            @Override
+            public Kegiatan next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return sekarang.next();
+            }
+        };
+    }
+
+    // ============ CURSOR ============
+
+    /**
+     * Hasil query yang diambil bertahap. Setiap pengambilan memegang lock JadwalManager
+     * sebentar (paling banyak PERIKSA_PER_LOCK kandidat), jadi hot reload tidak tertahan
+     * selama hasil diproses. Kalau data berubah di antara dua pengambilan, hasNext()/next()
+     * melempar ConcurrentModificationException; jalankan ulang query-nya.
+     */
+    public static final class Cursor implements Iterator<Kegiatan> {
+        private static final int UKURAN_BATCH = 256;
+        private static final int PERIKSA_PER_LOCK = 4096;
+
+        private final JadwalManager manager;
+        private final int versi;
+        private final String rencana;
+        private final Predicate<Kegiatan> filter;
+        private Iterator<? extends Kegiatan> kandidat; // null = sumber habis / batas tercapai
+        private int sisa;
+        private final ArrayDeque<Kegiatan> siap = new ArrayDeque<>();
+
+        // Constructor
+        private Cursor(JadwalManager manager, int versi, String rencana, Iterator<? extends Kegiatan> kandidat,
+                       Predicate<Kegiatan> filter, int batas) {
+            this.manager = manager;
+            this.versi = versi;
+            this.rencana = rencana;
+            this.kandidat = batas > 0 ? kandidat : null;
+            this.filter = filter;
+            this.sisa = batas;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (siap.isEmpty() && kandidat != null) {
+                ambil();
+            }
+            return !siap.isEmpty();
+        }
+
+        @Override
+        public Kegiatan next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return siap.poll();
+        }
+
+        private void ambil() {
+            synchronized (manager) {
+                if (manager.getVersi() != versi) {
+                    kandidat = null;
+                    throw new ConcurrentModificationException("Data kegiatan berubah selama query dibaca");
+                }
+                for (int periksa = 0; periksa < PERIKSA_PER_LOCK && siap.size() < UKURAN_BATCH
+                        && sisa > 0 && kandidat.hasNext(); periksa++) {
+                    Kegiatan k = kandidat.next();
+                    if (filter == null || filter.test(k)) {
+                        siap.add(k);
+                        sisa--;
+                    }
+                }
+                if (sisa == 0 || !kandidat.hasNext()) {
+                    kandidat = null;
+                }
+            }
+        }
+
+        /**
+         * Sisa hasil sekaligus, diambil dalam satu kali memegang lock (tidak bisa gagal di tengah)
+         */
+        public List<Kegiatan> ambilSemua() {
+            synchronized (manager) {
+                List<Kegiatan> hasil = new ArrayList<>();
+                while (hasNext()) {
+                    hasil.add(next());
+                }
+                return hasil;
+            }
+        }
+
+        public Stream<Kegiatan> stream() {
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+        }
+
+        /**
+         * Sumber kandidat yang dipilih planner, untuk debugging
+         */
+        public String getRencana() {
+            return rencana;
+        }
+    }
+}
\ No newline at end of file
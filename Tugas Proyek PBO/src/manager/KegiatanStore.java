@@ -0,0 +1,144 @@
+package manager;
+
+import model.*;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * KegiatanStore - Antarmuka storage engine (SPI) untuk data kegiatan
+ * JadwalManager hanya bergantung pada antarmuka ini, jadi cara penyimpanan
+ * bisa diganti tanpa mengubah logika CRUD.
+ *
+ * Implementasi bawaan (pilih lewat -Djadwal.store=...):
+ * memory      : InMemoryStore, tidak menulis ke disk (testing / demo)
+ * text        : TextFileStore, file pipe-delimited
+ * binary      : BinaryFileStore, file KegiatanCodec (default)
+ * mmap        : MappedFileStore, file biner besar selalu dibaca lewat memory-mapping
+ * partitioned : PartitionedFileStore, satu file biner per bulan
+ */
+public interface KegiatanStore {
+    String PROPERTY = "jadwal.store";
+
+    /**
+     * Store sesuai system property jadwal.store (default: binary)
+     */
+    static KegiatanStore fromSystemProperty() {
+        return DataManager.createStore(System.getProperty(PROPERTY, "binary"));
+    }
+
+    /**
+     * Nama / lokasi store untuk pesan ke user
+     */
+    String getName();
+
+    /**
+     * Apakah data tersimpan permanen (false untuk store in-memory)
+     */
+    default boolean isPersistent() {
+        return true;
+    }
+
+    boolean exists();
+
+    /**
+     * Satu file yang memuat seluruh data (untuk dipantau perubahannya dari luar),
+     * null kalau store tidak punya file data tunggal
+     */
+    default String getDataFile() {
+        return null;
+    }
+
+    // ============ BACA ============
+
+    /**
+     * Muat semua kegiatan
+     */
+    List<Kegiatan> load();
+
+    /**
+     * Baca kegiatan satu per satu tanpa memuat semuanya sekaligus (kalau format mendukung).
+     * Stream harus di-close (try-with-resources) supaya file ikut ditutup.
+     */
+    Stream<Kegiatan> stream();
+
+    /**
+     * Baca record yang ditambahkan di akhir file data mulai byte offset ke hasil.
+     * Kembalikan offset sesudah record utuh terakhir (record yang masih terpotong
+     * dibaca lagi pada pemanggilan berikutnya), atau -1 kalau store tidak mendukung.
+     */
+    default long loadTail(long offset, List<Kegiatan> hasil) {
+        return -1;
+    }
+
+    // ============ TULIS ============
+
+    /**
+     * Ganti seluruh isi store (snapshot penuh, atomik)
+     */
+    boolean saveAll(List<Kegiatan> daftarKegiatan);
+
+    /**
+     * Seperti saveAll, dengan versi snapshot yang naik setiap kali snapshot diambil.
+     * Store boleh menggabungkan save bersamaan dan hanya menulis versi tertinggi.
+     */
+    default boolean saveAll(List<Kegiatan> daftarKegiatan, long versi) {
+        return saveAll(daftarKegiatan);
+    }
+
+    /**
+     * Tambah satu kegiatan di akhir data
+     */
+    boolean append(Kegiatan kegiatan);
+
+    /**
+     * Ganti kegiatan dengan ID yang sama; false kalau tidak ada
+     */
+    boolean update(Kegiatan kegiatan);
+
+    /**
+     * Hapus kegiatan berdasarkan ID; false kalau tidak ada
+     */
+    boolean delete(int id);
+
+    boolean deleteAll();
+
+    // ============ BACKUP ============
+
+    /**
+     * Backup seluruh data ke satu file (opsional gzip)
+     */
+    boolean backup(String backupFileName, boolean compress);
+
+    /**
+     * File tunggal yang di-backup / di-restore oleh BackupStore,
+     * null kalau store tidak punya file data
+     */
+    String getBackupSourceFile();
+
+    /**
+     * Siapkan file sumber backup (misalnya gabungkan partisi ke file sementara)
+     */
+    boolean prepareBackupSource();
+
+    /**
+     * Muat salinan file sumber backup (hasil restore BackupStore ke file lain)
+     * tanpa menyentuh data store; kosong kalau store tidak punya file sumber backup
+     */
+    default List<Kegiatan> loadBackupCopy(String fileName) {
+        return List.of();
+    }
+
+    /**
+     * Bereskan file sementara; kalau restored, muat ulang isi file sumber ke store
+     */
+    boolean finishBackupSource(boolean restored);
+
+    // ============ INTEGRITAS ============
+
+    /**
+     * Periksa checksum file data (fsck) tanpa memuat data
+     */
+    default IntegrityChecker.Report checkIntegrity() {
+        return IntegrityChecker.emptyReport(getName());
+    }
+}
\ No newline at end of file
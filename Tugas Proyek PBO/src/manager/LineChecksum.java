@@ -0,0 +1,156 @@
+package manager;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * LineChecksum - CRC32C per baris untuk file data teks
+ * Baris ditulis sebagai "<data>|#<crc32c 8 digit hex>", checksum dihitung dari byte
+ * data dalam charset default (sama dengan charset file).
+ * File data yang ditulis dengan checksum diawali baris HEADER; di file itu baris tanpa
+ * checksum dianggap rusak (misalnya potongan record yang terbelah newline). File lama
+ * tanpa HEADER tetap bisa dibaca, baris tanpa checksum-nya hanya tidak bisa diverifikasi.
+ */
+final class LineChecksum {
+    static final int SUFFIX_LENGTH = 10; // "|#" + 8 hex
+    private static final Charset CHARSET = Charset.defaultCharset();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /**
+     * Baris pertama file data teks yang semua barisnya ber-checksum
+     */
+    static final String HEADER = "#jadwal-teks crc32c";
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+
+    private LineChecksum() {
+    }
+
+    /**
+     * Tambahkan checksum di akhir baris
+     */
+    static String seal(String line) {
+        int crc = crc(line.getBytes(CHARSET));
+        char[] suffix = new char[SUFFIX_LENGTH];
+        suffix[0] = '|';
+        suffix[1] = '#';
+        for (int i = 0; i < 8; i++) {
+            suffix[2 + i] = HEX[(crc >>> (28 - 4 * i)) & 0xF];
+        }
+        return line + new String(suffix);
+    }
+
+    static boolean isHeader(String line) {
+        return HEADER.equals(line);
+    }
+
+    static boolean isHeader(ByteBuffer buf, int start, int end) {
+        if (end - start != HEADER_BYTES.length) {
+            return false;
+        }
+        for (int i = 0; i < HEADER_BYTES.length; i++) {
+            if (buf.get(start + i) != HEADER_BYTES[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * True kalau file diawali HEADER (semua baris wajib punya checksum)
+     */
+    static boolean isSealed(FileChannel channel) throws IOException {
+        ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES.length);
+        while (head.hasRemaining() && channel.read(head, head.position()) > 0) {
+            // baca sampai panjang HEADER (atau file habis)
+        }
+        return isHeader(head, 0, head.position());
+    }
+
+    /**
+     * Cek checksum baris dan kembalikan bagian datanya. Baris tanpa checksum
+     * hanya diterima kalau file-nya belum bertanda HEADER (sealed = false).
+     * IllegalArgumentException kalau checksum tidak ada / tidak cocok.
+     */
+    static String verify(String line, boolean sealed) {
+        int dataEnd = line.length() - SUFFIX_LENGTH;
+        if (dataEnd < 0 || line.charAt(dataEnd) != '|' || line.charAt(dataEnd + 1) != '#') {
+            if (sealed) {
+                throw new IllegalArgumentException("Baris tanpa checksum");
+            }
+            return line;
+        }
+        if (!isHex(line, dataEnd + 2)) {
+            throw new IllegalArgumentException("Checksum baris rusak");
+        }
+        int expected = (int) Long.parseLong(line.substring(dataEnd + 2), 16);
+        String data = line.substring(0, dataEnd);
+        if (crc(data.getBytes(CHARSET)) != expected) {
+            throw new IllegalArgumentException("Checksum baris tidak cocok");
+        }
+        return data;
+    }
+
+    /**
+     * Versi byte dari verify(): kembalikan akhir data (tanpa checksum), end kalau
+     * baris tidak punya checksum di file lama. -1 kalau checksum tidak ada / tidak cocok.
+     */
+    static int verify(ByteBuffer buf, int start, int end, CRC32C crc, boolean sealed) {
+        int dataEnd = end - SUFFIX_LENGTH;
+        if (!hasChecksum(buf, start, end)) {
+            return sealed ? -1 : end;
+        }
+        int expected = 0;
+        for (int i = dataEnd + 2; i < end; i++) {
+            int digit = hexValue(buf.get(i));
+            if (digit < 0) {
+                return -1;
+            }
+            expected = (expected << 4) | digit;
+        }
+        ByteBuffer data = buf.duplicate();
+        data.limit(dataEnd).position(start);
+        crc.reset();
+        crc.update(data);
+        return (int) crc.getValue() == expected ? dataEnd : -1;
+    }
+
+    /**
+     * Baris dianggap punya checksum kalau ada penanda "|#" di posisinya
+     */
+    static boolean hasChecksum(ByteBuffer buf, int start, int end) {
+        int dataEnd = end - SUFFIX_LENGTH;
+        return dataEnd >= start && buf.get(dataEnd) == '|' && buf.get(dataEnd + 1) == '#';
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+
+    private static boolean isHex(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            if (hexValue(s.charAt(i)) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hexValue(int b) {
+        if (b >= '0' && b <= '9') {
+            return b - '0';
+        }
+        if (b >= 'a' && b <= 'f') {
+            return b - 'a' + 10;
+        }
+        if (b >= 'A' && b <= 'F') {
+            return b - 'A' + 10;
+        }
+        return -1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,163 @@
+package manager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * LineTokenizer - Pemecah field baris data tanpa regex
+ * Posisi setiap field '|' dicatat di array int, lalu field dibaca langsung
+ * dari String aslinya. Tanggal (yyyy-MM-dd), waktu (HH:mm) dan angka dihitung
+ * dari digit-nya langsung (DigitParser); String hanya dibuat untuk field teks yang disimpan model.
+ * Backslash, '|' dan CR/LF di dalam field teks di-escape dengan backslash (lihat escape),
+ * jadi satu kegiatan selalu tepat satu baris walaupun judul/topik-nya multi-baris.
+ * Satu instance per thread (lihat forLine), jadi aman dipakai loader paralel.
+ */
+class LineTokenizer {
+    private static final char SEPARATOR = '|';
+    private static final char ESCAPE = '\\';
+    private static final int MAX_FIELDS = 11;
+
+    private static final ThreadLocal<LineTokenizer> PER_THREAD =
+            ThreadLocal.withInitial(LineTokenizer::new);
+
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private String line;
+    private final DigitParser.Sumber sumber = i -> line.charAt(i);
+    private int fieldCount;
+
+    /**
+     * Tokenizer milik thread ini, sudah di-reset ke baris yang diberikan
+     */
+    static LineTokenizer forLine(String line) {
+        LineTokenizer tokenizer = PER_THREAD.get();
+        tokenizer.reset(line);
+        return tokenizer;
+    }
+
+    void reset(String line) {
+        this.line = line;
+        this.fieldCount = 0;
+
+        int begin = 0;
+        while (fieldCount < MAX_FIELDS) {
+            int sep = nextSeparator(begin);
+            fieldStart[fieldCount] = begin;
+            fieldEnd[fieldCount] = sep < 0 ? line.length() : sep;
+            fieldCount++;
+            if (sep < 0) {
+                break;
+            }
+            begin = sep + 1;
+        }
+    }
+
+    /**
+     * Posisi '|' berikutnya; '|' yang didahului '\\' berjumlah ganjil adalah isi field
+     */
+    private int nextSeparator(int from) {
+        int sep = line.indexOf(SEPARATOR, from);
+        while (sep > 0) {
+            int escapes = 0;
+            while (sep - escapes > from && line.charAt(sep - escapes - 1) == ESCAPE) {
+                escapes++;
+            }
+            if (escapes % 2 == 0) {
+                break;
+            }
+            sep = line.indexOf(SEPARATOR, sep + 1);
+        }
+        return sep;
+    }
+
+    int fieldCount() {
+        return fieldCount;
+    }
+
+    String field(int index) {
+        return unescape(line.substring(fieldStart[index], fieldEnd[index]));
+    }
+
+    boolean fieldEquals(int index, String expected) {
+        int length = fieldEnd[index] - fieldStart[index];
+        return length == expected.length()
+                && line.regionMatches(fieldStart[index], expected, 0, length);
+    }
+
+    int intField(int index) {
+        long value = DigitParser.parseInt(sumber, fieldStart[index], fieldEnd[index]);
+        // Bentuk tidak umum (kosong / sangat panjang / bukan digit) -> biar Integer.parseInt yang menilai
+        return value != DigitParser.BUKAN_ANGKA ? (int) value : Integer.parseInt(field(index));
+    }
+
+    LocalDate dateField(int index) {
+        LocalDate date = DigitParser.parseDate(sumber, fieldStart[index], fieldEnd[index]);
+        return date != null ? date : LocalDate.parse(field(index));
+    }
+
+    LocalTime timeField(int index) {
+        LocalTime time = DigitParser.parseTime(sumber, fieldStart[index], fieldEnd[index]);
+        return time != null ? time : LocalTime.parse(field(index));
+    }
+
+    // ============ ESCAPE ============
+
+    /**
+     * Tulis isi field teks ke baris data dalam bentuk ter-escape
+     */
+    static void escape(StringBuilder line, String value) {
+        if (value == null) {
+            line.append(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case ESCAPE:
+                    line.append(ESCAPE).append(ESCAPE);
+                    break;
+                case SEPARATOR:
+                    line.append(ESCAPE).append(SEPARATOR);
+                    break;
+                case '\n':
+                    line.append(ESCAPE).append('n');
+                    break;
+                case '\r':
+                    line.append(ESCAPE).append('r');
+                    break;
+                default:
+                    line.append(c);
+            }
+        }
+    }
+
+    /**
+     * Kebalikan escape. Backslash yang tidak diikuti kode escape dibiarkan apa adanya
+     * (data lama yang ditulis sebelum ada escape).
+     */
+    static String unescape(String field) {
+        int i = field.indexOf(ESCAPE);
+        if (i < 0) {
+            return field;
+        }
+        StringBuilder value = new StringBuilder(field.length());
+        value.append(field, 0, i);
+        for (; i < field.length(); i++) {
+            char c = field.charAt(i);
+            char next = i + 1 < field.length() ? field.charAt(i + 1) : 0;
+            if (c == ESCAPE && (next == ESCAPE || next == SEPARATOR)) {
+                value.append(next);
+                i++;
+            } else if (c == ESCAPE && next == 'n') {
+                value.append('\n');
+                i++;
+            } else if (c == ESCAPE && next == 'r') {
+                value.append('\r');
+                i++;
+            } else {
+                value.append(c);
+            }
+        }
+        return value.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,290 @@
+package manager;
+
+import model.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * MappedDataLoader - Load file data lewat memory-mapped file (FileChannel.map)
+ * Record di-decode langsung dari buffer hasil mapping: tidak ada String per baris,
+ * String hanya dibuat untuk field akhir yang disimpan di model.
+ * File dipetakan per jendela (maks. WINDOW_SIZE) supaya file > 2 GB tetap bisa dibaca.
+ */
+public class MappedDataLoader {
+    private static final long WINDOW_SIZE = 256L * 1024 * 1024; // 256 MB
+    private static final byte SEPARATOR = '|';
+    private static final byte ESCAPE = '\\';
+    private static final int MAX_FIELDS = 11;
+
+    private static final byte[] TYPE_BELAJAR = "KegiatanBelajar".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TYPE_TUGAS = "KegiatanTugas".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TYPE_UJIAN = "KegiatanUjian".getBytes(StandardCharsets.US_ASCII);
+
+    // File teks ditulis lewat FileWriter, jadi memakai charset default platform
+    private final Charset textCharset = Charset.defaultCharset();
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private final CRC32C crc = new CRC32C();
+    private byte[] scratch = new byte[256];
+    private int skippedCount;
+    // File teks bertanda LineChecksum.HEADER: checksum baris wajib ada
+    private boolean sealed;
+
+    // ============ BINARY ============
+
+    /**
+     * Load file biner (format KegiatanCodec)
+     */
+    public List<Kegiatan> loadBinary(File file) throws IOException {
+        List<Kegiatan> daftarKegiatan = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int version = KegiatanCodec.readHeader(channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    Math.min(size, KegiatanCodec.HEADER_SIZE)));
+
+            KegiatanCodec codec = new KegiatanCodec(version);
+            long offset = KegiatanCodec.HEADER_SIZE;
+
+            while (offset < size) {
+                long length = Math.min(WINDOW_SIZE, size - offset);
+                boolean lastWindow = offset + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                long nextOffset = offset + length;
+
+                while (window.hasRemaining()) {
+                    int recordStart = window.position();
+                    try {
+                        daftarKegiatan.add(codec.readRecord(window));
+                    } catch (RuntimeException e) {
+                        if (e instanceof BufferUnderflowException && !lastWindow && recordStart > 0) {
+                            // Record terpotong batas jendela, petakan ulang mulai dari awal record
+                            nextOffset = offset + recordStart;
+                            break;
+                        }
+
+                        skippedCount++;
+                        // Versi 2: lanjut dari frame valid berikutnya (bisa di jendela berikutnya)
+                        int next = version >= 2 ? KegiatanCodec.resync(window, recordStart + 1, !lastWindow) : -1;
+                        if (next < 0 && (lastWindow || version < 2)) {
+                            System.err.println("⚠️  Data rusak mulai byte " + (offset + recordStart) + ", sisa file di-skip");
+                            nextOffset = size;
+                            break;
+                        }
+                        System.err.println("⚠️  Data rusak mulai byte " + (offset + recordStart) + ", di-skip");
+                        if (next < 0) {
+                            break;
+                        }
+                        window.position(next);
+                    }
+                }
+                offset = nextOffset;
+            }
+        }
+
+        return daftarKegiatan;
+    }
+
+    // ============ TEXT ============
+
+    /**
+     * Load file teks pipe-delimited (format DataManager)
+     */
+    public List<Kegiatan> loadText(File file) throws IOException {
+        List<Kegiatan> daftarKegiatan = new ArrayList<>();
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long offset = 0;
+            sealed = LineChecksum.isSealed(channel);
+
+            while (offset < size) {
+                long length = Math.min(WINDOW_SIZE, size - offset);
+                boolean lastWindow = offset + length == size;
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                int limit = (int) length;
+                int lineStart = 0;
+
+                while (true) {
+                    int lineEnd = indexOf(window, (byte) '\n', lineStart, limit);
+                    if (lineEnd < 0) {
+                        if (!lastWindow) {
+                            if (lineStart == 0) {
+                                throw new IOException("Baris lebih panjang dari " + WINDOW_SIZE + " byte");
+                            }
+                            // Baris terpotong batas jendela, petakan ulang mulai dari awal baris
+                            offset += lineStart;
+                        } else {
+                            if (lineStart < limit) {
+                                addLine(window, lineStart, limit, daftarKegiatan);
+                            }
+                            offset = size;
+                        }
+                        break;
+                    }
+
+                    addLine(window, lineStart, lineEnd, daftarKegiatan);
+                    lineStart = lineEnd + 1;
+                }
+            }
+        }
+
+        return daftarKegiatan;
+    }
+
+    /**
+     * Jumlah baris / record rusak yang di-skip pada load terakhir
+     */
+    public int getSkippedCount() {
+        return skippedCount;
+    }
+
+    private void addLine(MappedByteBuffer buf, int start, int end, List<Kegiatan> daftarKegiatan) {
+        if (end > start && buf.get(end - 1) == '\r') {
+            end--;
+        }
+        if (LineChecksum.isHeader(buf, start, end)) {
+            return;
+        }
+        try {
+            Kegiatan kegiatan = parseLine(buf, start, end);
+            if (kegiatan != null) {
+                daftarKegiatan.add(kegiatan);
+            }
+        } catch (Exception e) {
+            skippedCount++;
+            System.err.println("⚠️  Skip baris yang rusak: " + string(buf, start, end));
+        }
+    }
+
+    /**
+     * Parse satu baris langsung dari buffer (semantik sama dengan DataManager.parseLine,
+     * termasuk cek checksum baris)
+     */
+    private Kegiatan parseLine(MappedByteBuffer buf, int start, int end) {
+        end = LineChecksum.verify(buf, start, end, crc, sealed);
+        if (end < 0) {
+            throw new IllegalArgumentException("Checksum baris tidak ada / tidak cocok");
+        }
+
+        int fieldCount = 0;
+        int fieldBegin = start;
+        for (int i = start; i <= end && fieldCount < MAX_FIELDS; i++) {
+            if (i < end - 1 && buf.get(i) == ESCAPE) {
+                i++; // karakter sesudah backslash adalah isi field (lihat LineTokenizer.escape)
+                continue;
+            }
+            if (i == end || buf.get(i) == SEPARATOR) {
+                fieldStart[fieldCount] = fieldBegin;
+                fieldEnd[fieldCount] = i;
+                fieldCount++;
+                fieldBegin = i + 1;
+            }
+        }
+
+        if (fieldCount < 7) {
+            throw new IllegalArgumentException("Format data tidak valid");
+        }
+
+        int id = parseInt(buf, fieldStart[0], fieldEnd[0]);
+        String judul = field(buf, 2);
+        LocalDate tanggal = parseDate(buf, fieldStart[3], fieldEnd[3]);
+        LocalTime waktuMulai = parseTime(buf, fieldStart[4], fieldEnd[4]);
+        LocalTime waktuSelesai = parseTime(buf, fieldStart[5], fieldEnd[5]);
+
+        Kegiatan kegiatan = null;
+
+        if (fieldEquals(buf, 1, TYPE_BELAJAR)) {
+            if (fieldCount >= 9) {
+                kegiatan = new KegiatanBelajar(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, field(buf, 7), field(buf, 8));
+            }
+
+        } else if (fieldEquals(buf, 1, TYPE_TUGAS)) {
+            if (fieldCount >= 11) {
+                LocalDate deadline = parseDate(buf, fieldStart[8], fieldEnd[8]);
+                KegiatanTugas kt = new KegiatanTugas(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, field(buf, 7), deadline, field(buf, 9));
+                kt.updateProgress(parseInt(buf, fieldStart[10], fieldEnd[10]));
+                kegiatan = kt;
+            }
+
+        } else if (fieldEquals(buf, 1, TYPE_UJIAN)) {
+            if (fieldCount >= 11) {
+                kegiatan = new KegiatanUjian(id, judul, tanggal, waktuMulai,
+                        waktuSelesai, field(buf, 7), field(buf, 8),
+                        field(buf, 9), field(buf, 10));
+            }
+        }
+
+        if (kegiatan != null) {
+            kegiatan.ubahStatus(field(buf, 6));
+        }
+
+        return kegiatan;
+    }
+
+    // ============ FIELD DECODING ============
+
+    private String field(MappedByteBuffer buf, int index) {
+        return LineTokenizer.unescape(string(buf, fieldStart[index], fieldEnd[index]));
+    }
+
+    private String string(MappedByteBuffer buf, int start, int end) {
+        int length = end - start;
+        if (length > scratch.length) {
+            scratch = new byte[Math.max(scratch.length * 2, length)];
+        }
+        buf.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, textCharset);
+    }
+
+    private boolean fieldEquals(MappedByteBuffer buf, int index, byte[] expected) {
+        int start = fieldStart[index];
+        if (fieldEnd[index] - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buf.get(start + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int parseInt(MappedByteBuffer buf, int start, int end) {
+        long value = DigitParser.parseInt(buf::get, start, end);
+        // Bentuk tidak umum (kosong / sangat panjang / bukan digit) -> biar Integer.parseInt yang menilai
+        return value != DigitParser.BUKAN_ANGKA ? (int) value : Integer.parseInt(string(buf, start, end));
+    }
+
+    private LocalDate parseDate(MappedByteBuffer buf, int start, int end) {
+        LocalDate date = DigitParser.parseDate(buf::get, start, end);
+        return date != null ? date : LocalDate.parse(string(buf, start, end));
+    }
+
+    private LocalTime parseTime(MappedByteBuffer buf, int start, int end) {
+        LocalTime time = DigitParser.parseTime(buf::get, start, end);
+        return time != null ? time : LocalTime.parse(string(buf, start, end));
+    }
+
+    private static int indexOf(MappedByteBuffer buf, byte target, int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buf.get(i) == target) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
\ No newline at end of file
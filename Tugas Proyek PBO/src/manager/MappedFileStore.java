@@ -0,0 +1,58 @@
+package manager;
+
+import model.*;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * MappedFileStore - File biner yang dibaca lewat memory-mapping
+ * Format file sama dengan BinaryFileStore (bisa dipakai bergantian),
+ * bedanya load & stream file besar tidak pernah menyalin seluruh file ke heap,
+ * apa pun LoadMode yang aktif. File di bawah mappedLoadThreshold tetap dibaca
+ * biasa: store ini menimpa file yang sama setiap save, dan di Windows file yang
+ * masih ter-mapping (sampai GC) tidak bisa ditimpa.
+ */
+public class MappedFileStore extends BinaryFileStore {
+
+    // Constructor
+    public MappedFileStore(String fileName, String legacyTextFile) {
+        super(fileName, legacyTextFile);
+    }
+
+    @Override
+    public String getName() {
+        return fileName + " (memory-mapped)";
+    }
+
+    @Override
+    protected List<Kegiatan> readFile() {
+        boolean besar = DataManager.isLargeFile(new File(fileName).length());
+        return DataManager.loadBinary(fileName,
+                besar ? DataManager.LoadMode.MAPPED : DataManager.LoadMode.SEQUENTIAL);
+    }
+
+    /**
+     * File > 2 GB tidak muat dalam satu mapping, dibaca per jendela lewat load()
+     */
+    @Override
+    public Stream<Kegiatan> stream() {
+        if (new File(fileName).length() > Integer.MAX_VALUE) {
+            return load().stream();
+        }
+        return super.stream();
+    }
+
+    @Override
+    protected ByteBuffer openBuffer() throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            // Mapping (file besar) tetap berlaku walaupun channel sudah ditutup
+            return DataManager.readRegion(channel, 0, channel.size());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package manager;
+
+import model.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * MataKuliahIndex - Index kegiatan per mata kuliah (tanpa beda huruf besar/kecil)
+ * Key dinormalisasi (trim + huruf kecil), isi tiap mata kuliah dipisah per jenis
+ * kegiatan, jadi query & statistik satu mata kuliah sebanding dengan jumlah
+ * kegiatan mata kuliah itu saja. Tidak thread-safe; pemakai memegang lock sendiri.
+ */
+final class MataKuliahIndex {
+
+    /**
+     * Semua kegiatan satu mata kuliah, dipisah per jenis (urutan = urutan ditambahkan)
+     */
+    static final class Kelompok {
+        final String nama; // ejaan pertama yang ditemukan, untuk ditampilkan
+        final List<KegiatanBelajar> belajar = new ArrayList<>();
+        final List<KegiatanTugas> tugas = new ArrayList<>();
+        final List<KegiatanUjian> ujian = new ArrayList<>();
+
+        Kelompok(String nama) {
+            this.nama = nama;
+        }
+
+        boolean isEmpty() {
+            return belajar.isEmpty() && tugas.isEmpty() && ujian.isEmpty();
+        }
+
+        List<Kegiatan> semua() {
+            List<Kegiatan> hasil = new ArrayList<>(belajar.size() + tugas.size() + ujian.size());
+            hasil.addAll(belajar);
+            hasil.addAll(tugas);
+            hasil.addAll(ujian);
+            return hasil;
+        }
+    }
+
+    private final Map<String, Kelompok> perMataKuliah = new HashMap<>();
+
+    static String normalisasi(String mataKuliah) {
+        return mataKuliah == null ? "" : mataKuliah.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Mata kuliah dari kegiatan (null kalau jenis kegiatan tidak punya mata kuliah)
+     */
+    static String getMataKuliah(Kegiatan k) {
+        if (k instanceof KegiatanBelajar) return ((KegiatanBelajar) k).getMataKuliah();
+        if (k instanceof KegiatanTugas) return ((KegiatanTugas) k).getMataKuliah();
+        if (k instanceof KegiatanUjian) return ((KegiatanUjian) k).getMataKuliah();
+        return null;
+    }
+
+    void tambah(Kegiatan kegiatan) {
+        String mataKuliah = getMataKuliah(kegiatan);
+        if (mataKuliah == null) {
+            return;
+        }
+        Kelompok kelompok = perMataKuliah.computeIfAbsent(normalisasi(mataKuliah), key -> new Kelompok(mataKuliah.trim()));
+        if (kegiatan instanceof KegiatanBelajar) {
+            kelompok.belajar.add((KegiatanBelajar) kegiatan);
+        } else if (kegiatan instanceof KegiatanTugas) {
+            kelompok.tugas.add((KegiatanTugas) kegiatan);
+        } else {
+            kelompok.ujian.add((KegiatanUjian) kegiatan);
+        }
+    }
+
+    /**
+     * Hapus objek kegiatan ini (dicocokkan dengan identitas); biaya sebanding
+     * dengan jumlah kegiatan sejenis di mata kuliah yang sama
+     */
+    boolean hapus(Kegiatan kegiatan) {
+        String mataKuliah = getMataKuliah(kegiatan);
+        if (mataKuliah == null) {
+            return false;
+        }
+        String key = normalisasi(mataKuliah);
+        Kelompok kelompok = perMataKuliah.get(key);
+        if (kelompok == null) {
+            return false;
+        }
+
+        List<? extends Kegiatan> daftar = kegiatan instanceof KegiatanBelajar ? kelompok.belajar
+                : kegiatan instanceof KegiatanTugas ? kelompok.tugas : kelompok.ujian;
+        // Dari belakang: yang dihapus biasanya kegiatan yang baru ditambahkan
+        for (int i = daftar.size() - 1; i >= 0; i--) {
+            if (daftar.get(i) == kegiatan) {
+                daftar.remove(i);
+                if (kelompok.isEmpty()) {
+                    perMataKuliah.remove(key);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void clear() {
+        perMataKuliah.clear();
+    }
+
+    void bangunUlang(Collection<Kegiatan> daftar) {
+        clear();
+        for (Kegiatan k : daftar) {
+            tambah(k);
+        }
+    }
+
+    /**
+     * Kelompok untuk mata kuliah (huruf besar/kecil & spasi di tepi diabaikan), null kalau tidak ada
+     */
+    Kelompok get(String mataKuliah) {
+        return perMataKuliah.get(normalisasi(mataKuliah));
+    }
+
+    Collection<Kelompok> semua() {
+        return perMataKuliah.values();
+    }
+}
\ No newline at end of file
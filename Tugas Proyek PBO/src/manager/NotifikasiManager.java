@@ -25,69 +25,72 @@ public class NotifikasiManager {
         notifikasiAktif.clear();
         LocalDate today = LocalDate.now();
 
-        // Cek tugas yang mendekati deadline
-        for (KegiatanTugas tugas : jadwalManager.getKegiatanTugas()) {
-            if (tugas.getProgress() < 100) { // Hanya tugas yang belum selesai
-                long sisaHari = ChronoUnit.DAYS.between(today, tugas.getDeadline());
+        // View per jenis dari JadwalManager: tahan lock selama iterasi (hot reload)
+        synchronized (jadwalManager) {
+            // Cek tugas yang mendekati deadline
+            for (KegiatanTugas tugas : jadwalManager.viewTugas()) {
+                if (tugas.getProgress() < 100) { // Hanya tugas yang belum selesai
+                    long sisaHari = ChronoUnit.DAYS.between(today, tugas.getDeadline());
+
+                    if (sisaHari < 0) {
+                        // Sudah terlambat
+                        notifikasiAktif.add(String.format(
+                                "⚠️ TERLAMBAT: Tugas '%s' - Deadline: %s",
+                                tugas.getJudul(), tugas.getDeadline()
+                        ));
+                    } else if (sisaHari == 0) {
+                        // Hari ini deadline
+                        notifikasiAktif.add(String.format(
+                                "🔴 HARI INI: Deadline tugas '%s' - %s",
+                                tugas.getJudul(), tugas.getMataKuliah()
+                        ));
+                    } else if (sisaHari == 1) {
+                        // Besok deadline
+                        notifikasiAktif.add(String.format(
+                                "🟡 BESOK: Deadline tugas '%s' - %s",
+                                tugas.getJudul(), tugas.getMataKuliah()
+                        ));
+                    } else if (sisaHari <= 3) {
+                        // 2-3 hari lagi
+                        notifikasiAktif.add(String.format(
+                                "🟢 %d HARI LAGI: Deadline tugas '%s' - %s",
+                                sisaHari, tugas.getJudul(), tugas.getMataKuliah()
+                        ));
+                    }
+                }
+            }
 
-                if (sisaHari < 0) {
-                    // Sudah terlambat
-                    notifikasiAktif.add(String.format(
-                            "⚠️ TERLAMBAT: Tugas '%s' - Deadline: %s",
-                            tugas.getJudul(), tugas.getDeadline()
-                    ));
-                } else if (sisaHari == 0) {
-                    // Hari ini deadline
+            // Cek ujian yang akan datang
+            for (KegiatanUjian ujian : jadwalManager.viewUjian()) {
+                long sisaHari = ChronoUnit.DAYS.between(today, ujian.getTanggal());
+
+                if (sisaHari == 0) {
                     notifikasiAktif.add(String.format(
-                            "🔴 HARI INI: Deadline tugas '%s' - %s",
-                            tugas.getJudul(), tugas.getMataKuliah()
+                            "📝 UJIAN HARI INI: %s - %s (%s)",
+                            ujian.getJenisUjian(), ujian.getMataKuliah(), ujian.getWaktuMulai()
                     ));
                 } else if (sisaHari == 1) {
-                    // Besok deadline
                     notifikasiAktif.add(String.format(
-                            "🟡 BESOK: Deadline tugas '%s' - %s",
-                            tugas.getJudul(), tugas.getMataKuliah()
+                            "📚 UJIAN BESOK: %s - %s",
+                            ujian.getJenisUjian(), ujian.getMataKuliah()
                     ));
-                } else if (sisaHari <= 3) {
-                    // 2-3 hari lagi
+                } else if (sisaHari <= 7) {
                     notifikasiAktif.add(String.format(
-                            "🟢 %d HARI LAGI: Deadline tugas '%s' - %s",
-                            sisaHari, tugas.getJudul(), tugas.getMataKuliah()
+                            "📖 UJIAN %d HARI LAGI: %s - %s",
+                            sisaHari, ujian.getJenisUjian(), ujian.getMataKuliah()
                     ));
                 }
             }
-        }
-
-        // Cek ujian yang akan datang
-        for (KegiatanUjian ujian : jadwalManager.getKegiatanUjian()) {
-            long sisaHari = ChronoUnit.DAYS.between(today, ujian.getTanggal());
-
-            if (sisaHari == 0) {
-                notifikasiAktif.add(String.format(
-                        "📝 UJIAN HARI INI: %s - %s (%s)",
-                        ujian.getJenisUjian(), ujian.getMataKuliah(), ujian.getWaktuMulai()
-                ));
-            } else if (sisaHari == 1) {
-                notifikasiAktif.add(String.format(
-                        "📚 UJIAN BESOK: %s - %s",
-                        ujian.getJenisUjian(), ujian.getMataKuliah()
-                ));
-            } else if (sisaHari <= 7) {
-                notifikasiAktif.add(String.format(
-                        "📖 UJIAN %d HARI LAGI: %s - %s",
-                        sisaHari, ujian.getJenisUjian(), ujian.getMataKuliah()
-                ));
-            }
-        }
 
-        // Cek kegiatan belajar hari ini
-        for (KegiatanBelajar belajar : jadwalManager.getKegiatanBelajar()) {
-            if (belajar.getTanggal().isEqual(today) &&
-                    belajar.getStatus().equals("Belum Mulai")) {
-                notifikasiAktif.add(String.format(
-                        "📖 JADWAL BELAJAR: %s - %s (%s)",
-                        belajar.getMataKuliah(), belajar.getTopik(), belajar.getWaktuMulai()
-                ));
+            // Cek kegiatan belajar hari ini
+            for (KegiatanBelajar belajar : jadwalManager.viewBelajar()) {
+                if (belajar.getTanggal().isEqual(today) &&
+                        belajar.getStatus().equals("Belum Mulai")) {
+                    notifikasiAktif.add(String.format(
+                            "📖 JADWAL BELAJAR: %s - %s (%s)",
+                            belajar.getMataKuliah(), belajar.getTopik(), belajar.getWaktuMulai()
+                    ));
+                }
             }
         }
     }
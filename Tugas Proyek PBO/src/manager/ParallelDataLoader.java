@@ -0,0 +1,217 @@
+package manager;
+
+import model.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelDataLoader - Load file data teks secara paralel
+ * File dipotong menjadi beberapa chunk tepat di batas baris, setiap chunk
+ * di-parse di fork-join pool lewat DataManager.parseLine, lalu hasilnya
+ * digabung lagi sesuai urutan di file.
+ */
+public class ParallelDataLoader {
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;       // 1 MB
+    private static final long MAX_CHUNK_SIZE = 64L * 1024 * 1024; // 64 MB
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final ForkJoinPool pool;
+    // File teks ditulis lewat FileWriter, jadi memakai charset default platform
+    private final Charset textCharset = Charset.defaultCharset();
+    private final List<String> skippedLines = new ArrayList<>();
+    // File bertanda LineChecksum.HEADER: checksum baris wajib ada
+    private boolean sealed;
+
+    // Constructor
+    public ParallelDataLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelDataLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Load file teks, hasil tetap urut sesuai baris di file
+     */
+    public List<Kegiatan> loadText(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            sealed = LineChecksum.isSealed(channel);
+            long[] bounds = splitAtLineBoundaries(channel);
+            ChunkResult[] results = new ChunkResult[bounds.length - 1];
+
+            try {
+                pool.invoke(new ChunkTask(channel, bounds, results, 0, results.length));
+            } catch (UncheckedIOException e) {
+                throw new IOException(e.getMessage(), e);
+            }
+
+            int total = 0;
+            for (ChunkResult result : results) {
+                total += result.kegiatan.size();
+            }
+
+            List<Kegiatan> daftarKegiatan = new ArrayList<>(total);
+            skippedLines.clear();
+            for (ChunkResult result : results) {
+                daftarKegiatan.addAll(result.kegiatan);
+                skippedLines.addAll(result.skippedLines);
+            }
+            return daftarKegiatan;
+        }
+    }
+
+    /**
+     * Baris rusak yang di-skip pada load terakhir (urut sesuai file)
+     */
+    public List<String> getSkippedLines() {
+        return new ArrayList<>(skippedLines);
+    }
+
+    /**
+     * Tentukan batas chunk: kira-kira sama besar, tapi selalu tepat setelah '\n'
+     */
+    private long[] splitAtLineBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long target = size / (pool.getParallelism() * 4L);
+        target = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, target));
+
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = target;
+        while (position < size) {
+            long lineEnd = findNewline(channel, position, scan);
+            if (lineEnd < 0 || lineEnd + 1 >= size) {
+                break;
+            }
+            bounds.add(lineEnd + 1);
+            position = lineEnd + 1 + target;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    private static long findNewline(FileChannel channel, long from, ByteBuffer scan) throws IOException {
+        long position = from;
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                return -1;
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+    }
+
+    // ============ FORK-JOIN TASK ============
+
+    private static class ChunkResult {
+        final List<Kegiatan> kegiatan = new ArrayList<>();
+        final List<String> skippedLines = new ArrayList<>();
+    }
+
+    /**
+     * Bagi rentang chunk jadi dua sampai tersisa satu chunk, lalu parse chunk itu.
+     * Hasil ditaruh di slot masing-masing sehingga urutan file tetap terjaga.
+     */
+    private class ChunkTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final ChunkResult[] results;
+        private final int from;
+        private final int to;
+
+        ChunkTask(FileChannel channel, long[] bounds, ChunkResult[] results, int from, int to) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new ChunkTask(channel, bounds, results, from, mid),
+                        new ChunkTask(channel, bounds, results, mid, to));
+                return;
+            }
+
+            try {
+                results[from] = parseChunk(readChunk(bounds[from], bounds[from + 1]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String readChunk(long start, long end) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - start));
+            long position = start;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            return new String(buffer.array(), 0, buffer.position(), textCharset);
+        }
+
+        private ChunkResult parseChunk(String text) {
+            ChunkResult result = new ChunkResult();
+            int lineStart = 0;
+
+            while (lineStart < text.length()) {
+                int lineEnd = text.indexOf('\n', lineStart);
+                int next = lineEnd < 0 ? text.length() : lineEnd + 1;
+                if (lineEnd < 0) {
+                    lineEnd = text.length();
+                }
+                if (lineEnd > lineStart && text.charAt(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+
+                String line = text.substring(lineStart, lineEnd);
+                if (LineChecksum.isHeader(line)) {
+                    lineStart = next;
+                    continue;
+                }
+                try {
+                    Kegiatan kegiatan = DataManager.parseLine(line, sealed);
+                    if (kegiatan != null) {
+                        result.kegiatan.add(kegiatan);
+                    }
+                } catch (Exception e) {
+                    result.skippedLines.add(line);
+                }
+                lineStart = next;
+            }
+
+            return result;
+        }
+    }
+}
\ No newline at end of file
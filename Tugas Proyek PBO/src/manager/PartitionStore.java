@@ -0,0 +1,600 @@
+package manager;
+
+import model.*;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+/**
+ * PartitionStore - Penyimpanan data per bulan (satu file per partisi)
+ * Nama file: <yyyy-MM>.part, isinya header kecil lalu record KegiatanCodec.
+ *
+ * Header (41 byte): "JDWP", versi, tanggal min & max (epoch-day), jumlah record,
+ *                   jumlah belajar/tugas/ujian, CRC32 isi record.
+ * Versi partisi sama dengan versi record KegiatanCodec di dalamnya
+ * (versi 2: setiap record punya frame + CRC32C sendiri).
+ *
+ * Query rentang tanggal hanya membuka partisi yang overlap (dilihat dari nama file
+ * lalu min/max di header). Saat save, partisi yang isinya sama (panjang + CRC32)
+ * tidak ditulis ulang; partisi yang mendapat record baru ditulis lebih dulu daripada
+ * yang kehilangan record, jadi record yang pindah bulan tidak hilang kalau save terputus.
+ * CRC32 di header diperiksa setiap kali partisi dibaca.
+ *
+ * Urutan tambah (urutan daftar kegiatan) disimpan terpisah di urutan.idx: "JDWU" lalu
+ * ID (int) sesuai urutan. File ini ditulis setelah partisi, jadi kalau save terputus
+ * kegiatan yang ID-nya belum tercatat cukup ditaruh di akhir saat load.
+ */
+public class PartitionStore {
+    static final byte[] MAGIC = {'J', 'D', 'W', 'P'};
+    static final int VERSION = KegiatanCodec.VERSION;
+    static final int HEADER_SIZE = MAGIC.length + 1 + 8 + 8 + 4 * 5;
+    private static final String SUFFIX = ".part";
+    private static final byte[] URUTAN_MAGIC = {'J', 'D', 'W', 'U'};
+    private static final String URUTAN_FILE = "urutan.idx";
+
+    private final Path directory;
+    // Partisi yang CRC32-nya tidak cocok saat dibaca: ditulis ulang di save berikutnya
+    private final Set<YearMonth> crcRusak = new HashSet<>();
+
+    // Constructor
+    public PartitionStore(String directory) {
+        this.directory = Paths.get(directory);
+    }
+
+    /**
+     * Ringkasan satu partisi (isi header)
+     */
+    public static class PartitionInfo {
+        private final YearMonth bulan;
+        private final LocalDate minTanggal;
+        private final LocalDate maxTanggal;
+        private final int jumlah;
+        private final int jumlahBelajar;
+        private final int jumlahTugas;
+        private final int jumlahUjian;
+        private final int crc;
+        private final long dataLength;
+        private final int version;
+
+        PartitionInfo(YearMonth bulan, LocalDate minTanggal, LocalDate maxTanggal, int jumlah,
+                      int jumlahBelajar, int jumlahTugas, int jumlahUjian, int crc, long dataLength,
+                      int version) {
+            this.bulan = bulan;
+            this.minTanggal = minTanggal;
+            this.maxTanggal = maxTanggal;
+            this.jumlah = jumlah;
+            this.jumlahBelajar = jumlahBelajar;
+            this.jumlahTugas = jumlahTugas;
+            this.jumlahUjian = jumlahUjian;
+            this.crc = crc;
+            this.dataLength = dataLength;
+            this.version = version;
+        }
+
+        public YearMonth getBulan() { return bulan; }
+        public LocalDate getMinTanggal() { return minTanggal; }
+        public LocalDate getMaxTanggal() { return maxTanggal; }
+        public int getJumlah() { return jumlah; }
+        public int getJumlahBelajar() { return jumlahBelajar; }
+        public int getJumlahTugas() { return jumlahTugas; }
+        public int getJumlahUjian() { return jumlahUjian; }
+
+        boolean overlaps(LocalDate from, LocalDate to) {
+            return !maxTanggal.isBefore(from) && !minTanggal.isAfter(to);
+        }
+    }
+
+    public boolean exists() {
+        return Files.isDirectory(directory);
+    }
+
+    // ============ LOAD ============
+
+    /**
+     * Load semua partisi, urut sesuai urutan tambah (urutan.idx)
+     */
+    public synchronized List<Kegiatan> loadAll() throws IOException {
+        List<Kegiatan> daftarKegiatan = new ArrayList<>();
+        for (YearMonth bulan : listMonths().keySet()) {
+            readPartition(bulan, null, null, daftarKegiatan);
+        }
+        return urutkan(daftarKegiatan);
+    }
+
+    /**
+     * Susun ulang hasil baca per bulan sesuai urutan.idx. ID yang tercatat dua kali di
+     * partisi (save terputus saat record pindah bulan): yang terakhir dibaca menang.
+     * Kegiatan yang belum tercatat ditaruh di akhir, urut per bulan.
+     * Tanpa urutan.idx (partisi versi lama) hasil per bulan dikembalikan apa adanya.
+     */
+    private List<Kegiatan> urutkan(List<Kegiatan> perBulan) throws IOException {
+        int[] urutan = readUrutan();
+        if (urutan == null) {
+            return perBulan;
+        }
+
+        IntIndex posisi = new IntIndex(perBulan.size());
+        for (int i = 0; i < perBulan.size(); i++) {
+            posisi.put(perBulan.get(i).getId(), i);
+        }
+
+        List<Kegiatan> hasil = new ArrayList<>(perBulan.size());
+        for (int id : urutan) {
+            int pos = posisi.remove(id);
+            if (pos != IntIndex.MISSING) {
+                hasil.add(perBulan.get(pos));
+            }
+        }
+        for (int i = 0; i < perBulan.size(); i++) {
+            if (posisi.get(perBulan.get(i).getId()) == i) {
+                hasil.add(perBulan.get(i));
+            }
+        }
+        return hasil;
+    }
+
+    /**
+     * Load kegiatan dengan tanggal di [from, to]; partisi di luar rentang tidak dibuka
+     */
+    public synchronized List<Kegiatan> loadRange(LocalDate from, LocalDate to) throws IOException {
+        List<Kegiatan> daftarKegiatan = new ArrayList<>();
+        YearMonth first = YearMonth.from(from);
+        YearMonth last = YearMonth.from(to);
+
+        for (YearMonth bulan : listMonths().subMap(first, true, last, true).keySet()) {
+            PartitionInfo info = readInfo(bulan);
+            if (info != null && info.overlaps(from, to)) {
+                readPartition(bulan, from, to, daftarKegiatan);
+            }
+        }
+        return daftarKegiatan;
+    }
+
+    /**
+     * Header semua partisi (tanpa membaca record)
+     */
+    public synchronized List<PartitionInfo> listPartitions() throws IOException {
+        List<PartitionInfo> infos = new ArrayList<>();
+        for (YearMonth bulan : listMonths().keySet()) {
+            PartitionInfo info = readInfo(bulan);
+            if (info != null) {
+                infos.add(info);
+            }
+        }
+        return infos;
+    }
+
+    /**
+     * Bulan yang punya partisi, urut naik
+     */
+    public synchronized List<YearMonth> listBulan() throws IOException {
+        return new ArrayList<>(listMonths().keySet());
+    }
+
+    /**
+     * Load isi satu partisi (kosong kalau bulan itu belum punya partisi)
+     */
+    public synchronized List<Kegiatan> loadBulan(YearMonth bulan) throws IOException {
+        List<Kegiatan> daftarKegiatan = new ArrayList<>();
+        if (Files.exists(partitionPath(bulan))) {
+            readPartition(bulan, null, null, daftarKegiatan);
+        }
+        return daftarKegiatan;
+    }
+
+    private void readPartition(YearMonth bulan, LocalDate from, LocalDate to,
+                               List<Kegiatan> daftarKegiatan) throws IOException {
+        byte[] bytes = Files.readAllBytes(partitionPath(bulan));
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        PartitionInfo info = readHeader(bulan, in);
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        if ((int) crc32.getValue() != info.crc) {
+            // Tetap dibaca (versi 2: record rusak dilewati per frame), tapi jangan dianggap utuh saat save
+            crcRusak.add(bulan);
+            System.err.println("⚠️  CRC32 partisi " + bulan + " tidak cocok dengan header, file rusak / diubah dari luar");
+        }
+
+        KegiatanCodec codec = new KegiatanCodec(info.version);
+        while (in.hasRemaining()) {
+            int recordStart = in.position();
+            Kegiatan kegiatan;
+            try {
+                kegiatan = codec.readRecord(in);
+            } catch (RuntimeException e) {
+                // Versi 2: record rusak dilewati, lanjut dari frame valid berikutnya
+                int next = info.version >= 2 ? KegiatanCodec.resync(in, recordStart + 1, false) : -1;
+                System.err.println("⚠️  Data rusak di partisi " + bulan + " byte " + recordStart + ", di-skip");
+                if (next < 0) {
+                    break;
+                }
+                in.position(next);
+                continue;
+            }
+            if (from == null || (!kegiatan.getTanggal().isBefore(from) && !kegiatan.getTanggal().isAfter(to))) {
+                daftarKegiatan.add(kegiatan);
+            }
+        }
+    }
+
+    // ============ SAVE ============
+
+    /**
+     * Simpan semua kegiatan per bulan. Partisi yang isinya tidak berubah dilewati,
+     * partisi yang sudah kosong dihapus. Kembalikan jumlah partisi yang ditulis.
+     *
+     * Urutan tulis aman terhadap crash: partisi baru / yang mendapat ID baru ditulis dulu
+     * (record yang keluar dari partisi itu ikut disimpan sementara), baru partisi yang
+     * kehilangan record ditulis ulang, terakhir partisi kosong dihapus. Record yang pindah
+     * bulan selalu ada di minimal satu partisi (sementara bisa di dua; saat load yang
+     * terakhir dibaca menang dan journal yang belum di-compact memperbaikinya).
+     */
+    public synchronized int save(List<Kegiatan> daftarKegiatan) throws IOException {
+        Map<YearMonth, List<Kegiatan>> perBulan = new TreeMap<>();
+        for (Kegiatan k : daftarKegiatan) {
+            perBulan.computeIfAbsent(YearMonth.from(k.getTanggal()), b -> new ArrayList<>()).add(k);
+        }
+
+        Files.createDirectories(directory);
+        Map<YearMonth, Path> existing = listMonths();
+        KegiatanCodec codec = new KegiatanCodec();
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        List<YearMonth> menyusut = new ArrayList<>();
+        Set<YearMonth> ditulis = new HashSet<>();
+
+        // Tahap 1: partisi yang mendapat record
+        for (Map.Entry<YearMonth, List<Kegiatan>> entry : perBulan.entrySet()) {
+            YearMonth bulan = entry.getKey();
+            List<Kegiatan> isi = entry.getValue();
+            ByteBuffer header = encodePartition(isi, codec, data);
+            if (existing.containsKey(bulan) && samaDenganFile(bulan, header, data.size())) {
+                continue;
+            }
+            List<Kegiatan> lama = existing.containsKey(bulan) ? bacaLama(bulan) : List.of();
+            if (lama != null && selisihId(isi, lama).isEmpty()) {
+                menyusut.add(bulan); // tidak ada ID baru: ditulis setelah partisi tujuan
+                continue;
+            }
+            List<Kegiatan> keluar = lama == null ? List.of() : selisihId(lama, isi);
+            if (!keluar.isEmpty()) {
+                // Bertambah sekaligus kehilangan record: yang keluar ikut disimpan dulu
+                List<Kegiatan> sementara = new ArrayList<>(isi);
+                sementara.addAll(keluar);
+                header = encodePartition(sementara, codec, data);
+                menyusut.add(bulan);
+            }
+            writeEncoded(bulan, header, data);
+            ditulis.add(bulan);
+        }
+
+        // Tahap 2: partisi yang kehilangan record
+        for (YearMonth bulan : menyusut) {
+            writeEncoded(bulan, encodePartition(perBulan.get(bulan), codec, data), data);
+            ditulis.add(bulan);
+        }
+
+        for (YearMonth bulan : existing.keySet()) {
+            if (!perBulan.containsKey(bulan)) {
+                Files.deleteIfExists(partitionPath(bulan));
+                crcRusak.remove(bulan);
+            }
+        }
+
+        writeUrutan(daftarKegiatan);
+        return ditulis.size();
+    }
+
+    /**
+     * Isi file partisi saat ini, null kalau tidak bisa dibaca
+     */
+    private List<Kegiatan> bacaLama(YearMonth bulan) {
+        List<Kegiatan> lama = new ArrayList<>();
+        try {
+            readPartition(bulan, null, null, lama);
+            return lama;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Kegiatan di daftar yang ID-nya tidak ada di pembanding
+     */
+    private static List<Kegiatan> selisihId(List<Kegiatan> daftar, List<Kegiatan> pembanding) {
+        Set<Integer> ids = new HashSet<>();
+        for (Kegiatan k : pembanding) {
+            ids.add(k.getId());
+        }
+        List<Kegiatan> selisih = new ArrayList<>();
+        for (Kegiatan k : daftar) {
+            if (!ids.contains(k.getId())) {
+                selisih.add(k);
+            }
+        }
+        return selisih;
+    }
+
+    /**
+     * Tambah satu kegiatan; hanya partisi bulannya yang ditulis ulang
+     */
+    public synchronized void append(Kegiatan kegiatan) throws IOException {
+        YearMonth bulan = YearMonth.from(kegiatan.getTanggal());
+        List<Kegiatan> isi = loadBulan(bulan);
+        isi.add(kegiatan);
+
+        Files.createDirectories(directory);
+        writePartition(bulan, isi, false, new KegiatanCodec(), new ByteArrayOutputStream());
+        appendUrutan(kegiatan.getId());
+    }
+
+    /**
+     * Encode & tulis satu partisi secara atomik. Kalau checkExisting dan isinya
+     * sama (panjang + CRC32) dengan file yang ada, tidak ditulis (return false).
+     */
+    private boolean writePartition(YearMonth bulan, List<Kegiatan> isi, boolean checkExisting,
+                                   KegiatanCodec codec, ByteArrayOutputStream data) throws IOException {
+        ByteBuffer header = encodePartition(isi, codec, data);
+        // Partisi yang tidak disentuh tidak pernah ditulis ulang
+        if (checkExisting && samaDenganFile(bulan, header, data.size())) {
+            return false;
+        }
+        writeEncoded(bulan, header, data);
+        return true;
+    }
+
+    /**
+     * Encode record ke data, kembalikan header partisinya
+     */
+    private static ByteBuffer encodePartition(List<Kegiatan> isi, KegiatanCodec codec,
+                                              ByteArrayOutputStream data) throws IOException {
+        data.reset();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        int belajar = 0;
+        int tugas = 0;
+        int ujian = 0;
+        for (Kegiatan k : isi) {
+            codec.writeRecord(k, data);
+            long day = k.getTanggal().toEpochDay();
+            min = Math.min(min, day);
+            max = Math.max(max, day);
+            if (k instanceof KegiatanBelajar) {
+                belajar++;
+            } else if (k instanceof KegiatanTugas) {
+                tugas++;
+            } else if (k instanceof KegiatanUjian) {
+                ujian++;
+            }
+        }
+
+        CRC32 crc32 = new CRC32();
+        crc32.update(data.toByteArray(), 0, data.size());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.put(MAGIC).put((byte) VERSION)
+                .putLong(min).putLong(max)
+                .putInt(isi.size()).putInt(belajar).putInt(tugas).putInt(ujian)
+                .putInt((int) crc32.getValue());
+        return header;
+    }
+
+    /**
+     * Header file sama (versi, jumlah, panjang + CRC32 isi) dan isinya tidak pernah gagal cek CRC
+     */
+    private boolean samaDenganFile(YearMonth bulan, ByteBuffer header, int dataLength) throws IOException {
+        if (crcRusak.contains(bulan)) {
+            return false;
+        }
+        PartitionInfo old = readInfo(bulan);
+        int jumlah = header.getInt(MAGIC.length + 1 + 8 + 8);
+        int crc = header.getInt(HEADER_SIZE - 4);
+        return old != null && old.version == VERSION && old.crc == crc
+                && old.dataLength == dataLength && old.jumlah == jumlah;
+    }
+
+    private void writeEncoded(YearMonth bulan, ByteBuffer header, ByteArrayOutputStream data) throws IOException {
+        DataManager.writeAtomically(partitionPath(bulan).toString(), out -> {
+            out.write(header.array());
+            data.writeTo(out);
+        });
+        crcRusak.remove(bulan);
+    }
+
+    /**
+     * Tulis semua partisi sebagai satu file biner biasa (format KegiatanCodec),
+     * dipakai untuk backup / export. Dengan urutan.idx record di-encode ulang sesuai
+     * urutan tambah; partisi versi lama tanpa urutan.idx disalin apa adanya tanpa decode.
+     */
+    public synchronized void writeMerged(OutputStream out) throws IOException {
+        KegiatanCodec.writeHeader(out);
+        KegiatanCodec codec = new KegiatanCodec();
+        if (Files.exists(urutanPath())) {
+            for (Kegiatan k : loadAll()) {
+                codec.writeRecord(k, out);
+            }
+            return;
+        }
+        for (YearMonth bulan : listMonths().keySet()) {
+            byte[] bytes = Files.readAllBytes(partitionPath(bulan));
+            PartitionInfo info = readHeader(bulan, ByteBuffer.wrap(bytes));
+            if (info.version == KegiatanCodec.VERSION) {
+                out.write(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+            } else {
+                // Partisi format lama: encode ulang supaya cocok dengan header file
+                for (Kegiatan k : loadBulan(bulan)) {
+                    codec.writeRecord(k, out);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hapus semua file partisi
+     */
+    public synchronized boolean clear() {
+        try {
+            for (YearMonth bulan : listMonths().keySet()) {
+                Files.deleteIfExists(partitionPath(bulan));
+            }
+            Files.deleteIfExists(urutanPath());
+            Files.deleteIfExists(directory);
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    // ============ URUTAN ============
+
+    /**
+     * Tulis urutan ID; tidak ditulis ulang kalau isinya sama
+     */
+    private void writeUrutan(List<Kegiatan> daftarKegiatan) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(URUTAN_MAGIC.length + 4 * daftarKegiatan.size());
+        bytes.put(URUTAN_MAGIC);
+        for (Kegiatan k : daftarKegiatan) {
+            bytes.putInt(k.getId());
+        }
+        Path path = urutanPath();
+        if (Files.exists(path) && Arrays.equals(Files.readAllBytes(path), bytes.array())) {
+            return;
+        }
+        DataManager.writeAtomically(path.toString(), out -> out.write(bytes.array()));
+    }
+
+    /**
+     * Tambah satu ID di akhir urutan.idx. Kalau urutan.idx belum ada (partisi versi lama)
+     * tidak dibuat di sini, karena kegiatan ini akan terurut paling depan; save berikutnya yang membuatnya.
+     */
+    private void appendUrutan(int id) throws IOException {
+        Path path = urutanPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            // ID terakhir yang terpotong (append terputus) dibuang dulu
+            long size = channel.size();
+            long utuh = size < URUTAN_MAGIC.length ? 0
+                    : size - (size - URUTAN_MAGIC.length) % 4;
+            ByteBuffer buffer = ByteBuffer.allocate(URUTAN_MAGIC.length + 4);
+            if (utuh == 0) {
+                buffer.put(URUTAN_MAGIC);
+            }
+            buffer.putInt(id).flip();
+            channel.truncate(utuh);
+            long position = utuh;
+            while (buffer.hasRemaining()) {
+                position += channel.write(buffer, position);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * ID sesuai urutan tambah, null kalau urutan.idx tidak ada / bukan file urutan
+     */
+    private int[] readUrutan() throws IOException {
+        Path path = urutanPath();
+        if (!Files.exists(path)) {
+            return null;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(path));
+        for (byte b : URUTAN_MAGIC) {
+            if (!in.hasRemaining() || in.get() != b) {
+                System.err.println("⚠️  " + URUTAN_FILE + " rusak, kegiatan dimuat urut per bulan");
+                return null;
+            }
+        }
+        int[] urutan = new int[in.remaining() / 4];
+        for (int i = 0; i < urutan.length; i++) {
+            urutan[i] = in.getInt();
+        }
+        return urutan;
+    }
+
+    private Path urutanPath() {
+        return directory.resolve(URUTAN_FILE);
+    }
+
+    // ============ HEADER & FILES ============
+
+    private PartitionInfo readInfo(YearMonth bulan) throws IOException {
+        try (FileChannel channel = FileChannel.open(partitionPath(bulan), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // baca sampai header lengkap
+            }
+            header.flip();
+            return readHeader(bulan, header, channel.size() - HEADER_SIZE);
+        } catch (IllegalArgumentException e) {
+            return null; // header rusak -> dianggap berbeda, partisi akan ditulis ulang
+        }
+    }
+
+    private static PartitionInfo readHeader(YearMonth bulan, ByteBuffer in) {
+        return readHeader(bulan, in, in.remaining() - HEADER_SIZE);
+    }
+
+    private static PartitionInfo readHeader(YearMonth bulan, ByteBuffer in, long dataLength) {
+        if (in.remaining() < HEADER_SIZE) {
+            throw new IllegalArgumentException("Header partisi " + bulan + " terpotong");
+        }
+        for (byte b : MAGIC) {
+            if (in.get() != b) {
+                throw new IllegalArgumentException("Bukan file partisi: " + bulan);
+            }
+        }
+        int version = in.get() & 0xFF;
+        if (version > VERSION) {
+            throw new IllegalArgumentException("Versi partisi tidak didukung: " + version);
+        }
+        LocalDate min = LocalDate.ofEpochDay(in.getLong());
+        LocalDate max = LocalDate.ofEpochDay(in.getLong());
+        return new PartitionInfo(bulan, min, max, in.getInt(), in.getInt(), in.getInt(),
+                in.getInt(), in.getInt(), dataLength, version);
+    }
+
+    /**
+     * Bulan yang punya file partisi, urut naik
+     */
+    private TreeMap<YearMonth, Path> listMonths() throws IOException {
+        TreeMap<YearMonth, Path> months = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            return months;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    months.put(YearMonth.parse(name.substring(0, name.length() - SUFFIX.length())), path);
+                } catch (DateTimeParseException e) {
+                    // bukan file partisi, lewati
+                }
+            }
+        }
+        return months;
+    }
+
+    private Path partitionPath(YearMonth bulan) {
+        return directory.resolve(bulan + SUFFIX);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package manager;
+
+import model.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * PartitionedFileStore - Storage engine biner satu file per bulan (lihat PartitionStore)
+ * Kalau folder partisi belum ada, file data lama (biner lalu teks) dibaca sekali
+ * dan dipecah per bulan pada save berikutnya (migrasi).
+ */
+public class PartitionedFileStore extends AbstractFileStore {
+    private final PartitionStore partitionStore;
+    private final String legacyBinaryFile;
+    private final String legacyTextFile;
+    // BackupStore butuh satu file: partisi digabung dulu ke file biner sementara
+    private final String snapshotFile;
+
+    // Constructor
+    public PartitionedFileStore(String directory, String legacyBinaryFile, String legacyTextFile) {
+        super(directory);
+        this.partitionStore = new PartitionStore(directory);
+        this.legacyBinaryFile = legacyBinaryFile;
+        this.legacyTextFile = legacyTextFile;
+        this.snapshotFile = directory + ".bin";
+    }
+
+    @Override
+    public boolean exists() {
+        return partitionStore.exists();
+    }
+
+    /**
+     * Data tersebar di banyak file partisi, tidak ada satu file yang bisa dipantau
+     */
+    @Override
+    public String getDataFile() {
+        return null;
+    }
+
+    @Override
+    public List<Kegiatan> load() {
+        if (!partitionStore.exists()) {
+            // Migrasi: belum ada partisi, baca file data lama sekali ini
+            String lama = new File(legacyBinaryFile).exists() ? legacyBinaryFile : legacyTextFile;
+            if (new File(lama).exists()) {
+                System.out.println("ℹ️  Memuat " + lama + ", akan disimpan ulang per bulan di " + fileName);
+            }
+            return lama.equals(legacyBinaryFile) ? DataManager.loadBinary(lama) : DataManager.loadText(lama);
+        }
+
+        try {
+            List<Kegiatan> daftarKegiatan = partitionStore.loadAll();
+            System.out.println("✅ Berhasil memuat " + daftarKegiatan.size() + " kegiatan dari " + fileName);
+            return daftarKegiatan;
+
+        } catch (IOException | RuntimeException e) {
+            System.err.println("❌ Error saat memuat data: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Partisi dibuka satu per satu saat stream dikonsumsi (urut per bulan,
+     * bukan urutan tambah; load() yang mengikuti urutan tambah)
+     */
+    @Override
+    public Stream<Kegiatan> stream() {
+        if (!partitionStore.exists()) {
+            return load().stream();
+        }
+        try {
+            return partitionStore.listBulan().stream().flatMap(this::loadBulan);
+        } catch (IOException e) {
+            System.err.println("❌ Error saat membaca partisi: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    private Stream<Kegiatan> loadBulan(YearMonth bulan) {
+        try {
+            return partitionStore.loadBulan(bulan).stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    protected boolean writeAll(List<Kegiatan> daftarKegiatan) {
+        try {
+            int written = partitionStore.save(daftarKegiatan);
+            System.out.println("✅ Data berhasil disimpan ke " + fileName + " (" + written + " partisi ditulis ulang)");
+            return true;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat menyimpan data: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Hanya partisi bulan kegiatan itu yang ditulis ulang
+     */
+    @Override
+    public boolean append(Kegiatan kegiatan) {
+        synchronized (writeLock) {
+            if (!partitionStore.exists()) {
+                // Data lama belum dipecah per bulan, pecah sekalian
+                List<Kegiatan> daftarKegiatan = load();
+                daftarKegiatan.add(kegiatan);
+                return saveAll(daftarKegiatan);
+            }
+            try {
+                partitionStore.append(kegiatan);
+                return true;
+            } catch (IOException e) {
+                System.err.println("❌ Error saat menyimpan data: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public boolean deleteAll() {
+        synchronized (writeLock) {
+            return partitionStore.clear();
+        }
+    }
+
+    // ============ BACKUP ============
+
+    /**
+     * Backup partisi sebagai satu file biner biasa (bisa di-load dengan BinaryFileStore)
+     */
+    @Override
+    public boolean backup(String backupFileName, boolean compress) {
+        return exists() && DataManager.writeBackup(backupFileName, compress, partitionStore::writeMerged);
+    }
+
+    @Override
+    public String getBackupSourceFile() {
+        return snapshotFile;
+    }
+
+    @Override
+    public boolean prepareBackupSource() {
+        return DataManager.writeBackup(snapshotFile, false, partitionStore::writeMerged);
+    }
+
+    /**
+     * Hapus file gabungan sementara; kalau baru saja di-restore, pecah lagi ke partisi
+     */
+    @Override
+    public boolean finishBackupSource(boolean restored) {
+        try {
+            return !restored || saveAll(DataManager.loadBinary(snapshotFile));
+        } finally {
+            new File(snapshotFile).delete();
+        }
+    }
+}
\ No newline at end of file
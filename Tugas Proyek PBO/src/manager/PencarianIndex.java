@@ -0,0 +1,785 @@
+package manager;
+
+import model.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.IntPredicate;
+
+/**
+ * PencarianIndex - Inverted index teks kegiatan untuk pencarian (search-as-you-type)
+ * Teks judul, mata kuliah, topik, materi ujian, ruangan dan jenis ujian dipecah jadi
+ * token huruf kecil. Tiap kata kunci cocok dengan token yang diawali kata kunci itu
+ * (prefix), dan semua kata kunci harus cocok. Kata kunci yang paling selektif dipakai
+ * untuk mengambil kandidat, sisanya dicek ke token milik kandidat.
+ * Untuk kata kunci yang salah ketik, cariMirip memakai TrigramIndex atas kamus token.
+ * cariRanking mengurutkan hasil dengan BM25; kemunculan di judul & mata kuliah diberi
+ * bobot lebih (frekuensi berbobot dan panjang dokumen disimpan per kegiatan).
+ * Tidak thread-safe; pemakai memegang lock sendiri.
+ */
+final class PencarianIndex {
+    // Bobot field untuk BM25 (frekuensi token dikali bobot field tempat token muncul)
+    private static final float BOBOT_JUDUL = 3f;
+    private static final float BOBOT_MATA_KULIAH = 2f;
+    private static final float BOBOT_LAIN = 1f;
+    private static final double BM25_K1 = 1.2;
+    private static final double BM25_B = 0.75;
+    // Ranking satu prefix: akumulator array per slot kalau posting >= 1/4 jumlah data
+    private static final int AKUMULATOR_PADAT = 4;
+
+    // Urutan kandidat {skor, id} di heap top-k: skor naik, ID turun (terburuk di puncak)
+    private static final Comparator<double[]> URUT_SKOR = Comparator.<double[]>comparingDouble(c -> c[0])
+            .thenComparing(Comparator.<double[]>comparingDouble(c -> c[1]).reversed());
+
+    /**
+     * Daftar ID untuk satu token, beserta slot kegiatan, frekuensi berbobot token itu dan
+     * panjang kegiatannya (untuk BM25 tanpa lookup per kegiatan). Kecil: array biasa;
+     * besar: ditambah IntIndex ID -> posisi supaya cek & hapus tetap O(1)
+     */
+    private static final class Posting {
+        private static final int BATAS_KECIL = 8;
+
+        int[] ids = new int[2];
+        int[] slot = new int[2];
+        float[] frekuensi = new float[2];
+        float[] panjang = new float[2];
+        int size;
+        private IntIndex posisi;
+
+        void tambah(int id, int slotKegiatan, float frekuensiToken, float panjangKegiatan) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                slot = Arrays.copyOf(slot, size * 2);
+                frekuensi = Arrays.copyOf(frekuensi, size * 2);
+                panjang = Arrays.copyOf(panjang, size * 2);
+            }
+            if (posisi != null) {
+                posisi.put(id, size);
+            }
+            ids[size] = id;
+            slot[size] = slotKegiatan;
+            frekuensi[size] = frekuensiToken;
+            panjang[size++] = panjangKegiatan;
+            if (posisi == null && size > BATAS_KECIL) {
+                posisi = new IntIndex(size * 2);
+                for (int i = 0; i < size; i++) {
+                    posisi.put(ids[i], i);
+                }
+            }
+        }
+
+        void hapus(int id) {
+            int pos = posisi != null ? posisi.remove(id) : cari(id);
+            if (pos < 0) {
+                return;
+            }
+            size--;
+            ids[pos] = ids[size];
+            slot[pos] = slot[size];
+            frekuensi[pos] = frekuensi[size];
+            panjang[pos] = panjang[size];
+            if (posisi != null && pos < size) {
+                posisi.put(ids[pos], pos);
+            }
+        }
+
+        /**
+         * Posisi ID di posting ini, IntIndex.MISSING kalau tidak ada
+         */
+        int posisi(int id) {
+            return posisi != null ? posisi.get(id) : cari(id);
+        }
+
+        private int cari(int id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return IntIndex.MISSING;
+        }
+    }
+
+    /**
+     * Rencana query: kata kunci penggerak (paling selektif) yang posting-nya ditelusuri,
+     * kata kunci lain yang cukup dicek lewat satu posting, dan sisanya yang dicek ke token kandidat
+     */
+    private static final class Rencana {
+        String penggerak;
+        long perkiraan = Long.MAX_VALUE;
+        NavigableMap<String, Posting> rentang;
+        boolean satuToken;
+        final List<Posting> postingWajib = new ArrayList<>();
+        final List<String> cekToken = new ArrayList<>();
+    }
+
+    // token -> ID kegiatan yang teksnya mengandung token itu (terurut, untuk query prefix)
+    private final TreeMap<String, Posting> postings = new TreeMap<>();
+    // ID -> slot; slot menyimpan ID, token unik, frekuensi berbobot & panjang kegiatan itu
+    private IntIndex slotDokumen = new IntIndex();
+    private int[] idDokumen = new int[16];
+    private final ArrayList<String[]> tokenDokumen = new ArrayList<>();
+    private final ArrayList<float[]> frekuensiDokumen = new ArrayList<>();
+    private float[] panjangDokumen = new float[16];
+    private double totalPanjang;
+    private final TrigramIndex trigramIndex = new TrigramIndex();
+
+    int size() {
+        return tokenDokumen.size();
+    }
+
+    // ============ TOKENISASI ============
+
+    /**
+     * Token semua teks yang bisa dicari dari satu kegiatan -> frekuensi berbobot field
+     */
+    static Map<String, Float> frekuensiToken(Kegiatan k) {
+        Map<String, Float> frekuensi = new LinkedHashMap<>();
+        tambahTeks(frekuensi, k.getJudul(), BOBOT_JUDUL);
+        tambahTeks(frekuensi, MataKuliahIndex.getMataKuliah(k), BOBOT_MATA_KULIAH);
+        if (k instanceof KegiatanBelajar) {
+            tambahTeks(frekuensi, ((KegiatanBelajar) k).getTopik(), BOBOT_LAIN);
+        } else if (k instanceof KegiatanUjian) {
+            KegiatanUjian ku = (KegiatanUjian) k;
+            tambahTeks(frekuensi, ku.getMateriUjian(), BOBOT_LAIN);
+            tambahTeks(frekuensi, ku.getRuangan(), BOBOT_LAIN);
+            tambahTeks(frekuensi, ku.getJenisUjian(), BOBOT_LAIN);
+        }
+        return frekuensi;
+    }
+
+    private static void tambahTeks(Map<String, Float> frekuensi, String teks, float bobot) {
+        List<String> token = new ArrayList<>();
+        tokenisasi(teks, token);
+        for (String t : token) {
+            frekuensi.merge(t, bobot, Float::sum);
+        }
+    }
+
+    /**
+     * Pecah teks jadi token huruf kecil (pemisah: semua karakter selain huruf & angka)
+     */
+    static void tokenisasi(String teks, Collection<String> hasil) {
+        if (teks == null) {
+            return;
+        }
+        int mulai = -1;
+        for (int i = 0; i <= teks.length(); i++) {
+            boolean hurufAngka = i < teks.length() && Character.isLetterOrDigit(teks.charAt(i));
+            if (hurufAngka && mulai < 0) {
+                mulai = i;
+            } else if (!hurufAngka && mulai >= 0) {
+                hasil.add(teks.substring(mulai, i).toLowerCase(Locale.ROOT));
+                mulai = -1;
+            }
+        }
+    }
+
+    static Set<String> tokenisasi(String teks) {
+        Set<String> hasil = new LinkedHashSet<>();
+        tokenisasi(teks, hasil);
+        return hasil;
+    }
+
+    /**
+     * Cek satu kegiatan tanpa index (semantik sama dengan cari)
+     */
+    static boolean cocok(Kegiatan k, String kataKunci) {
+        Set<String> query = tokenisasi(kataKunci);
+        return !query.isEmpty() && cocokSemua(frekuensiToken(k).keySet().toArray(new String[0]), query, null);
+    }
+
+    /**
+     * Cek kegiatan yang sudah diindex lewat token tersimpannya (query sudah ditokenisasi)
+     */
+    boolean cocok(int id, Set<String> query) {
+        int slot = slotDokumen.get(id);
+        return slot != IntIndex.MISSING && !query.isEmpty() && cocokSemua(tokenDokumen.get(slot), query, null);
+    }
+
+    private static boolean cocokSemua(String[] token, Iterable<String> query, String kecuali) {
+        for (String q : query) {
+            if (q.equals(kecuali)) {
+                continue;
+            }
+            boolean ada = false;
+            for (String t : token) {
+                if (t.startsWith(q)) {
+                    ada = true;
+                    break;
+                }
+            }
+            if (!ada) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ============ PERUBAHAN ============
+
+    void tambah(Kegiatan kegiatan) {
+        int id = kegiatan.getId();
+        if (slotDokumen.containsKey(id)) {
+            hapus(id);
+        }
+        int slot = tokenDokumen.size();
+        Map<String, Float> perToken = frekuensiToken(kegiatan);
+        String[] token = new String[perToken.size()];
+        float[] frekuensi = new float[token.length];
+        float panjang = 0;
+        int n = 0;
+        for (Map.Entry<String, Float> entry : perToken.entrySet()) {
+            token[n] = entry.getKey();
+            frekuensi[n++] = entry.getValue();
+            panjang += entry.getValue();
+        }
+        for (int i = 0; i < token.length; i++) {
+            Posting posting = postings.get(token[i]);
+            if (posting == null) {
+                posting = new Posting();
+                postings.put(token[i], posting);
+                trigramIndex.tambah(token[i]);
+            } else {
+                token[i] = postings.ceilingKey(token[i]); // pakai String yang sudah ada di kamus
+            }
+            posting.tambah(id, slot, frekuensi[i], panjang);
+        }
+
+        if (slot == idDokumen.length) {
+            idDokumen = Arrays.copyOf(idDokumen, slot * 2);
+            panjangDokumen = Arrays.copyOf(panjangDokumen, slot * 2);
+        }
+        idDokumen[slot] = id;
+        panjangDokumen[slot] = panjang;
+        totalPanjang += panjang;
+        tokenDokumen.add(token);
+        frekuensiDokumen.add(frekuensi);
+        slotDokumen.put(id, slot);
+    }
+
+    /**
+     * Hapus berdasarkan ID memakai token yang disimpan saat ditambahkan,
+     * jadi tetap benar walaupun objek kegiatannya sudah diubah
+     */
+    boolean hapus(int id) {
+        int slot = slotDokumen.remove(id);
+        if (slot == IntIndex.MISSING) {
+            return false;
+        }
+        for (String t : tokenDokumen.get(slot)) {
+            Posting posting = postings.get(t);
+            posting.hapus(id);
+            if (posting.size == 0) {
+                postings.remove(t);
+                trigramIndex.hapus(t);
+            }
+        }
+
+        totalPanjang -= panjangDokumen[slot];
+        int terakhir = tokenDokumen.size() - 1;
+        if (slot < terakhir) {
+            // Kegiatan terakhir pindah ke slot yang kosong; slot di posting-nya ikut diperbarui
+            for (String t : tokenDokumen.get(terakhir)) {
+                Posting posting = postings.get(t);
+                posting.slot[posting.posisi(idDokumen[terakhir])] = slot;
+            }
+            idDokumen[slot] = idDokumen[terakhir];
+            panjangDokumen[slot] = panjangDokumen[terakhir];
+            tokenDokumen.set(slot, tokenDokumen.get(terakhir));
+            frekuensiDokumen.set(slot, frekuensiDokumen.get(terakhir));
+            slotDokumen.put(idDokumen[slot], slot);
+        }
+        tokenDokumen.remove(terakhir);
+        frekuensiDokumen.remove(terakhir);
+        return true;
+    }
+
+    void clear() {
+        postings.clear();
+        trigramIndex.clear();
+        slotDokumen = new IntIndex();
+        idDokumen = new int[16];
+        panjangDokumen = new float[16];
+        totalPanjang = 0;
+        tokenDokumen.clear();
+        frekuensiDokumen.clear();
+    }
+
+    void bangunUlang(List<Kegiatan> daftar) {
+        clear();
+        slotDokumen = new IntIndex(daftar.size());
+        idDokumen = new int[Math.max(16, daftar.size())];
+        panjangDokumen = new float[idDokumen.length];
+        tokenDokumen.ensureCapacity(daftar.size());
+        frekuensiDokumen.ensureCapacity(daftar.size());
+        for (Kegiatan k : daftar) {
+            tambah(k);
+        }
+    }
+
+    // ============ QUERY ============
+
+    /**
+     * ID kegiatan yang cocok dengan semua kata kunci (tiap kata kunci = prefix token)
+     */
+    int[] cari(String kataKunci) {
+        return cari(kataKunci, null, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Sama dengan cari, tapi hanya ID yang lolos filter (null = semua) dan berhenti
+     * setelah batas hasil, jadi biaya query pendek saat mengetik tidak ikut jumlah cocoknya
+     */
+    int[] cari(String kataKunci, IntPredicate filter, int batas) {
+        Set<String> query = tokenisasi(kataKunci);
+        Rencana rencana = rencanakan(query);
+        if (rencana == null) {
+            return new int[0];
+        }
+
+        int[] hasil = new int[(int) Math.min(Math.min(rencana.perkiraan, batas), 1024)];
+        int jumlah = 0;
+        for (Map.Entry<String, Posting> entry : rencana.rentang.entrySet()) {
+            Posting posting = entry.getValue();
+            for (int i = 0; i < posting.size && jumlah < batas; i++) {
+                int id = posting.ids[i];
+                if (!lolos(rencana, entry.getKey(), id, posting.slot[i]) || (filter != null && !filter.test(id))) {
+                    continue;
+                }
+                if (jumlah == hasil.length) {
+                    hasil = Arrays.copyOf(hasil, jumlah * 2);
+                }
+                hasil[jumlah++] = id;
+            }
+        }
+        return Arrays.copyOf(hasil, jumlah);
+    }
+
+    /**
+     * Sama dengan cari, tapi ID diambil satu per satu saat diminta (untuk cursor
+     * KegiatanQuery). Hanya valid selama index tidak berubah.
+     */
+    PrimitiveIterator.OfInt iterator(String kataKunci) {
+        Rencana rencana = rencanakan(tokenisasi(kataKunci));
+        if (rencana == null) {
+            return Arrays.stream(new int[0]).iterator();
+        }
+        return new PrimitiveIterator.OfInt() {
+            private final Iterator<Map.Entry<String, Posting>> entries = rencana.rentang.entrySet().iterator();
+            private Map.Entry<String, Posting> entry;
+            private int i;
+            private int berikut;
+            private boolean ada;
+
+            @Override
+            public boolean hasNext() {
+                while (!ada) {
+                    if (entry == null || i >= entry.getValue().size) {
+                        if (!entries.hasNext()) {
+                            return false;
+                        }
+                        entry = entries.next();
+                        i = 0;
+                        continue;
+                    }
+                    Posting posting = entry.getValue();
+                    int id = posting.ids[i];
+                    int slot = posting.slot[i++];
+                    if (lolos(rencana, entry.getKey(), id, slot)) {
+                        berikut = id;
+                        ada = true;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ada = false;
+                return berikut;
+            }
+        };
+    }
+
+    /**
+     * Perkiraan (batas atas) jumlah kegiatan yang cocok dengan query yang sudah ditokenisasi,
+     * untuk memilih index di KegiatanQuery; berhenti menghitung begitu mencapai batas
+     */
+    long perkiraan(Set<String> query, long batas) {
+        long hasil = batas;
+        for (String q : query) {
+            hasil = Math.min(hasil, hitungPosting(rentangPrefix(q), hasil));
+        }
+        return hasil;
+    }
+
+    /**
+     * null kalau query kosong atau pasti tidak ada hasil
+     */
+    private Rencana rencanakan(Set<String> query) {
+        if (query.isEmpty()) {
+            return null;
+        }
+
+        // Kata kunci paling selektif: jumlah posting paling kecil di rentang prefix-nya
+        Rencana rencana = new Rencana();
+        for (String q : query) {
+            long jumlah = hitungPosting(rentangPrefix(q), rencana.perkiraan);
+            if (jumlah < rencana.perkiraan) {
+                rencana.perkiraan = jumlah;
+                rencana.penggerak = q;
+            }
+        }
+        if (rencana.perkiraan == 0) {
+            return null;
+        }
+        rencana.rentang = rentangPrefix(rencana.penggerak);
+        rencana.satuToken = postingTunggal(rencana.rentang) != null;
+
+        // Kata kunci lain yang prefix-nya hanya cocok satu token dicek lewat posting-nya (O(1)),
+        // sisanya lewat token milik kandidat
+        for (String q : query) {
+            if (!q.equals(rencana.penggerak)) {
+                Posting tunggal = postingTunggal(rentangPrefix(q));
+                if (tunggal != null) {
+                    rencana.postingWajib.add(tunggal);
+                } else {
+                    rencana.cekToken.add(q);
+                }
+            }
+        }
+        rencana.postingWajib.sort(Comparator.comparingInt(p -> p.size)); // posting kecil paling sering menolak
+        return rencana;
+    }
+
+    /**
+     * Kandidat dari posting token penggerak lolos semua kata kunci lain
+     */
+    private boolean lolos(Rencana rencana, String tokenPenggerak, int id, int slot) {
+        for (Posting wajib : rencana.postingWajib) {
+            if (wajib.posisi(id) == IntIndex.MISSING) {
+                return false;
+            }
+        }
+        if (rencana.satuToken && rencana.cekToken.isEmpty()) {
+            return true;
+        }
+        String[] token = tokenDokumen.get(slot);
+        // Kegiatan dengan beberapa token berprefix sama hanya diambil dari token pertamanya
+        if (!rencana.satuToken && !tokenPenggerak.equals(tokenPertama(token, rencana.penggerak))) {
+            return false;
+        }
+        return rencana.cekToken.isEmpty() || cocokSemua(token, rencana.cekToken, null);
+    }
+
+    private static String tokenPertama(String[] token, String prefix) {
+        for (String t : token) {
+            if (t.startsWith(prefix)) {
+                return t;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pencarian toleran typo: tiap kata kunci dicocokkan ke token di kamus yang
+     * kemiripan trigram-nya >= minimal. Skor kegiatan = rata-rata kemiripan terbaik
+     * per kata kunci (kata kunci tanpa token mirip bernilai 0).
+     * Token mirip diproses dari yang paling mirip (threshold algorithm): berhenti begitu
+     * k kandidat terbaik tidak mungkin dikalahkan kegiatan yang belum dilihat, jadi
+     * posting token populer tidak perlu dibaca sampai habis. Hasil urut skor lalu ID.
+     */
+    int[] cariMirip(String kataKunci, double minimal, IntPredicate filter, int k) {
+        List<String> query = new ArrayList<>(tokenisasi(kataKunci));
+        int m = query.size();
+        if (m == 0 || k <= 0) {
+            return new int[0];
+        }
+
+        List<Map<String, Double>> miripPerKata = new ArrayList<>(m);
+        List<List<Map.Entry<String, Double>>> urutPerKata = new ArrayList<>(m);
+        for (String q : query) {
+            Map<String, Double> mirip = trigramIndex.mirip(q, minimal);
+            List<Map.Entry<String, Double>> urut = new ArrayList<>(mirip.entrySet());
+            urut.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+            miripPerKata.add(mirip);
+            urutPerKata.add(urut);
+        }
+
+        PriorityQueue<double[]> heap = new PriorityQueue<>(k + 1, URUT_SKOR);
+        IntIndex dilihat = new IntIndex();
+        int[] berikut = new int[m]; // posisi token berikutnya per kata kunci
+
+        while (true) {
+            // Token berikutnya: yang paling mirip di antara semua kata kunci
+            int kata = -1;
+            for (int j = 0; j < m; j++) {
+                if (berikut[j] < urutPerKata.get(j).size() && (kata < 0
+                        || urutPerKata.get(j).get(berikut[j]).getValue() > urutPerKata.get(kata).get(berikut[kata]).getValue())) {
+                    kata = j;
+                }
+            }
+            if (kata < 0) {
+                break;
+            }
+            Map.Entry<String, Double> token = urutPerKata.get(kata).get(berikut[kata]++);
+
+            // Batas atas skor kegiatan yang belum dilihat
+            double batasAtas = token.getValue();
+            for (int j = 0; j < m; j++) {
+                if (j != kata && berikut[j] < urutPerKata.get(j).size()) {
+                    batasAtas += urutPerKata.get(j).get(berikut[j]).getValue();
+                }
+            }
+            batasAtas /= m;
+
+            Posting posting = postings.get(token.getKey());
+            for (int i = 0; i < posting.size; i++) {
+                if (heap.size() == k && heap.peek()[0] >= batasAtas) {
+                    return urutkanHasil(heap);
+                }
+                int id = posting.ids[i];
+                if (dilihat.put(id, 0) != IntIndex.MISSING || (filter != null && !filter.test(id))) {
+                    continue;
+                }
+                masukkanTopK(heap, k, skorMirip(tokenDokumen.get(posting.slot[i]), miripPerKata) / m, id);
+            }
+        }
+        return urutkanHasil(heap);
+    }
+
+    // Jumlah kemiripan terbaik per kata kunci untuk token milik satu kegiatan
+    private static double skorMirip(String[] token, List<Map<String, Double>> miripPerKata) {
+        double skor = 0;
+        for (Map<String, Double> mirip : miripPerKata) {
+            double terbaik = 0;
+            for (String t : token) {
+                Double nilai = mirip.get(t);
+                if (nilai != null && nilai > terbaik) {
+                    terbaik = nilai;
+                }
+            }
+            skor += terbaik;
+        }
+        return skor;
+    }
+
+    /**
+     * Ranking BM25 untuk kegiatan yang cocok dengan semua kata kunci (aturan sama dengan cari).
+     * Per kata kunci dipakai token kegiatan berprefix kata kunci yang nilainya tertinggi.
+     * Hanya k terbaik yang disimpan (heap), jadi hasil cocok tidak perlu diurutkan seluruhnya.
+     * Kalau kata kunci penggerak & kata kunci lain masing-masing hanya cocok satu token, skor
+     * dihitung dari frekuensi & panjang yang disimpan di posting (tanpa membuka data kegiatan).
+     */
+    int[] cariRanking(String kataKunci, IntPredicate filter, int k) {
+        Set<String> query = tokenisasi(kataKunci);
+        Rencana rencana = k <= 0 ? null : rencanakan(query);
+        if (rencana == null) {
+            return new int[0];
+        }
+
+        double rataPanjang = totalPanjang / size();
+        PriorityQueue<double[]> heap = new PriorityQueue<>((int) Math.min(k, rencana.perkiraan) + 1, URUT_SKOR);
+        if (rencana.satuToken && rencana.cekToken.isEmpty()) {
+            rankingLewatPosting(rencana, rataPanjang, filter, k, heap);
+            return urutkanHasil(heap);
+        }
+        if (query.size() == 1) {
+            rankingSatuPrefix(rencana, rataPanjang, filter, k, heap);
+            return urutkanHasil(heap);
+        }
+
+        Map<String, Double> idf = new HashMap<>();
+        for (Map.Entry<String, Posting> entry : rencana.rentang.entrySet()) {
+            Posting posting = entry.getValue();
+            for (int i = 0; i < posting.size; i++) {
+                int id = posting.ids[i];
+                int slot = posting.slot[i];
+                if (!lolos(rencana, entry.getKey(), id, slot) || (filter != null && !filter.test(id))) {
+                    continue;
+                }
+                String[] token = tokenDokumen.get(slot);
+                float[] frekuensi = frekuensiDokumen.get(slot);
+                double skor = 0;
+                for (String q : query) {
+                    double terbaik = 0;
+                    for (int t = 0; t < token.length; t++) {
+                        if (token[t].startsWith(q)) {
+                            double bobotIdf = idf.computeIfAbsent(token[t], key -> idf(postings.get(key)));
+                            terbaik = Math.max(terbaik, bm25(bobotIdf, frekuensi[t], panjangDokumen[slot], rataPanjang));
+                        }
+                    }
+                    skor += terbaik;
+                }
+                masukkanTopK(heap, k, skor, id);
+            }
+        }
+        return urutkanHasil(heap);
+    }
+
+    // Semua kata kunci tepat satu token: baca posting secara berurutan, cek lain lewat posisi
+    private void rankingLewatPosting(Rencana rencana, double rataPanjang, IntPredicate filter, int k,
+                                     PriorityQueue<double[]> heap) {
+        Posting penggerak = rencana.rentang.firstEntry().getValue();
+        List<Posting> wajib = rencana.postingWajib;
+        double idfPenggerak = idf(penggerak);
+        double[] idfWajib = new double[wajib.size()];
+        for (int w = 0; w < idfWajib.length; w++) {
+            idfWajib[w] = idf(wajib.get(w));
+        }
+
+        kandidat:
+        for (int i = 0; i < penggerak.size; i++) {
+            int id = penggerak.ids[i];
+            float panjang = penggerak.panjang[i];
+            double skor = bm25(idfPenggerak, penggerak.frekuensi[i], panjang, rataPanjang);
+            for (int w = 0; w < idfWajib.length; w++) {
+                Posting posting = wajib.get(w);
+                int pos = posting.posisi(id);
+                if (pos == IntIndex.MISSING) {
+                    continue kandidat;
+                }
+                skor += bm25(idfWajib[w], posting.frekuensi[pos], panjang, rataPanjang);
+            }
+            // Filter (biasanya lebih mahal) hanya untuk kandidat yang masih bisa masuk top-k
+            if (heap.size() == k && skor < heap.peek()[0]) {
+                continue;
+            }
+            if (filter == null || filter.test(id)) {
+                masukkanTopK(heap, k, skor, id);
+            }
+        }
+    }
+
+    // Satu kata kunci, banyak token berprefix itu: skor = nilai token terbaik per kegiatan
+    private void rankingSatuPrefix(Rencana rencana, double rataPanjang, IntPredicate filter, int k,
+                                   PriorityQueue<double[]> heap) {
+        // Akumulator hanya untuk kegiatan di rentang prefix (kegiatan bisa muncul di beberapa
+        // posting): slot -> posisi di skor/ids, jadi biaya sebanding jumlah posting, bukan jumlah data
+        int kapasitas = (int) Math.min(hitungPosting(rencana.rentang, size()), size());
+        if ((long) kapasitas * AKUMULATOR_PADAT >= size()) {
+            // Prefix sangat umum: posting sudah sebanding jumlah data, array per slot lebih murah
+            rankingSatuPrefixPadat(rencana, rataPanjang, filter, k, heap);
+            return;
+        }
+        IntIndex posisi = new IntIndex(kapasitas);
+        double[] skor = new double[kapasitas];
+        int[] ids = new int[kapasitas];
+        int jumlah = 0;
+        for (Posting posting : rencana.rentang.values()) {
+            double bobotIdf = idf(posting);
+            for (int i = 0; i < posting.size; i++) {
+                double nilai = bm25(bobotIdf, posting.frekuensi[i], posting.panjang[i], rataPanjang);
+                int p = posisi.get(posting.slot[i]);
+                if (p == IntIndex.MISSING) {
+                    posisi.put(posting.slot[i], jumlah);
+                    skor[jumlah] = nilai;
+                    ids[jumlah++] = posting.ids[i];
+                } else if (nilai > skor[p]) {
+                    skor[p] = nilai;
+                }
+            }
+        }
+        for (int p = 0; p < jumlah; p++) {
+            if (heap.size() == k && skor[p] < heap.peek()[0]) {
+                continue;
+            }
+            if (filter == null || filter.test(ids[p])) {
+                masukkanTopK(heap, k, skor[p], ids[p]);
+            }
+        }
+    }
+
+    private void rankingSatuPrefixPadat(Rencana rencana, double rataPanjang, IntPredicate filter, int k,
+                                        PriorityQueue<double[]> heap) {
+        double[] skor = new double[size()];
+        for (Posting posting : rencana.rentang.values()) {
+            double bobotIdf = idf(posting);
+            for (int i = 0; i < posting.size; i++) {
+                double nilai = bm25(bobotIdf, posting.frekuensi[i], posting.panjang[i], rataPanjang);
+                int slot = posting.slot[i];
+                if (nilai > skor[slot]) {
+                    skor[slot] = nilai;
+                }
+            }
+        }
+        for (int slot = 0; slot < skor.length; slot++) {
+            if (skor[slot] == 0 || (heap.size() == k && skor[slot] < heap.peek()[0])) {
+                continue;
+            }
+            int id = idDokumen[slot];
+            if (filter == null || filter.test(id)) {
+                masukkanTopK(heap, k, skor[slot], id);
+            }
+        }
+    }
+
+    private static double bm25(double idf, float frekuensi, float panjang, double rataPanjang) {
+        double normalisasi = BM25_K1 * (1 - BM25_B + BM25_B * panjang / rataPanjang);
+        return idf * frekuensi * (BM25_K1 + 1) / (frekuensi + normalisasi);
+    }
+
+    // IDF BM25 (selalu positif): ln(1 + (N - df + 0.5) / (df + 0.5))
+    private double idf(Posting posting) {
+        int df = posting.size;
+        return Math.log(1 + (size() - df + 0.5) / (df + 0.5));
+    }
+
+    private static void masukkanTopK(PriorityQueue<double[]> heap, int k, double skor, int id) {
+        double[] kandidat = {skor, id};
+        if (heap.size() < k) {
+            heap.add(kandidat);
+        } else if (URUT_SKOR.compare(kandidat, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(kandidat);
+        }
+    }
+
+    private static int[] urutkanHasil(PriorityQueue<double[]> heap) {
+        int[] hasil = new int[heap.size()];
+        for (int i = hasil.length - 1; i >= 0; i--) {
+            hasil[i] = (int) heap.poll()[1];
+        }
+        return hasil;
+    }
+
+    // Posting kalau rentang berisi tepat satu token, null kalau kosong / lebih dari satu
+    private static Posting postingTunggal(NavigableMap<String, Posting> rentang) {
+        Map.Entry<String, Posting> pertama = rentang.firstEntry();
+        return pertama != null && rentang.higherKey(pertama.getKey()) == null ? pertama.getValue() : null;
+    }
+
+    private NavigableMap<String, Posting> rentangPrefix(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    // Berhenti menghitung begitu melewati batas (kata kunci lain sudah lebih selektif)
+    private static long hitungPosting(Map<String, Posting> rentang, long batas) {
+        long jumlah = 0;
+        for (Posting posting : rentang.values()) {
+            jumlah += posting.size;
+            if (jumlah >= batas) {
+                break;
+            }
+        }
+        return jumlah;
+    }
+}
\ No newline at end of file
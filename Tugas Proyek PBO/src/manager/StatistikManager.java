@@ -22,10 +22,12 @@ public class StatistikManager {
 
     // Hitung total jam belajar (semua kegiatan belajar yang sudah selesai)
     public double hitungTotalJamBelajar() {
-        return jadwalManager.getKegiatanBelajar().stream()
-                .filter(k -> k.getStatus().equals("Selesai"))
-                .mapToDouble(k -> k.getDurasi() / 60.0) // Convert menit ke jam
-                .sum();
+        synchronized (jadwalManager) { // view per jenis, lihat JadwalManager
+            return jadwalManager.viewBelajar().stream()
+                    .filter(k -> k.getStatus().equals("Selesai"))
+                    .mapToDouble(k -> k.getDurasi() / 60.0) // Convert menit ke jam
+                    .sum();
+        }
     }
 
     // Hitung total jam belajar minggu ini
@@ -34,28 +36,16 @@ public class StatistikManager {
         LocalDate startOfWeek = today.minusDays(today.getDayOfWeek().getValue() - 1);
         LocalDate endOfWeek = startOfWeek.plusDays(6);
 
-        return jadwalManager.getKegiatanBelajar().stream()
-                .filter(k -> k.getStatus().equals("Selesai"))
-                .filter(k -> {
-                    LocalDate tgl = k.getTanggal();
-                    return !tgl.isBefore(startOfWeek) && !tgl.isAfter(endOfWeek);
-                })
-                .mapToDouble(k -> k.getDurasi() / 60.0)
-                .sum();
+        return hitungJamBelajarSelesai(startOfWeek, endOfWeek);
     }
 
     // Hitung total jam belajar bulan ini
     public double hitungJamBelajarBulanIni() {
         LocalDate today = LocalDate.now();
-        int bulanIni = today.getMonthValue();
-        int tahunIni = today.getYear();
+        LocalDate awalBulan = today.withDayOfMonth(1);
+        LocalDate akhirBulan = today.withDayOfMonth(today.lengthOfMonth());
 
-        return jadwalManager.getKegiatanBelajar().stream()
-                .filter(k -> k.getStatus().equals("Selesai"))
-                .filter(k -> k.getTanggal().getMonthValue() == bulanIni &&
-                        k.getTanggal().getYear() == tahunIni)
-                .mapToDouble(k -> k.getDurasi() / 60.0)
-                .sum();
+        return hitungJamBelajarSelesai(awalBulan, akhirBulan);
     }
 
     // Hitung jam belajar per hari dalam seminggu
@@ -64,32 +54,44 @@ public class StatistikManager {
         LocalDate startOfWeek = today.minusDays(today.getDayOfWeek().getValue() - 1);
 
         String[] namaHari = {"Senin", "Selasa", "Rabu", "Kamis", "Jumat", "Sabtu", "Minggu"};
-        Map<String, Double> jamPerHari = new LinkedHashMap<>();
+        double[] totalJam = new double[7];
+
+        // Satu query rentang untuk seminggu, lalu dibagi per hari
+        for (KegiatanBelajar k : getBelajarSelesai(startOfWeek, startOfWeek.plusDays(6))) {
+            int hari = (int) ChronoUnit.DAYS.between(startOfWeek, k.getTanggal());
+            totalJam[hari] += k.getDurasi() / 60.0;
+        }
 
+        Map<String, Double> jamPerHari = new LinkedHashMap<>();
         for (int i = 0; i < 7; i++) {
-            LocalDate hari = startOfWeek.plusDays(i);
-            double totalJam = jadwalManager.getKegiatanBelajar().stream()
-                    .filter(k -> k.getStatus().equals("Selesai"))
-                    .filter(k -> k.getTanggal().isEqual(hari))
-                    .mapToDouble(k -> k.getDurasi() / 60.0)
-                    .sum();
-            jamPerHari.put(namaHari[i], totalJam);
+            jamPerHari.put(namaHari[i], totalJam[i]);
         }
 
         return jamPerHari;
     }
 
+    // Total jam kegiatan belajar yang sudah selesai dalam rentang tanggal
+    private double hitungJamBelajarSelesai(LocalDate dari, LocalDate sampai) {
+        return getBelajarSelesai(dari, sampai).stream()
+                .mapToDouble(k -> k.getDurasi() / 60.0)
+                .sum();
+    }
+
+    // Kegiatan belajar selesai dalam rentang tanggal (lewat index tanggal, tanpa scan semua data)
+    private List<KegiatanBelajar> getBelajarSelesai(LocalDate dari, LocalDate sampai) {
+        return jadwalManager.getKegiatanByRentang(dari, sampai).stream()
+                .filter(k -> k instanceof KegiatanBelajar)
+                .filter(k -> k.getStatus().equals("Selesai"))
+                .map(k -> (KegiatanBelajar) k)
+                .collect(Collectors.toList());
+    }
+
     // ============ STATISTIK MATA KULIAH ============
 
     // Hitung mata kuliah yang paling banyak dipelajari
     public Map<String, Integer> getMataKuliahTerbanyak() {
-        Map<String, Integer> counter = new HashMap<>();
-
-        // Count dari KegiatanBelajar
-        for (KegiatanBelajar kb : jadwalManager.getKegiatanBelajar()) {
-            String mk = kb.getMataKuliah();
-            counter.put(mk, counter.getOrDefault(mk, 0) + 1);
-        }
+        // Count dari KegiatanBelajar, langsung dari index mata kuliah
+        Map<String, Integer> counter = jadwalManager.getJumlahBelajarPerMataKuliah();
 
         // Sort berdasarkan count (descending)
         return counter.entrySet().stream()
@@ -106,11 +108,10 @@ public class StatistikManager {
     public Map<String, Double> getJamBelajarPerMataKuliah() {
         Map<String, Double> jamPerMK = new HashMap<>();
 
-        for (KegiatanBelajar kb : jadwalManager.getKegiatanBelajar()) {
-            if (kb.getStatus().equals("Selesai")) {
-                String mk = kb.getMataKuliah();
-                double jam = kb.getDurasi() / 60.0;
-                jamPerMK.put(mk, jamPerMK.getOrDefault(mk, 0.0) + jam);
+        for (String mk : jadwalManager.getJumlahBelajarPerMataKuliah().keySet()) {
+            double jam = hitungJamBelajarMataKuliah(mk);
+            if (jam > 0) {
+                jamPerMK.put(mk, jam);
             }
         }
 
@@ -125,52 +126,74 @@ public class StatistikManager {
                 ));
     }
 
+    // Hitung total jam belajar (selesai) satu mata kuliah
+    public double hitungJamBelajarMataKuliah(String mataKuliah) {
+        return jadwalManager.getKegiatanBelajarByMataKuliah(mataKuliah).stream()
+                .filter(k -> k.getStatus().equals("Selesai"))
+                .mapToDouble(k -> k.getDurasi() / 60.0)
+                .sum();
+    }
+
+    // Hitung rata-rata progress tugas satu mata kuliah
+    public double hitungRataRataProgressTugas(String mataKuliah) {
+        return jadwalManager.getKegiatanTugasByMataKuliah(mataKuliah).stream()
+                .mapToInt(KegiatanTugas::getProgress)
+                .average()
+                .orElse(0);
+    }
+
     // ============ STATISTIK TUGAS ============
 
     // Hitung persentase penyelesaian tugas
     public double hitungPersentaseTugasSelesai() {
-        List<KegiatanTugas> semuaTugas = jadwalManager.getKegiatanTugas();
-        if (semuaTugas.isEmpty()) return 0;
+        synchronized (jadwalManager) { // view per jenis, lihat JadwalManager
+            List<KegiatanTugas> semuaTugas = jadwalManager.viewTugas();
+            if (semuaTugas.isEmpty()) return 0;
 
-        long tugasSelesai = semuaTugas.stream()
-                .filter(t -> t.getProgress() == 100)
-                .count();
+            long tugasSelesai = semuaTugas.stream()
+                    .filter(t -> t.getProgress() == 100)
+                    .count();
 
-        return (tugasSelesai * 100.0) / semuaTugas.size();
+            return (tugasSelesai * 100.0) / semuaTugas.size();
+        }
     }
 
     // Get jumlah tugas per status
     public Map<String, Integer> getStatusTugas() {
-        Map<String, Integer> statusCount = new LinkedHashMap<>();
-        statusCount.put("Selesai", 0);
-        statusCount.put("Sedang Dikerjakan", 0);
-        statusCount.put("Belum Mulai", 0);
-        statusCount.put("Terlambat", 0);
-
-        for (KegiatanTugas tugas : jadwalManager.getKegiatanTugas()) {
-            if (tugas.getProgress() == 100) {
-                statusCount.put("Selesai", statusCount.get("Selesai") + 1);
-            } else if (tugas.isTerlambat()) {
-                statusCount.put("Terlambat", statusCount.get("Terlambat") + 1);
-            } else if (tugas.getProgress() > 0) {
-                statusCount.put("Sedang Dikerjakan", statusCount.get("Sedang Dikerjakan") + 1);
-            } else {
-                statusCount.put("Belum Mulai", statusCount.get("Belum Mulai") + 1);
+        synchronized (jadwalManager) { // view per jenis, lihat JadwalManager
+            Map<String, Integer> statusCount = new LinkedHashMap<>();
+            statusCount.put("Selesai", 0);
+            statusCount.put("Sedang Dikerjakan", 0);
+            statusCount.put("Belum Mulai", 0);
+            statusCount.put("Terlambat", 0);
+
+            for (KegiatanTugas tugas : jadwalManager.viewTugas()) {
+                if (tugas.getProgress() == 100) {
+                    statusCount.put("Selesai", statusCount.get("Selesai") + 1);
+                } else if (tugas.isTerlambat()) {
+                    statusCount.put("Terlambat", statusCount.get("Terlambat") + 1);
+                } else if (tugas.getProgress() > 0) {
+                    statusCount.put("Sedang Dikerjakan", statusCount.get("Sedang Dikerjakan") + 1);
+                } else {
+                    statusCount.put("Belum Mulai", statusCount.get("Belum Mulai") + 1);
+                }
             }
-        }
 
-        return statusCount;
+            return statusCount;
+        }
     }
 
     // Hitung rata-rata progress tugas
     public double hitungRataRataProgressTugas() {
-        List<KegiatanTugas> tugas = jadwalManager.getKegiatanTugas();
-        if (tugas.isEmpty()) return 0;
-
-        return tugas.stream()
-                .mapToInt(KegiatanTugas::getProgress)
-                .average()
-                .orElse(0);
+        synchronized (jadwalManager) { // view per jenis, lihat JadwalManager
+            List<KegiatanTugas> tugas = jadwalManager.viewTugas();
+            if (tugas.isEmpty()) return 0;
+
+            return tugas.stream()
+                    .mapToInt(KegiatanTugas::getProgress)
+                    .average()
+                    .orElse(0);
+        }
     }
 
     // ============ ANALISIS PRODUKTIVITAS ============
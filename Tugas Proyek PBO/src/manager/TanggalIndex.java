@@ -0,0 +1,145 @@
+package manager;
+
+import model.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * TanggalIndex - Index kegiatan berdasarkan tanggal (epoch-day, terurut)
+ * Di dalam satu hari, kegiatan diurutkan berdasarkan waktuMulai (lalu ID),
+ * jadi query rentang tanggal cukup O(log n + k) dan hasilnya sudah terurut.
+ * Kegiatan yang tanggal / waktuMulai-nya diubah lewat setter harus dihapus
+ * dari index dulu lalu ditambahkan lagi. Tidak thread-safe; pemakai memegang lock sendiri.
+ */
+final class TanggalIndex {
+    static final Comparator<Kegiatan> URUT_WAKTU = Comparator
+            .comparing(Kegiatan::getWaktuMulai, Comparator.nullsFirst(Comparator.<LocalTime>naturalOrder()))
+            .thenComparingInt(Kegiatan::getId);
+
+    // epoch-day -> kegiatan di hari itu, terurut URUT_WAKTU
+    private final TreeMap<Long, List<Kegiatan>> perHari = new TreeMap<>();
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    void tambah(Kegiatan kegiatan) {
+        List<Kegiatan> hari = perHari.computeIfAbsent(kegiatan.getTanggal().toEpochDay(), d -> new ArrayList<>(4));
+        int pos = Collections.binarySearch(hari, kegiatan, URUT_WAKTU);
+        hari.add(pos < 0 ? -pos - 1 : pos, kegiatan);
+        size++;
+    }
+
+    /**
+     * Hapus objek kegiatan ini (dicocokkan dengan identitas, bukan isi)
+     */
+    boolean hapus(Kegiatan kegiatan) {
+        Long key = kegiatan.getTanggal().toEpochDay();
+        List<Kegiatan> hari = perHari.get(key);
+        if (hari == null) {
+            return false;
+        }
+        for (int i = 0; i < hari.size(); i++) {
+            if (hari.get(i) == kegiatan) {
+                hari.remove(i);
+                if (hari.isEmpty()) {
+                    perHari.remove(key);
+                }
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void clear() {
+        perHari.clear();
+        size = 0;
+    }
+
+    /**
+     * Bangun ulang dari awal (sekali sort per hari, bukan binary insert satu per satu)
+     */
+    void bangunUlang(Collection<Kegiatan> daftar) {
+        clear();
+        for (Kegiatan k : daftar) {
+            perHari.computeIfAbsent(k.getTanggal().toEpochDay(), d -> new ArrayList<>(4)).add(k);
+        }
+        for (List<Kegiatan> hari : perHari.values()) {
+            hari.sort(URUT_WAKTU);
+        }
+        size = daftar.size();
+    }
+
+    /**
+     * Kegiatan dengan tanggal di [dari, sampai], terurut tanggal lalu waktuMulai
+     */
+    List<Kegiatan> rentang(LocalDate dari, LocalDate sampai) {
+        List<Kegiatan> hasil = new ArrayList<>();
+        for (List<Kegiatan> hari : hari(dari, sampai).values()) {
+            hasil.addAll(hari);
+        }
+        return hasil;
+    }
+
+    /**
+     * Jumlah kegiatan di rentang (null = tidak dibatasi), berhenti menghitung begitu
+     * mencapai batas; biaya sebanding dengan jumlah hari di rentang
+     */
+    int hitung(LocalDate dari, LocalDate sampai, int batas) {
+        int jumlah = 0;
+        for (List<Kegiatan> hari : hari(dari, sampai).values()) {
+            jumlah += hari.size();
+            if (jumlah >= batas) {
+                break;
+            }
+        }
+        return jumlah;
+    }
+
+    /**
+     * Sama dengan rentang (null = tidak dibatasi), tapi diambil satu per satu tanpa menyalin.
+     * Hanya valid selama index tidak berubah.
+     */
+    Iterator<Kegiatan> iterator(LocalDate dari, LocalDate sampai) {
+        Iterator<List<Kegiatan>> perHariIterator = hari(dari, sampai).values().iterator();
+        return new Iterator<Kegiatan>() {
+            private Iterator<Kegiatan> hariIni = Collections.emptyIterator();
+
+            @Override
+            public boolean hasNext() {
+                while (!hariIni.hasNext() && perHariIterator.hasNext()) {
+                    hariIni = perHariIterator.next().iterator();
+                }
+                return hariIni.hasNext();
+            }
+
+            @Override
+            public Kegiatan next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return hariIni.next();
+            }
+        };
+    }
+
+    private NavigableMap<Long, List<Kegiatan>> hari(LocalDate dari, LocalDate sampai) {
+        long awal = dari == null ? Long.MIN_VALUE : dari.toEpochDay();
+        long akhir = sampai == null ? Long.MAX_VALUE : sampai.toEpochDay();
+        if (awal > akhir) {
+            return Collections.emptyNavigableMap();
+        }
+        return perHari.subMap(awal, true, akhir, true);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+package manager;
+
+import model.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * TextFileStore - Storage engine file teks pipe-delimited (satu kegiatan per baris)
+ * Append cukup menambah satu baris di akhir file, tanpa menulis ulang file.
+ */
+public class TextFileStore extends AbstractFileStore {
+
+    // Constructor
+    public TextFileStore(String fileName) {
+        super(fileName);
+    }
+
+    @Override
+    public List<Kegiatan> load() {
+        return DataManager.loadText(fileName);
+    }
+
+    /**
+     * Baca baris demi baris; baris rusak di-skip seperti saat load
+     */
+    @Override
+    public Stream<Kegiatan> stream() {
+        if (!exists()) {
+            return Stream.empty();
+        }
+        try {
+            // Charset default, sama seperti saat menulis
+            BufferedReader reader = Files.newBufferedReader(Paths.get(fileName), Charset.defaultCharset());
+            String first;
+            try {
+                first = reader.readLine();
+            } catch (IOException e) {
+                reader.close();
+                throw e;
+            }
+            boolean sealed = first != null && LineChecksum.isHeader(first);
+            Stream<String> lines = first == null || sealed ? reader.lines() : Stream.concat(Stream.of(first), reader.lines());
+            return lines
+                    .map(line -> parseOrSkip(line, sealed))
+                    .filter(Objects::nonNull)
+                    .onClose(() -> {
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (IOException e) {
+            System.err.println("❌ Error saat membaca data: " + e.getMessage());
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Baris yang ditambahkan sesudah offset; baris terakhir yang belum diakhiri
+     * newline dianggap masih ditulis dan belum dibaca
+     */
+    @Override
+    public long loadTail(long offset, List<Kegiatan> hasil) {
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size - offset > Integer.MAX_VALUE) {
+                return -1;
+            }
+            if (size <= offset) {
+                return offset;
+            }
+
+            boolean sealed = LineChecksum.isSealed(channel);
+            ByteBuffer buffer = readRange(channel, offset, (int) (size - offset));
+            int end = buffer.limit();
+            while (end > 0 && buffer.get(end - 1) != '\n') {
+                end--;
+            }
+            String text = new String(buffer.array(), 0, end, Charset.defaultCharset());
+            text.lines()
+                    .filter(line -> !line.isEmpty() && !LineChecksum.isHeader(line))
+                    .map(line -> parseOrSkip(line, sealed))
+                    .filter(Objects::nonNull)
+                    .forEach(hasil::add);
+            return offset + end;
+
+        } catch (IOException e) {
+            System.err.println("❌ Error saat membaca data: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    private static Kegiatan parseOrSkip(String line, boolean sealed) {
+        try {
+            return DataManager.parseLine(line, sealed);
+        } catch (Exception e) {
+            System.err.println("⚠️  Skip baris yang rusak: " + line);
+            return null;
+        }
+    }
+
+    @Override
+    protected boolean writeAll(List<Kegiatan> daftarKegiatan) {
+        return DataManager.saveText(daftarKegiatan, fileName);
+    }
+
+    /**
+     * Tulis file TXT untuk dibaca / diolah user: format baris sama, tanpa HEADER & checksum
+     */
+    public boolean export(List<Kegiatan> daftarKegiatan) {
+        synchronized (writeLock) {
+            return DataManager.exportToText(daftarKegiatan, fileName);
+        }
+    }
+
+    /**
+     * Tambah satu baris di akhir file lalu fsync.
+     * File lama tanpa HEADER tetap tanpa HEADER sampai ditulis ulang oleh saveAll.
+     */
+    @Override
+    public boolean append(Kegiatan kegiatan) {
+        String newLine = System.lineSeparator();
+
+        synchronized (writeLock) {
+            try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+                // File baru diawali HEADER; baris terakhir yang tidak diakhiri newline jangan sampai tersambung
+                String prefix = "";
+                long size = channel.size();
+                if (size == 0) {
+                    prefix = LineChecksum.HEADER + newLine;
+                } else {
+                    ByteBuffer last = ByteBuffer.allocate(1);
+                    channel.read(last, size - 1);
+                    if (last.get(0) != '\n') {
+                        prefix = newLine;
+                    }
+                }
+
+                ByteBuffer buffer = ByteBuffer.wrap((prefix + LineChecksum.seal(DataManager.formatLine(kegiatan)) + newLine).getBytes());
+                long position = size;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                channel.force(false);
+                return true;
+
+            } catch (IOException e) {
+                System.err.println("❌ Error saat menyimpan data: " + e.getMessage());
+                return false;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,96 @@
+package manager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TrigramIndex - Index trigram untuk kamus token PencarianIndex (pencarian typo)
+ * Yang diindex adalah token unik, bukan kegiatan, jadi ukurannya sebanding dengan
+ * jumlah kata berbeda. Kemiripan = Jaccard himpunan trigram ("pemograman" vs
+ * "pemrograman" = 0.64), dihitung hanya untuk token yang berbagi trigram dengan query.
+ * Tidak thread-safe; pemakai memegang lock sendiri.
+ */
+final class TrigramIndex {
+    // Awal kata diberi 2 penanda, akhir 1 (seperti pg_trgm), jadi awalan yang sama lebih berbobot
+    private static final String AWAL = "$$";
+    private static final String AKHIR = "$";
+
+    // trigram -> token di kamus yang mengandung trigram itu
+    private final Map<String, List<String>> perTrigram = new HashMap<>();
+
+    /**
+     * Trigram unik dari satu token (token sudah huruf kecil)
+     */
+    static Set<String> trigram(String token) {
+        String teks = AWAL + token + AKHIR;
+        Set<String> hasil = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= teks.length(); i++) {
+            hasil.add(teks.substring(i, i + 3));
+        }
+        return hasil;
+    }
+
+    void tambah(String token) {
+        for (String t : trigram(token)) {
+            perTrigram.computeIfAbsent(t, key -> new ArrayList<>(2)).add(token);
+        }
+    }
+
+    void hapus(String token) {
+        for (String t : trigram(token)) {
+            List<String> daftar = perTrigram.get(t);
+            if (daftar == null) {
+                continue;
+            }
+            int pos = daftar.indexOf(token);
+            if (pos >= 0) {
+                // Urutan tidak penting: tukar dengan elemen terakhir
+                daftar.set(pos, daftar.get(daftar.size() - 1));
+                daftar.remove(daftar.size() - 1);
+            }
+            if (daftar.isEmpty()) {
+                perTrigram.remove(t);
+            }
+        }
+    }
+
+    void clear() {
+        perTrigram.clear();
+    }
+
+    /**
+     * Token di kamus yang kemiripannya dengan query >= minimal, beserta kemiripannya
+     */
+    Map<String, Double> mirip(String query, double minimal) {
+        Set<String> trigramQuery = trigram(query);
+        Map<String, int[]> sama = new HashMap<>();
+        for (String t : trigramQuery) {
+            List<String> daftar = perTrigram.get(t);
+            if (daftar != null) {
+                for (String token : daftar) {
+                    sama.computeIfAbsent(token, key -> new int[1])[0]++;
+                }
+            }
+        }
+
+        // Jaccard >= minimal butuh sama >= minimal * |query| / (1 + minimal); cek murah dulu
+        double samaMinimal = minimal * trigramQuery.size() / (1 + minimal);
+        Map<String, Double> hasil = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : sama.entrySet()) {
+            int jumlahSama = entry.getValue()[0];
+            if (jumlahSama < samaMinimal) {
+                continue;
+            }
+            int gabungan = trigramQuery.size() + trigram(entry.getKey()).size() - jumlahSama;
+            double kemiripan = (double) jumlahSama / gabungan;
+            if (kemiripan >= minimal) {
+                hasil.put(entry.getKey(), kemiripan);
+            }
+        }
+        return hasil;
+    }
+}
\ No newline at end of file
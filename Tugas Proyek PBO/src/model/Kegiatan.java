@@ -37,7 +37,7 @@ public abstract class Kegiatan {
         if (statusBaru.equals("Belum Mulai") ||
                 statusBaru.equals("Sedang Berjalan") ||
                 statusBaru.equals("Selesai")) {
-            this.status = statusBaru;
+            this.status = StringPool.intern(statusBaru);
         }
     }
 
@@ -87,7 +87,7 @@ public abstract class Kegiatan {
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        this.status = StringPool.intern(status);
     }
 
     @Override
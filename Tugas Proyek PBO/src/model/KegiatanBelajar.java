@@ -20,7 +20,7 @@ public class KegiatanBelajar extends Kegiatan {
                            LocalTime waktuMulai, LocalTime waktuSelesai,
                            String mataKuliah, String topik) {
         super(id, judul, tanggal, waktuMulai, waktuSelesai);
-        this.mataKuliah = mataKuliah;
+        this.mataKuliah = StringPool.intern(mataKuliah);
         this.topik = topik;
 
         // Hitung durasi otomatis
@@ -56,7 +56,7 @@ public class KegiatanBelajar extends Kegiatan {
     }
 
     public void setMataKuliah(String mataKuliah) {
-        this.mataKuliah = mataKuliah;
+        this.mataKuliah = StringPool.intern(mataKuliah);
     }
 
     public String getTopik() {
@@ -21,9 +21,9 @@ public class KegiatanTugas extends Kegiatan {
                          LocalTime waktuMulai, LocalTime waktuSelesai,
                          String mataKuliah, LocalDate deadline, String prioritas) {
         super(id, judul, tanggal, waktuMulai, waktuSelesai);
-        this.mataKuliah = mataKuliah;
+        this.mataKuliah = StringPool.intern(mataKuliah);
         this.deadline = deadline;
-        this.prioritas = prioritas;
+        this.prioritas = StringPool.intern(prioritas);
         this.progress = 0;
     }
 
@@ -86,7 +86,7 @@ public class KegiatanTugas extends Kegiatan {
     }
 
     public void setMataKuliah(String mataKuliah) {
-        this.mataKuliah = mataKuliah;
+        this.mataKuliah = StringPool.intern(mataKuliah);
     }
 
     public LocalDate getDeadline() {
@@ -102,7 +102,7 @@ public class KegiatanTugas extends Kegiatan {
     }
 
     public void setPrioritas(String prioritas) {
-        this.prioritas = prioritas;
+        this.prioritas = StringPool.intern(prioritas);
     }
 
     public int getProgress() {
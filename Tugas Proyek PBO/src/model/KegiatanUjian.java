@@ -21,9 +21,9 @@ public class KegiatanUjian extends Kegiatan {
                          String mataKuliah, String ruangan,
                          String jenisUjian, String materiUjian) {
         super(id, judul, tanggal, waktuMulai, waktuSelesai);
-        this.mataKuliah = mataKuliah;
-        this.ruangan = ruangan;
-        this.jenisUjian = jenisUjian;
+        this.mataKuliah = StringPool.intern(mataKuliah);
+        this.ruangan = StringPool.intern(ruangan);
+        this.jenisUjian = StringPool.intern(jenisUjian);
         this.materiUjian = materiUjian;
     }
 
@@ -61,7 +61,7 @@ public class KegiatanUjian extends Kegiatan {
     }
 
     public void setMataKuliah(String mataKuliah) {
-        this.mataKuliah = mataKuliah;
+        this.mataKuliah = StringPool.intern(mataKuliah);
     }
 
     public String getRuangan() {
@@ -69,7 +69,7 @@ public class KegiatanUjian extends Kegiatan {
     }
 
     public void setRuangan(String ruangan) {
-        this.ruangan = ruangan;
+        this.ruangan = StringPool.intern(ruangan);
     }
 
     public String getJenisUjian() {
@@ -77,7 +77,7 @@ public class KegiatanUjian extends Kegiatan {
     }
 
     public void setJenisUjian(String jenisUjian) {
-        this.jenisUjian = jenisUjian;
+        this.jenisUjian = StringPool.intern(jenisUjian);
     }
 
     public String getMateriUjian() {
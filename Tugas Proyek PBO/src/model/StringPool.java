@@ -0,0 +1,105 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * StringPool - Intern pool terbatas untuk field yang nilainya sering berulang
+ * (mataKuliah, status, prioritas, jenisUjian, ruangan).
+ * Constructor & setter model memanggil intern(), jadi semua jalur load
+ * (teks, biner, mmap, CSV, journal) otomatis hanya menyimpan satu instance
+ * per nilai berbeda; String hasil parsing langsung jadi sampah di young gen.
+ *
+ * Pool dibatasi jumlah entri dan panjang nilai supaya teks unik tidak menumpuk;
+ * kalau penuh, nilai dikembalikan apa adanya. Matikan dengan -Djadwal.intern=off.
+ */
+public final class StringPool {
+    public static final String PROPERTY = "jadwal.intern";
+    public static final int MAX_ENTRIES = 4096;
+    public static final int MAX_LENGTH = 64;
+
+    private static final boolean ENABLED = !"off".equalsIgnoreCase(System.getProperty(PROPERTY));
+    private static final ConcurrentHashMap<String, String> POOL = new ConcurrentHashMap<>();
+
+    // Statistik untuk laporan heap
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder rejected = new LongAdder();
+    private static final LongAdder savedBytes = new LongAdder();
+
+    private StringPool() {
+    }
+
+    /**
+     * Instance kanonik untuk value (value sendiri kalau belum / tidak bisa di-pool)
+     */
+    public static String intern(String value) {
+        if (!ENABLED || value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+
+        String pooled = POOL.get(value);
+        if (pooled == null) {
+            if (POOL.size() >= MAX_ENTRIES) {
+                rejected.increment();
+                return value;
+            }
+            pooled = POOL.putIfAbsent(value, value);
+            if (pooled == null) {
+                return value;
+            }
+        }
+        if (pooled != value) {
+            // Instance value tidak dipakai lagi oleh model
+            hits.increment();
+            savedBytes.add(estimateSize(value));
+        }
+        return pooled;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static int size() {
+        return POOL.size();
+    }
+
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    public static long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * Perkiraan total byte String duplikat yang tidak jadi disimpan model
+     */
+    public static long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    public static String getReport() {
+        if (!ENABLED) {
+            return "String pool nonaktif (-D" + PROPERTY + "=off)";
+        }
+        return String.format("String pool: %d nilai unik, %d duplikat di-dedup (~%.1f MB), %d ditolak karena pool penuh",
+                size(), getHits(), getSavedBytes() / (1024.0 * 1024.0), getRejected());
+    }
+
+    /**
+     * Ukuran String di heap 64-bit (compressed oops, compact strings):
+     * objek String 24 byte + array byte[] (header 16 byte), dibulatkan ke 8 byte
+     */
+    static long estimateSize(String value) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        long array = 16L + (long) value.length() * bytesPerChar;
+        return 24L + ((array + 7) & ~7L);
+    }
+}
\ No newline at end of file
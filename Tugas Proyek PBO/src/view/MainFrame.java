@@ -9,8 +9,12 @@ import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 import view.components.BadgeButton;
 
@@ -18,6 +22,7 @@ import view.components.BadgeButton;
  * MainFrame - Dashboard Utama
  * + SEARCH BOX REAL-TIME
  * + AUTO SAVE/LOAD
+ * + HOT RELOAD: perubahan file data dari luar hanya memperbarui kartu yang berubah
  */
 public class MainFrame extends JFrame {
     // Colors
@@ -34,10 +39,16 @@ public class MainFrame extends JFrame {
     private static final Color WARNING = new Color(251, 146, 60);
     private static final Color DANGER = new Color(239, 68, 68);
 
+    private static final int MAKS_HASIL_PENCARIAN = 200; // kartu maksimal saat mencari
+    private static final int MAKS_HASIL_MIRIP = 20;
+    // Percobaan ke-sekian yang membaca hasil query sekaligus (tidak bisa diganggu hot reload)
+    private static final int MAKS_COBA_REFRESH = 3;
+
     private JadwalManager jadwalManager;
     private NotifikasiManager notifikasiManager;
     private StatistikManager statistikManager;
     private JPanel kegiatanListPanel;
+    private final Map<Integer, JPanel> kartuKegiatan = new HashMap<>(); // ID -> kartu yang tampil
     private JPanel statsPanel;
     private JLabel dateHeaderLabel;
     private JTextField searchField; // 🔍 SEARCH BOX
@@ -45,6 +56,7 @@ public class MainFrame extends JFrame {
     private JButton[] tabButtons;
     private String currentFilter = "Semua";
     private String currentSearchKeyword = ""; // 🔍 SEARCH KEYWORD
+    private boolean hasilMirip; // daftar berisi hasil pencarian typo, bukan hasil persis
 
     private BadgeButton notifBadgeButton;
 
@@ -62,6 +74,7 @@ public class MainFrame extends JFrame {
         }
 
         refreshKegiatanList();
+        jadwalManager.addChangeListener(event -> SwingUtilities.invokeLater(() -> terapkanPerubahan(event)));
         setVisible(true);
     }
 
@@ -399,56 +412,161 @@ public class MainFrame extends JFrame {
 
     // 🔥 REFRESH WITH FILTER + SEARCH
     private void refreshKegiatanList() {
-        kegiatanListPanel.removeAll();
+        for (int coba = 1; ; coba++) {
+            try {
+                isiDaftarKegiatan(coba >= MAKS_COBA_REFRESH);
+                break;
+            } catch (ConcurrentModificationException e) {
+                // data diubah hot reload saat kartu sedang dibuat: mulai lagi
+            }
+        }
+
+        kegiatanListPanel.revalidate();
+        kegiatanListPanel.repaint();
+        updateStats();
 
-        List<Kegiatan> kegiatanList = getFilteredKegiatan();
+        // 🔥 UPDATE BADGE SETIAP KALI REFRESH
+        updateNotificationBadge();
+    }
 
+    // Buat ulang semua kartu; hasil dibaca bertahap (bisa CME) kecuali sekaligus (satu kali lock)
+    private void isiDaftarKegiatan(boolean sekaligus) {
+        kegiatanListPanel.removeAll();
+        kartuKegiatan.clear();
+
+        KegiatanQuery query = buatQuery();
         if (!currentSearchKeyword.isEmpty()) {
-            kegiatanList = kegiatanList.stream()
-                    .filter(k -> k.getJudul().toLowerCase().contains(currentSearchKeyword) ||
-                            getMataKuliah(k).toLowerCase().contains(currentSearchKeyword))
-                    .collect(Collectors.toList());
+            // Paling relevan lebih dulu; dibatasi supaya ketikan pendek tidak membuat ribuan kartu
+            query.kataKunci(currentSearchKeyword)
+                    .urutkan(KegiatanQuery.Urutan.RELEVANSI)
+                    .batas(MAKS_HASIL_PENCARIAN);
+        }
+        Iterator<Kegiatan> kegiatanList = sekaligus ? query.jalankanSemua().iterator() : query.jalankan();
+        // Tidak ada yang cocok persis: mungkin salah ketik, tampilkan yang paling mirip
+        hasilMirip = !kegiatanList.hasNext() && !currentSearchKeyword.isEmpty();
+        if (hasilMirip) {
+            kegiatanList = jadwalManager.cariMirip(currentSearchKeyword, this::cocokFilterSaja,
+                    MAKS_HASIL_MIRIP).iterator();
         }
 
-        if (kegiatanList.isEmpty()) {
+        if (!kegiatanList.hasNext()) {
             JPanel emptyPanel = createEmptyState();
             kegiatanListPanel.add(emptyPanel);
         } else {
-            for (Kegiatan k : kegiatanList) {
-                kegiatanListPanel.add(createKegiatanCard(k));
+            if (hasilMirip) {
+                JLabel info = new JLabel("🔍 Tidak ada yang persis cocok, menampilkan yang mirip");
+                info.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+                info.setForeground(TEXT_TERTIARY);
+                info.setAlignmentX(Component.LEFT_ALIGNMENT);
+                kegiatanListPanel.add(info);
                 kegiatanListPanel.add(Box.createVerticalStrut(12));
             }
+            while (kegiatanList.hasNext()) {
+                tambahKartu(kegiatanList.next());
+            }
+        }
+    }
+
+    // 🔄 HOT RELOAD: hanya kartu kegiatan yang berubah yang dibuat ulang
+    private void terapkanPerubahan(KegiatanChangeEvent event) {
+        if (kartuKegiatan.isEmpty() || !currentSearchKeyword.isEmpty()) {
+            refreshKegiatanList(); // masih tampil empty state / urutan relevansi harus dihitung ulang
+            return;
         }
 
+        for (int id : event.getRemoved()) {
+            hapusKartu(id);
+        }
+        for (Kegiatan k : event.getUpdated()) {
+            JPanel lama = kartuKegiatan.get(k.getId());
+            if (!cocokFilter(k)) {
+                hapusKartu(k.getId());
+            } else if (lama != null) {
+                int index = kegiatanListPanel.getComponentZOrder(lama);
+                JPanel card = createKegiatanCard(k);
+                kegiatanListPanel.remove(index);
+                kegiatanListPanel.add(card, index);
+                kartuKegiatan.put(k.getId(), card);
+            } else {
+                tambahKartu(k);
+            }
+        }
+        for (Kegiatan k : event.getAdded()) {
+            if (cocokFilter(k)) {
+                tambahKartu(k);
+            }
+        }
+
+        if (kartuKegiatan.isEmpty()) {
+            refreshKegiatanList();
+            return;
+        }
         kegiatanListPanel.revalidate();
         kegiatanListPanel.repaint();
         updateStats();
-
-        // 🔥 UPDATE BADGE SETIAP KALI REFRESH
         updateNotificationBadge();
     }
 
-    private String getMataKuliah(Kegiatan k) {
-        if (k instanceof KegiatanBelajar) return ((KegiatanBelajar) k).getMataKuliah();
-        if (k instanceof KegiatanTugas) return ((KegiatanTugas) k).getMataKuliah();
-        if (k instanceof KegiatanUjian) return ((KegiatanUjian) k).getMataKuliah();
-        return "";
+    private void tambahKartu(Kegiatan k) {
+        JPanel card = createKegiatanCard(k);
+        kartuKegiatan.put(k.getId(), card);
+        kegiatanListPanel.add(card);
+        kegiatanListPanel.add(Box.createVerticalStrut(12));
+    }
+
+    private void hapusKartu(int id) {
+        JPanel card = kartuKegiatan.remove(id);
+        if (card != null) {
+            int index = kegiatanListPanel.getComponentZOrder(card);
+            kegiatanListPanel.remove(index + 1); // jarak di bawah kartu
+            kegiatanListPanel.remove(index);
+        }
+    }
+
+    // Sama dengan buatQuery + pencarian, tapi untuk satu kegiatan
+    private boolean cocokFilter(Kegiatan k) {
+        return cocokFilterSaja(k) && (currentSearchKeyword.isEmpty() || cocokPencarian(k));
     }
 
-    private List<Kegiatan> getFilteredKegiatan() {
+    private boolean cocokFilterSaja(Kegiatan k) {
+        LocalDate today = LocalDate.now();
         switch (currentFilter) {
             case "Hari Ini":
-                return jadwalManager.getKegiatanHariIni();
+                return k.getTanggal().isEqual(today);
             case "Minggu Ini":
-                return jadwalManager.getKegiatanMingguIni();
+                return !k.getTanggal().isBefore(today) && !k.getTanggal().isAfter(today.plusDays(7));
             case "Belajar":
-                return (List) jadwalManager.getKegiatanBelajar();
+                return k instanceof KegiatanBelajar;
             case "Tugas":
-                return (List) jadwalManager.getKegiatanTugas();
+                return k instanceof KegiatanTugas;
             case "Ujian":
-                return (List) jadwalManager.getKegiatanUjian();
+                return k instanceof KegiatanUjian;
             default:
-                return jadwalManager.getDaftarKegiatan();
+                return true;
+        }
+    }
+
+    private boolean cocokPencarian(Kegiatan k) {
+        return JadwalManager.cocokKeyword(k, currentSearchKeyword);
+    }
+
+    // Query untuk tab aktif; hari ini / minggu ini terurut tanggal lalu waktu mulai
+    private KegiatanQuery buatQuery() {
+        LocalDate today = LocalDate.now();
+        KegiatanQuery query = jadwalManager.query();
+        switch (currentFilter) {
+            case "Hari Ini":
+                return query.tanggal(today, today).urutkan(KegiatanQuery.Urutan.WAKTU);
+            case "Minggu Ini":
+                return query.tanggal(today, today.plusDays(7)).urutkan(KegiatanQuery.Urutan.WAKTU);
+            case "Belajar":
+                return query.jenis(KegiatanBelajar.class);
+            case "Tugas":
+                return query.jenis(KegiatanTugas.class);
+            case "Ujian":
+                return query.jenis(KegiatanUjian.class);
+            default:
+                return query;
         }
     }
 
@@ -786,7 +904,7 @@ public class MainFrame extends JFrame {
 
     // 💾 EXPORT DATA
     private void exportData() {
-        String[] options = {"CSV", "Backup TXT", "Batal"};
+        String[] options = {"CSV", "TXT", "Backup", "Batal"};
         int choice = JOptionPane.showOptionDialog(
                 this,
                 "Pilih format export:",
@@ -806,11 +924,19 @@ public class MainFrame extends JFrame {
                         "Export Sukses",
                         JOptionPane.INFORMATION_MESSAGE);
             }
-        } else if (choice == 1) { // Backup
-            String fileName = "jadwal_backup_" + LocalDate.now() + ".txt";
-            if (jadwalManager.backupData(fileName)) {
+        } else if (choice == 1) { // TXT
+            String fileName = "jadwal_export_" + LocalDate.now() + ".txt";
+            if (jadwalManager.exportToText(fileName)) {
+                JOptionPane.showMessageDialog(this,
+                        "✔ Data berhasil di-export ke:\n" + fileName,
+                        "Export Sukses",
+                        JOptionPane.INFORMATION_MESSAGE);
+            }
+        } else if (choice == 2) { // Backup (inkremental, hanya bagian yang berubah yang ditulis)
+            String backupId = jadwalManager.backupIncremental();
+            if (backupId != null) {
                 JOptionPane.showMessageDialog(this,
-                        "✔ Backup berhasil dibuat:\n" + fileName,
+                        "✔ Backup berhasil dibuat:\n" + backupId,
                         "Backup Sukses",
                         JOptionPane.INFORMATION_MESSAGE);
             }